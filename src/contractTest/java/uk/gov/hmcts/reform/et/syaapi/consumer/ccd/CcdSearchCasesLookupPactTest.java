@@ -0,0 +1,65 @@
+package uk.gov.hmcts.reform.et.syaapi.consumer.ccd;
+
+import au.com.dius.pact.consumer.dsl.DslPart;
+import au.com.dius.pact.consumer.dsl.PactDslWithProvider;
+import au.com.dius.pact.consumer.junit5.PactTestFor;
+import au.com.dius.pact.core.model.RequestResponsePact;
+import au.com.dius.pact.core.model.annotations.Pact;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import uk.gov.hmcts.reform.ccd.client.model.SearchResult;
+import uk.gov.hmcts.reform.et.syaapi.consumer.SpringBootContractTestBase;
+import uk.gov.hmcts.reform.et.syaapi.search.ElasticSearchQueryBuilder;
+
+import static io.pactfoundation.consumer.dsl.LambdaDsl.newJsonBody;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.HttpStatus.OK;
+
+/**
+ * Single case lookups are sent to CCD with terminate_after, which CCD has to pass on to elastic search as it is.
+ */
+class CcdSearchCasesLookupPactTest extends SpringBootContractTestBase {
+
+    private static final String ETHOS_CASE_REFERENCE = "6000032/2024";
+
+    @Pact(provider = "ccd_data_store_api_cases", consumer = "et_sya_api_service")
+    RequestResponsePact executeCcdSearchCasesLookup(PactDslWithProvider builder) {
+
+        return builder
+            .given("A search for a case by ethos case reference is requested")
+            .uponReceiving("Provider receives a POST /searchCases request with terminate_after from et-sya-api API")
+            .path("/searchCases")
+            .query("ctid=" + CASE_TYPE_ID)
+            .method(POST.toString())
+            .body(ElasticSearchQueryBuilder.buildByEthosCaseReference(ETHOS_CASE_REFERENCE),
+                  MediaType.APPLICATION_JSON_VALUE)
+            .willRespondWith()
+            .status(OK.value())
+            .headers(RESPONSE_HEADERS)
+            .body(createSearchResultResponse())
+            .toPact();
+    }
+
+    @Test
+    @PactTestFor(pactMethod = "executeCcdSearchCasesLookup")
+    void verifySearchCasesLookup() {
+        SearchResult searchResult = coreCaseDataApi.searchCases(
+            AUTH_TOKEN, SERVICE_AUTH_TOKEN, CASE_TYPE_ID,
+            ElasticSearchQueryBuilder.buildByEthosCaseReference(ETHOS_CASE_REFERENCE));
+
+        assertThat(searchResult.getCases().size(), is(1));
+        assertThat(searchResult.getCases().get(0).getData().get("ethosCaseReference"), is(ETHOS_CASE_REFERENCE));
+    }
+
+    private static DslPart createSearchResultResponse() {
+        return newJsonBody(o -> o
+            .numberType("total", 1)
+            .minArrayLike("cases", 1, 1, cd -> cd
+                .numberType("id", CASE_ID)
+                .stringValue("case_type_id", CASE_TYPE_ID)
+                .object("case_data", data -> data.stringValue("ethosCaseReference", ETHOS_CASE_REFERENCE)))
+        ).build();
+    }
+}
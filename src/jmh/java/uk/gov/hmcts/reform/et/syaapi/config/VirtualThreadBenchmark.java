@@ -0,0 +1,75 @@
+package uk.gov.hmcts.reform.et.syaapi.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compares how long a burst of concurrent requests takes when every request blocks on a slow downstream service,
+ * when they run on a pool of platform threads sized like Tomcat's default pool and when each runs on its own virtual
+ * thread. The virtual thread executor needs Java 21, which the jmh task runs on, as the service does. See
+ * {@link VirtualThreadEndpointBenchmark} for the same comparison through Tomcat and the pools of http connections.
+ */
+@State(Scope.Benchmark)
+@SuppressWarnings({"PMD.DoNotUseThreads"})
+public class VirtualThreadBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String executorType;
+
+    @Param({"1000"})
+    private int concurrentRequests;
+
+    @Param({"50"})
+    private long downstreamLatencyMillis;
+
+    private ExecutorService executor;
+
+    /**
+     * Creates the executor requests run on.
+     */
+    @Setup(Level.Trial)
+    public void createExecutor() {
+        executor = "virtual".equals(executorType)
+            ? VirtualThreadExecutors.newExecutor("benchmark-")
+            : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    /**
+     * Stops the executor.
+     */
+    @TearDown(Level.Trial)
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int handleBurstOfRequests() throws ExecutionException, InterruptedException {
+        List<Future<Integer>> requests = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            int request = i;
+            requests.add(executor.submit(() -> {
+                Thread.sleep(downstreamLatencyMillis);
+                return request;
+            }));
+        }
+        int handled = 0;
+        for (Future<Integer> request : requests) {
+            handled += request.get() >= 0 ? 1 : 0;
+        }
+        return handled;
+    }
+}
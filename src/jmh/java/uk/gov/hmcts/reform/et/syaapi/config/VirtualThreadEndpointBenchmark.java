@@ -0,0 +1,180 @@
+package uk.gov.hmcts.reform.et.syaapi.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares, end to end, how long a burst of concurrent requests to an endpoint takes when the endpoint calls a slow
+ * downstream service, with Tomcat's pool of platform threads and with the virtual threads of
+ * {@link VirtualThreadConfiguration}. The endpoint runs in an embedded Tomcat and calls the downstream service through
+ * the pooled CCD RestTemplate of {@link RestTemplateConfiguration}, so the size of its pool of connections caps the
+ * requests in flight as it does in the service. The downstream service answers after the given latency without
+ * holding a thread, so that it is not the bottleneck. The virtual thread executor needs Java 21, which the jmh task
+ * runs on.
+ */
+@State(Scope.Benchmark)
+@SuppressWarnings({"PMD.DoNotUseThreads"})
+public class VirtualThreadEndpointBenchmark {
+
+    private static final String DOWNSTREAM_PATH = "/downstream";
+    private static final String ENDPOINT_PATH = "/endpoint";
+
+    @Param({"platform", "virtual"})
+    private String executorType;
+
+    @Param({"50", "1000"})
+    private int downstreamConnections;
+
+    @Param({"1000"})
+    private int concurrentRequests;
+
+    @Param({"50"})
+    private long downstreamLatencyMillis;
+
+    private ScheduledExecutorService downstreamScheduler;
+    private HttpServer downstream;
+    private ConfigurableApplicationContext application;
+    private HttpClient httpClient;
+    private URI endpoint;
+
+    /**
+     * Starts the downstream service and the application calling it.
+     * @throws IOException if the downstream service cannot be started
+     */
+    @Setup(Level.Trial)
+    public void startServers() throws IOException {
+        downstreamScheduler = Executors.newSingleThreadScheduledExecutor();
+        downstream = HttpServer.create(new InetSocketAddress("localhost", 0), concurrentRequests);
+        downstream.createContext(DOWNSTREAM_PATH, exchange -> downstreamScheduler.schedule(
+            () -> respond(exchange), downstreamLatencyMillis, TimeUnit.MILLISECONDS));
+        downstream.start();
+
+        application = new SpringApplicationBuilder(EndpointApplication.class)
+            .properties(
+                "server.port=0",
+                "virtual-threads.enabled=" + "virtual".equals(executorType),
+                "core_case_data.http.max-connections=" + downstreamConnections,
+                "benchmark.downstream-url=http://localhost:" + downstream.getAddress().getPort() + DOWNSTREAM_PATH)
+            .run();
+        int port = ((ServletWebServerApplicationContext) application).getWebServer().getPort();
+        endpoint = URI.create("http://localhost:" + port + ENDPOINT_PATH);
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    /**
+     * Stops the application and the downstream service.
+     */
+    @TearDown(Level.Trial)
+    public void stopServers() {
+        application.close();
+        downstream.stop(0);
+        downstreamScheduler.shutdownNow();
+    }
+
+    @Benchmark
+    public int handleBurstOfRequests() {
+        HttpRequest request = HttpRequest.newBuilder(endpoint).GET().build();
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        int handled = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            handled += response.join().statusCode() == 200 ? 1 : 0;
+        }
+        return handled;
+    }
+
+    private static void respond(HttpExchange exchange) {
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            responseBody.write(body);
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+
+    /**
+     * The application serving the endpoint, made of the configurations of the service under comparison.
+     */
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+        ServletWebServerFactoryAutoConfiguration.class,
+        DispatcherServletAutoConfiguration.class,
+        WebMvcAutoConfiguration.class,
+        HttpMessageConvertersAutoConfiguration.class,
+        JacksonAutoConfiguration.class
+    })
+    @Import({RestTemplateConfiguration.class, VirtualThreadConfiguration.class, EndpointController.class})
+    static class EndpointApplication {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    /**
+     * The endpoint, calling the downstream service once for each request.
+     */
+    @RestController
+    static class EndpointController {
+
+        private final RestTemplate restTemplate;
+        private final String downstreamUrl;
+
+        EndpointController(@Qualifier(RestTemplateConfiguration.CCD_REST_TEMPLATE) RestTemplate restTemplate,
+                           @Value("${benchmark.downstream-url}") String downstreamUrl) {
+            this.restTemplate = restTemplate;
+            this.downstreamUrl = downstreamUrl;
+        }
+
+        @GetMapping(ENDPOINT_PATH)
+        String callDownstream() {
+            return restTemplate.getForObject(downstreamUrl, String.class);
+        }
+    }
+}
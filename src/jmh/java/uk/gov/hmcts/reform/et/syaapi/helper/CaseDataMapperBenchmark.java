@@ -0,0 +1,56 @@
+package uk.gov.hmcts.reform.et.syaapi.helper;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.hmcts.et.common.model.ccd.CaseData;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares converting case data with a mapper built for each conversion, as was done before, against converting it
+ * with the mapper shared by {@link EmployeeObjectMapper}, whose serializers and deserializers are built once.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+public class CaseDataMapperBenchmark {
+
+    private final Map<String, Object> caseData = Map.of(
+        "ethosCaseReference", "6000001/2024",
+        "managingOffice", "Leeds",
+        "claimantIndType", Map.of("claimant_first_names", "Jane", "claimant_last_name", "Doe"),
+        "respondentCollection", List.of(Map.of(
+            "id", "a1b2c3",
+            "value", Map.of("respondent_name", "Acme Ltd", "responseReceived", "No")
+        ))
+    );
+
+    @Benchmark
+    public CaseData convertWithNewMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        return mapper.convertValue(caseData, CaseData.class);
+    }
+
+    @Benchmark
+    public CaseData convertWithSharedMapper() {
+        return EmployeeObjectMapper.convertCaseDataMapToCaseDataObject(caseData);
+    }
+
+    @Benchmark
+    public Map<String, Object> mapWithNewMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        return mapper.convertValue(mapper.convertValue(caseData, CaseData.class), new TypeReference<>() {});
+    }
+
+    @Benchmark
+    public Map<String, Object> mapWithSharedMapper() {
+        return EmployeeObjectMapper.mapCaseDataToLinkedHashMap(
+            EmployeeObjectMapper.convertCaseDataMapToCaseDataObject(caseData));
+    }
+}
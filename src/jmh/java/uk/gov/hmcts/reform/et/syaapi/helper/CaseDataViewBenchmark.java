@@ -0,0 +1,78 @@
+package uk.gov.hmcts.reform.et.syaapi.helper;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.hmcts.et.common.model.ccd.CaseData;
+import uk.gov.hmcts.et.common.model.ccd.items.DocumentTypeItem;
+import uk.gov.hmcts.et.common.model.ccd.types.citizenhub.HubLinksStatuses;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares, on the data of a real case, the flows that read the document collection or set the hub link statuses
+ * when they convert the whole case to {@link CaseData} and when they go through a {@link CaseDataView}. Run with
+ * {@code ./gradlew jmh}, the case is read from the file given by the caseDataFile parameter.
+ */
+@State(Scope.Benchmark)
+public class CaseDataViewBenchmark {
+
+    private static final String DOCUMENT_COLLECTION = "documentCollection";
+    private static final String HUB_LINKS_STATUSES = "hubLinksStatuses";
+    private static final TypeReference<Map<String, Object>> CASE_DATA_MAP_TYPE = new TypeReference<>() {};
+    private static final TypeReference<List<DocumentTypeItem>> DOCUMENT_COLLECTION_TYPE = new TypeReference<>() {};
+
+    @Param({"src/test/resources/requests/caseData.json"})
+    private String caseDataFile;
+
+    private Map<String, Object> caseData;
+    private final HubLinksStatuses hubLinksStatuses = new HubLinksStatuses();
+
+    /**
+     * Reads the case once for all the benchmarks.
+     * @throws IOException if the case cannot be read
+     */
+    @Setup(Level.Trial)
+    public void readCase() throws IOException {
+        caseData = EmployeeObjectMapper.getObjectMapper().readValue(Path.of(caseDataFile).toFile(), CASE_DATA_MAP_TYPE);
+    }
+
+    @Benchmark
+    public Map<String, Object> readDocumentsFromCaseData() {
+        Map<String, Object> data = new LinkedHashMap<>(caseData);
+        CaseData converted = EmployeeObjectMapper.convertCaseDataMapToCaseDataObject(data);
+        List<DocumentTypeItem> documents = converted.getDocumentCollection();
+        data.put(DOCUMENT_COLLECTION, documents);
+        return data;
+    }
+
+    @Benchmark
+    public Map<String, Object> readDocumentsFromView() {
+        Map<String, Object> data = new LinkedHashMap<>(caseData);
+        List<DocumentTypeItem> documents = new CaseDataView(data).get(DOCUMENT_COLLECTION, DOCUMENT_COLLECTION_TYPE);
+        data.put(DOCUMENT_COLLECTION, documents);
+        return data;
+    }
+
+    @Benchmark
+    public Map<String, Object> setHubLinksOnCaseData() {
+        CaseData converted = EmployeeObjectMapper.convertCaseDataMapToCaseDataObject(new LinkedHashMap<>(caseData));
+        converted.setHubLinksStatuses(hubLinksStatuses);
+        return EmployeeObjectMapper.mapCaseDataToLinkedHashMap(converted);
+    }
+
+    @Benchmark
+    public Map<String, Object> setHubLinksOnView() {
+        CaseDataView view = new CaseDataView(new LinkedHashMap<>(caseData));
+        view.set(HUB_LINKS_STATUSES, hubLinksStatuses);
+        return view.getData();
+    }
+}
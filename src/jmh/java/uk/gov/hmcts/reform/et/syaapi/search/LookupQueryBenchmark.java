@@ -0,0 +1,178 @@
+package uk.gov.hmcts.reform.et.syaapi.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import uk.gov.hmcts.reform.et.syaapi.helper.EmployeeObjectMapper;
+import uk.gov.hmcts.reform.et.syaapi.models.FindCaseForRoleModificationRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compares, on an elastic search node, the single case lookups sent to CCD before and after they were moved to
+ * filter context with terminate_after. The queries before are the ones the query builder rendered before the change,
+ * the queries after are rendered by {@link ElasticSearchQueryBuilder}. The cases are indexed with the dynamic mapping
+ * of elastic search, which gives each text field a keyword sub field as in the CCD case index.
+ * Run with {@code ./gradlew jmh} against the node given by the elasticSearchUrl parameter, e.g. one started with
+ * {@code docker run -p 9200:9200 -e discovery.type=single-node docker.elastic.co/elasticsearch/elasticsearch:7.11.1}.
+ */
+@State(Scope.Benchmark)
+public class LookupQueryBenchmark {
+
+    private static final String INDEX = "et_lookup_benchmark";
+    private static final String[] STATES = {"Submitted", "Accepted", "Rejected", "Vetted", "Closed"};
+    private static final int CASES_PER_ETHOS_CASE_REFERENCE = 5;
+    private static final int BULK_SIZE = 5000;
+    private static final long FIRST_REFERENCE = 1_646_225_213_651_000L;
+
+    private static final String ETHOS_CASE_REFERENCE_BEFORE = "{\"size\":1,\"query\":{\"bool\":{\"must\":"
+        + "[{\"match\":{\"data.ethosCaseReference.keyword\":{\"query\":\"%s\"}}}],\"boost\":1.0}}}";
+    private static final String ROLE_MODIFICATION_BEFORE = "{\"size\":1,\"query\":{\"bool\":{\"must\":[{\"match\":"
+        + "{\"reference.keyword\":{\"query\":\"%1$s\"}}}],\"filter\":[{\"bool\":{\"should\":[{\"bool\":{\"filter\":"
+        + "[{\"term\":{\"data.respondentCollection.value.respondentOrganisation.keyword\":{\"value\":\"%2$s\","
+        + "\"case_insensitive\":true}}}],\"boost\":1.0}},{\"bool\":{\"filter\":[{\"term\":"
+        + "{\"data.respondentCollection.value.respondent_name.keyword\":{\"value\":\"%2$s\","
+        + "\"case_insensitive\":true}}}],\"boost\":1.0}},{\"bool\":{\"filter\":[{\"term\":{\"data.respondent.keyword\":"
+        + "{\"value\":\"%2$s\",\"case_insensitive\":true}}}],\"boost\":1.0}}],\"boost\":1.0}},{\"bool\":{\"should\":"
+        + "[{\"bool\":{\"must\":[{\"bool\":{\"filter\":[{\"term\":"
+        + "{\"data.claimantIndType.claimant_first_names.keyword\":{\"value\":\"%3$s\"}}}],\"boost\":1.0}},"
+        + "{\"bool\":{\"filter\":[{\"term\":"
+        + "{\"data.claimantIndType.claimant_last_name.keyword\":{\"value\":\"%4$s\"}}}],\"boost\":1.0}}],"
+        + "\"boost\":1.0}},{\"bool\":{\"filter\":[{\"term\":{\"data.claimant.keyword\":{\"value\":\"%3$s %4$s\","
+        + "\"case_insensitive\":true}}}],\"boost\":1.0}}],\"boost\":1.0}}],\"boost\":1.0}}}";
+
+    @Param({"http://localhost:9200"})
+    private String elasticSearchUrl;
+
+    @Param({"100000"})
+    private int cases;
+
+    private final ObjectMapper objectMapper = EmployeeObjectMapper.getObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    /**
+     * Indexes the cases once for all the benchmarks.
+     * @throws IOException if the cases cannot be indexed
+     * @throws InterruptedException if interrupted while indexing the cases
+     */
+    @Setup(Level.Trial)
+    public void indexCases() throws IOException, InterruptedException {
+        send("DELETE", "/" + INDEX, null);
+        StringBuilder bulk = new StringBuilder();
+        for (int i = 0; i < cases; i++) {
+            bulk.append("{\"index\":{}}\n").append(objectMapper.writeValueAsString(caseDocument(i))).append('\n');
+            if ((i + 1) % BULK_SIZE == 0 || i == cases - 1) {
+                send("POST", "/" + INDEX + "/_bulk", bulk.toString());
+                bulk.setLength(0);
+            }
+        }
+        send("POST", "/" + INDEX + "/_refresh", null);
+    }
+
+    /**
+     * Deletes the cases.
+     * @throws IOException if the cases cannot be deleted
+     * @throws InterruptedException if interrupted while deleting the cases
+     */
+    @TearDown(Level.Trial)
+    public void deleteCases() throws IOException, InterruptedException {
+        send("DELETE", "/" + INDEX, null);
+    }
+
+    @Benchmark
+    public String findCaseForRoleModificationBefore() throws IOException, InterruptedException {
+        int i = randomCase();
+        return search(String.format(ROLE_MODIFICATION_BEFORE, reference(i), respondentName(i),
+                                    claimantFirstNames(i), claimantLastName(i)));
+    }
+
+    @Benchmark
+    public String findCaseForRoleModificationAfter() throws IOException, InterruptedException {
+        int i = randomCase();
+        return search(ElasticSearchQueryBuilder.buildByFindCaseForRoleModificationRequest(
+            FindCaseForRoleModificationRequest.builder()
+                .caseSubmissionReference(reference(i))
+                .respondentName(respondentName(i))
+                .claimantFirstNames(claimantFirstNames(i))
+                .claimantLastName(claimantLastName(i))
+                .build()));
+    }
+
+    @Benchmark
+    public String findByEthosCaseReferenceBefore() throws IOException, InterruptedException {
+        return search(String.format(ETHOS_CASE_REFERENCE_BEFORE, ethosCaseReference(randomCase())));
+    }
+
+    @Benchmark
+    public String findByEthosCaseReferenceAfter() throws IOException, InterruptedException {
+        return search(ElasticSearchQueryBuilder.buildByEthosCaseReference(ethosCaseReference(randomCase())));
+    }
+
+    private String search(String query) throws IOException, InterruptedException {
+        return send("POST", "/" + INDEX + "/_search", query);
+    }
+
+    private String send(String method, String path, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(elasticSearchUrl + path))
+            .header("Content-Type", body != null && path.endsWith("_bulk")
+                ? "application/x-ndjson"
+                : "application/json")
+            .method(method, body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private int randomCase() {
+        return ThreadLocalRandom.current().nextInt(cases);
+    }
+
+    private static Map<String, Object> caseDocument(int i) {
+        return Map.of(
+            "reference", reference(i),
+            "state", STATES[i % STATES.length],
+            "data", Map.of(
+                "ethosCaseReference", ethosCaseReference(i),
+                "claimant", claimantFirstNames(i) + " " + claimantLastName(i),
+                "claimantIndType", Map.of("claimant_first_names", claimantFirstNames(i),
+                                          "claimant_last_name", claimantLastName(i)),
+                "respondent", respondentName(i),
+                "respondentCollection", List.of(Map.of("value", Map.of("respondent_name", respondentName(i),
+                                                                      "respondentOrganisation",
+                                                                      respondentName(i)))))
+        );
+    }
+
+    private static String reference(int i) {
+        return Long.toString(FIRST_REFERENCE + i);
+    }
+
+    private static String ethosCaseReference(int i) {
+        return (6_000_000 + i / CASES_PER_ETHOS_CASE_REFERENCE) + "/2024";
+    }
+
+    private static String claimantFirstNames(int i) {
+        return "Claimant" + i % 1000;
+    }
+
+    private static String claimantLastName(int i) {
+        return "Surname" + i % 997;
+    }
+
+    private static String respondentName(int i) {
+        return "Respondent Ltd " + i % 991;
+    }
+}
@@ -0,0 +1,80 @@
+package uk.gov.hmcts.reform.et.syaapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.hmcts.et.common.model.ccd.CaseData;
+import uk.gov.hmcts.reform.ccd.client.model.CaseDetails;
+import uk.gov.hmcts.reform.ccd.client.model.StartEventResponse;
+import uk.gov.hmcts.reform.et.syaapi.helper.CaseDetailsConverter;
+import uk.gov.hmcts.reform.et.syaapi.helper.EmployeeObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_EMPTY;
+
+/**
+ * Measures the conversions of the ET3 submit path, from the case data of the start event response to the request body
+ * sent to CCD, before and after the case was deserialised only once. Before, the case was converted to
+ * {@link CaseData}, back to a map and to {@link CaseData} again before being written; after, the case is converted
+ * once and the same object is written. Run with {@code ./gradlew jmh}, the gc profiler reports the allocations per
+ * request. The case is read from the file given by the caseDataFile parameter.
+ */
+@State(Scope.Benchmark)
+public class Et3SubmitBenchmark {
+
+    private static final TypeReference<Map<String, Object>> CASE_DATA_MAP_TYPE = new TypeReference<>() {};
+
+    @Param({"src/test/resources/requests/caseData.json"})
+    private String caseDataFile;
+
+    private final ObjectMapper ccdObjectMapper = new ObjectMapper().setSerializationInclusion(NON_EMPTY);
+    private final CaseDetailsConverter caseDetailsConverter = new CaseDetailsConverter(ccdObjectMapper);
+    private Map<String, Object> caseData;
+
+    /**
+     * Reads the case once for all the benchmarks.
+     * @throws IOException if the case cannot be read
+     */
+    @Setup(Level.Trial)
+    public void readCase() throws IOException {
+        caseData = EmployeeObjectMapper.getObjectMapper().readValue(Path.of(caseDataFile).toFile(), CASE_DATA_MAP_TYPE);
+    }
+
+    @Benchmark
+    public byte[] submitWithRoundTrips() throws JsonProcessingException {
+        StartEventResponse startEventResponse = startEventResponse();
+        CaseData updated = EmployeeObjectMapper.convertCaseDataMapToCaseDataObject(
+            startEventResponse.getCaseDetails().getData());
+        startEventResponse.getCaseDetails().setData(EmployeeObjectMapper.mapCaseDataToLinkedHashMap(updated));
+        CaseData submitted = EmployeeObjectMapper.convertCaseDataMapToCaseDataObject(
+            startEventResponse.getCaseDetails().getData());
+        return ccdObjectMapper.writeValueAsBytes(caseDetailsConverter.et1ToCaseDataContent(startEventResponse,
+                                                                                           submitted));
+    }
+
+    @Benchmark
+    public byte[] submitOnce() throws JsonProcessingException {
+        StartEventResponse startEventResponse = startEventResponse();
+        CaseData updated = EmployeeObjectMapper.convertCaseDataMapToCaseDataObject(
+            startEventResponse.getCaseDetails().getData());
+        return ccdObjectMapper.writeValueAsBytes(caseDetailsConverter.caseDataContent(startEventResponse, updated));
+    }
+
+    private StartEventResponse startEventResponse() {
+        return StartEventResponse.builder()
+            .caseDetails(CaseDetails.builder().id(1_646_225_213_651_590L).data(new LinkedHashMap<>(caseData)).build())
+            .eventId("SUBMIT_ET3_FORM")
+            .token("token")
+            .build();
+    }
+}
@@ -0,0 +1,35 @@
+package uk.gov.hmcts.reform.et.syaapi.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The configuration of the Feign clients used to call CCD, IDAM and the service auth provider. The clients share the
+ * pooled Apache HttpClient created by Spring Cloud OpenFeign, which keeps connections alive between calls and
+ * decompresses gzip responses; its pool, timeouts and compression are set under the feign properties. This publishes
+ * the state of that pool as gauges tagged with the name feign.
+ */
+@Configuration
+public class FeignClientConfiguration {
+
+    static final String FEIGN_HTTP_CLIENT_NAME = "feign";
+
+    /**
+     * Creates the binder publishing the gauges of the Feign connection pool, if Feign uses a pooled client.
+     * @param connectionManager connection manager of the Feign HttpClient
+     * @return {@link MeterBinder} bound to the application meter registry
+     */
+    @Bean
+    public MeterBinder feignHttpClientMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return meterRegistry -> connectionManager.ifAvailable(manager -> {
+            if (manager instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, FEIGN_HTTP_CLIENT_NAME).bindTo(meterRegistry);
+            }
+        });
+    }
+}
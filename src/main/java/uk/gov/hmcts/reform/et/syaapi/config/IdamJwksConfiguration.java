@@ -0,0 +1,54 @@
+package uk.gov.hmcts.reform.et.syaapi.config;
+
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+
+/**
+ * Creates the cached source of IDAM signing keys used to verify the jwt of each caller.
+ * This relies upon the following configurations to be set at an environment level:
+ * <ul>
+ *     <li>IDAM_JWKS_BASEURL</li>
+ * </ul>
+ */
+@Configuration
+public class IdamJwksConfiguration {
+
+    /**
+     * Creates a {@link JWKSource} that loads the IDAM key set once and then serves it from memory. The key set is
+     * refreshed in the background before the cache expires, refreshed on demand (rate limited) when a token carries
+     * an unknown key id, and the last good key set keeps being served while IDAM is unavailable.
+     * @param jwksUrl url of the IDAM key set endpoint
+     * @param timeToLive how long a loaded key set is considered fresh
+     * @param refreshTimeout how long a caller waits for a refresh started by another caller
+     * @param refreshAhead how long before expiry the background refresh is scheduled
+     * @param minRefreshInterval minimum interval between two refreshes triggered by unknown key ids
+     * @param outageTolerance how long the last good key set is served when IDAM cannot be reached
+     * @return {@link JWKSource} used to look up keys by id
+     * @throws MalformedURLException if the configured url is invalid
+     */
+    @Bean
+    public JWKSource<SecurityContext> idamJwkSource(
+        @Value("${idam.api.jwksUrl}") final String jwksUrl,
+        @Value("${idam.api.jwks-cache.time-to-live:PT10M}") final Duration timeToLive,
+        @Value("${idam.api.jwks-cache.refresh-timeout:PT15S}") final Duration refreshTimeout,
+        @Value("${idam.api.jwks-cache.refresh-ahead:PT1M}") final Duration refreshAhead,
+        @Value("${idam.api.jwks-cache.min-refresh-interval:PT30S}") final Duration minRefreshInterval,
+        @Value("${idam.api.jwks-cache.outage-tolerance:PT1H}") final Duration outageTolerance
+    ) throws MalformedURLException {
+        return JWKSourceBuilder.<SecurityContext>create(new URL(jwksUrl))
+            .cache(timeToLive.toMillis(), refreshTimeout.toMillis())
+            .refreshAheadCache(refreshAhead.toMillis(), true)
+            .rateLimited(minRefreshInterval.toMillis())
+            .outageTolerant(outageTolerance.toMillis())
+            .retrying(true)
+            .build();
+    }
+}
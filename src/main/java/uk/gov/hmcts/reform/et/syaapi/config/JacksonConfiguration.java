@@ -0,0 +1,26 @@
+package uk.gov.hmcts.reform.et.syaapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import uk.gov.hmcts.reform.et.syaapi.helper.EmployeeObjectMapper;
+
+/**
+ * The configuration of the {@link ObjectMapper} used by Spring for requests, responses and the Feign clients. It is
+ * the mapper shared by the case data conversions of {@link EmployeeObjectMapper}, so that case data is read and
+ * written with one configuration wherever it is converted.
+ */
+@Configuration
+public class JacksonConfiguration {
+
+    /**
+     * Gets the mapper shared by the case data conversions.
+     * @return the shared {@link ObjectMapper}
+     */
+    @Primary
+    @Bean
+    public ObjectMapper objectMapper() {
+        return EmployeeObjectMapper.getObjectMapper();
+    }
+}
@@ -1,22 +1,187 @@
 package uk.gov.hmcts.reform.et.syaapi.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+
 /**
- * The configuration used to create a RestTemplate for injection purposes.
+ * The configuration used to create the RestTemplates for injection purposes. Each downstream service has its own
+ * RestTemplate, backed by its own pool of connections, so that slow calls to one service (e.g. large document
+ * uploads) cannot use up the connections needed to call another. Connections are kept alive and reused between
+ * calls, connections left idle are closed in the background, and the state of each pool is published as gauges
+ * tagged with the name of the pool.
+ * This relies upon the following configurations to be set at an environment level:
+ * <ul>
+ *   <li>HTTP_CLIENT_CONNECTION_REQUEST_TIMEOUT</li>
+ *   <li>HTTP_CLIENT_IDLE_TIMEOUT</li>
+ *   <li>CCD_HTTP_MAX_CONNECTIONS, CCD_HTTP_CONNECT_TIMEOUT, CCD_HTTP_READ_TIMEOUT</li>
+ *   <li>CASE_DOCUMENT_AM_HTTP_MAX_CONNECTIONS, CASE_DOCUMENT_AM_HTTP_CONNECT_TIMEOUT,
+ *   CASE_DOCUMENT_AM_HTTP_READ_TIMEOUT</li>
+ *   <li>ACAS_HTTP_MAX_CONNECTIONS, ACAS_HTTP_CONNECT_TIMEOUT, ACAS_HTTP_READ_TIMEOUT</li>
+ *   <li>TORNADO_HTTP_MAX_CONNECTIONS, TORNADO_HTTP_CONNECT_TIMEOUT, TORNADO_HTTP_READ_TIMEOUT</li>
+ * </ul>
  */
 @Configuration
 public class RestTemplateConfiguration {
 
+    public static final String CCD_REST_TEMPLATE = "ccdRestTemplate";
+    public static final String CASE_DOCUMENT_REST_TEMPLATE = "caseDocumentRestTemplate";
+    public static final String ACAS_REST_TEMPLATE = "acasRestTemplate";
+    public static final String TORNADO_REST_TEMPLATE = "tornadoRestTemplate";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration connectionRequestTimeout;
+    private final Duration idleTimeout;
+    private final List<CloseableHttpClient> httpClients = new ArrayList<>();
+
+    /**
+     * Creates the configuration with the settings shared by all the pools.
+     * @param meterRegistry registry the gauges of the pools are published to
+     * @param connectionRequestTimeout how long a call waits for a connection when all the connections of its pool are
+     *                                 in use
+     * @param idleTimeout how long a connection can stay idle in its pool before it is closed
+     */
+    public RestTemplateConfiguration(
+        MeterRegistry meterRegistry,
+        @Value("${http-client.connection-request-timeout:PT5S}") Duration connectionRequestTimeout,
+        @Value("${http-client.idle-timeout:PT30S}") Duration idleTimeout) {
+        this.meterRegistry = meterRegistry;
+        this.connectionRequestTimeout = connectionRequestTimeout;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Gets the RestTemplate used to call CCD and the assign case access API. It is the primary RestTemplate, injected
+     * where no downstream service is named.
+     *
+     * @param maxConnections maximum number of connections of the pool
+     * @param connectTimeout how long a call waits for a new connection to be established
+     * @param readTimeout how long a call waits for data from the service
+     * @return the RestTemplate to be injected into project modules calling CCD.
+     */
+    @Primary
+    @Bean(CCD_REST_TEMPLATE)
+    public RestTemplate ccdRestTemplate(
+        @Value("${core_case_data.http.max-connections:50}") int maxConnections,
+        @Value("${core_case_data.http.connect-timeout:PT5S}") Duration connectTimeout,
+        @Value("${core_case_data.http.read-timeout:PT30S}") Duration readTimeout) {
+        return pooledRestTemplate("ccd", maxConnections, connectTimeout, readTimeout);
+    }
+
+    /**
+     * Gets the RestTemplate used to call the Case Document API. Request bodies are streamed to the connection rather
+     * than buffered, so that uploaded documents are sent from the file they were spooled to without being copied into
+     * memory.
+     *
+     * @param maxConnections maximum number of connections of the pool
+     * @param connectTimeout how long a call waits for a new connection to be established
+     * @param readTimeout how long a call waits for data from the service
+     * @return the RestTemplate to be injected into project modules calling the Case Document API.
+     */
+    @Bean(CASE_DOCUMENT_REST_TEMPLATE)
+    public RestTemplate caseDocumentRestTemplate(
+        @Value("${case_document_am.http.max-connections:20}") int maxConnections,
+        @Value("${case_document_am.http.connect-timeout:PT5S}") Duration connectTimeout,
+        @Value("${case_document_am.http.read-timeout:PT2M}") Duration readTimeout) {
+        HttpComponentsClientHttpRequestFactory requestFactory =
+            pooledRequestFactory("case-document-am", maxConnections, connectTimeout, readTimeout);
+        requestFactory.setBufferRequestBody(false);
+        return new RestTemplate(requestFactory);
+    }
+
+    /**
+     * Gets the RestTemplate used to call ACAS.
+     *
+     * @param maxConnections maximum number of connections of the pool
+     * @param connectTimeout how long a call waits for a new connection to be established
+     * @param readTimeout how long a call waits for data from the service
+     * @return the RestTemplate to be injected into project modules calling ACAS.
+     */
+    @Bean(ACAS_REST_TEMPLATE)
+    public RestTemplate acasRestTemplate(
+        @Value("${acas.http.max-connections:10}") int maxConnections,
+        @Value("${acas.http.connect-timeout:PT5S}") Duration connectTimeout,
+        @Value("${acas.http.read-timeout:PT30S}") Duration readTimeout) {
+        return pooledRestTemplate("acas", maxConnections, connectTimeout, readTimeout);
+    }
+
     /**
-     * Gets the RestTemplate bean to be used/injected into project code where needed.
+     * Gets the RestTemplate used to call Tornado to generate documents.
      *
-     * @return the RestTemplate to be injected into project modules using it.
+     * @param maxConnections maximum number of connections of the pool
+     * @param connectTimeout how long a call waits for a new connection to be established
+     * @param readTimeout how long a call waits for data from the service
+     * @return the RestTemplate to be injected into project modules calling Tornado.
      */
-    @Bean
-    public RestTemplate getRestTemplate() {
-        return new RestTemplate();
+    @Bean(TORNADO_REST_TEMPLATE)
+    public RestTemplate tornadoRestTemplate(
+        @Value("${tornado.http.max-connections:10}") int maxConnections,
+        @Value("${tornado.http.connect-timeout:PT5S}") Duration connectTimeout,
+        @Value("${tornado.http.read-timeout:PT1M}") Duration readTimeout) {
+        return pooledRestTemplate("tornado", maxConnections, connectTimeout, readTimeout);
+    }
+
+    /**
+     * Closes the connections of all the pools when the application stops.
+     * @throws IOException if a connection cannot be closed
+     */
+    @PreDestroy
+    public void closeHttpClients() throws IOException {
+        for (CloseableHttpClient httpClient : httpClients) {
+            httpClient.close();
+        }
+    }
+
+    RestTemplate pooledRestTemplate(String name, int maxConnections, Duration connectTimeout, Duration readTimeout) {
+        return new RestTemplate(pooledRequestFactory(name, maxConnections, connectTimeout, readTimeout));
+    }
+
+    private HttpComponentsClientHttpRequestFactory pooledRequestFactory(String name, int maxConnections,
+                                                                        Duration connectTimeout,
+                                                                        Duration readTimeout) {
+        // The default socket factories read the proxy and TLS settings from the system properties, as the JDK client
+        // used before did
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+            RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", SSLConnectionSocketFactory.getSystemSocketFactory())
+                .build());
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout((int) connectTimeout.toMillis())
+            .setSocketTimeout((int) readTimeout.toMillis())
+            .setConnectionRequestTimeout((int) connectionRequestTimeout.toMillis())
+            .build();
+        CloseableHttpClient httpClient = HttpClientBuilder.create()
+            .useSystemProperties()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .evictExpiredConnections()
+            .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .build();
+        httpClients.add(httpClient);
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, name).bindTo(meterRegistry);
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
     }
 }
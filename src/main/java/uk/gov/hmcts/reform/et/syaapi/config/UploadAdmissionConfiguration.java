@@ -0,0 +1,40 @@
+package uk.gov.hmcts.reform.et.syaapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import uk.gov.hmcts.reform.et.syaapi.config.interceptors.UploadAdmissionFilter;
+import uk.gov.hmcts.reform.et.syaapi.service.UploadAdmissionService;
+import uk.gov.hmcts.reform.et.syaapi.service.VerifyTokenService;
+
+/**
+ * Registers the {@link UploadAdmissionFilter} on the document upload endpoint, so that large uploads are admitted
+ * against the upload budget before the servlet container reads their body.
+ */
+@Configuration
+public class UploadAdmissionConfiguration {
+
+    /**
+     * Creates the registration of the filter admitting document uploads.
+     * @param uploadAdmissionService service admitting the uploads
+     * @param verifyTokenService service verifying the bearer token of the uploads
+     * @param objectMapper mapper used to write the body of rejected uploads
+     * @param maxRequestSize largest request accepted, assumed for uploads sent without a content length
+     * @return {@link FilterRegistrationBean} of the upload admission filter
+     */
+    @Bean
+    public FilterRegistrationBean<UploadAdmissionFilter> uploadAdmissionFilter(
+        UploadAdmissionService uploadAdmissionService,
+        VerifyTokenService verifyTokenService,
+        ObjectMapper objectMapper,
+        @Value("${spring.servlet.multipart.max-request-size:300MB}") DataSize maxRequestSize) {
+        FilterRegistrationBean<UploadAdmissionFilter> registration = new FilterRegistrationBean<>(
+            new UploadAdmissionFilter(uploadAdmissionService, verifyTokenService, objectMapper,
+                                      maxRequestSize.toBytes()));
+        registration.addUrlPatterns("/documents/upload/*");
+        return registration;
+    }
+}
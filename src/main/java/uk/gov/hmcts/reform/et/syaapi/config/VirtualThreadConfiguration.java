@@ -0,0 +1,56 @@
+package uk.gov.hmcts.reform.et.syaapi.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import javax.annotation.PreDestroy;
+
+/**
+ * Runs the handling of http requests on virtual threads rather than on Tomcat's pool of platform threads, so that
+ * requests blocked on downstream services do not hold a platform thread each. It is opt-in and only applies when
+ * the application runs on Java 21 or later; on older JVMs a warning is logged and Tomcat keeps its pool.
+ * This relies upon the following configurations to be set at an environment level:
+ * <ul>
+ *   <li>VIRTUAL_THREADS_ENABLED</li>
+ * </ul>
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "virtual-threads.enabled", havingValue = "true")
+@SuppressWarnings({"PMD.DoNotUseThreads"})
+public class VirtualThreadConfiguration {
+
+    private ExecutorService requestExecutor;
+
+    /**
+     * Creates the customizer giving Tomcat an executor that starts a virtual thread for each request.
+     * @return {@link TomcatProtocolHandlerCustomizer} setting the executor of the http connector
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (!VirtualThreadExecutors.isSupported()) {
+                log.warn("Virtual threads are enabled but not supported on Java {}, using platform threads",
+                         Runtime.version().feature());
+                return;
+            }
+            requestExecutor = VirtualThreadExecutors.newExecutor("http-request-");
+            protocolHandler.setExecutor(requestExecutor);
+        };
+    }
+
+    /**
+     * Stops the executor once Tomcat has stopped.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (requestExecutor != null) {
+            requestExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package uk.gov.hmcts.reform.et.syaapi.config;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Creates executors running each task on a new virtual thread. The application is built for Java 17 but runs on a
+ * Java 21 image, so the Java 21 APIs are looked up at runtime; {@link #isSupported()} tells whether the running JVM
+ * has them. Services running blocking calls concurrently get their executor from
+ * {@link #newTaskExecutor(String, int, int, boolean)}, which falls back to a bounded pool when virtual threads are
+ * disabled or not supported, and shut it down with {@link #shutdown(Executor)}.
+ */
+@SuppressWarnings({"PMD.DoNotUseThreads"})
+public final class VirtualThreadExecutors {
+
+    private static final ThreadFactoryBuilder THREAD_FACTORY_BUILDER = lookUpThreadFactoryBuilder();
+
+    private VirtualThreadExecutors() {
+        // Utility class
+    }
+
+    /**
+     * Tells whether the running JVM supports virtual threads.
+     * @return true on Java 21 or later
+     */
+    public static boolean isSupported() {
+        return THREAD_FACTORY_BUILDER != null;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task. Tasks are not queued, so the executor does
+     * not limit how many run at once.
+     * @param threadNamePrefix prefix of the names of the threads, followed by a counter
+     * @return the executor, to be shut down by its owner
+     * @throws IllegalStateException if the running JVM does not support virtual threads
+     */
+    public static ExecutorService newExecutor(String threadNamePrefix) {
+        if (THREAD_FACTORY_BUILDER == null) {
+            throw new IllegalStateException("Virtual threads need Java 21, running on Java "
+                                                + Runtime.version().feature());
+        }
+        try {
+            return THREAD_FACTORY_BUILDER.newExecutor(threadNamePrefix);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create virtual thread executor", e);
+        }
+    }
+
+    /**
+     * Creates the executor of a service running blocking calls concurrently. When virtual threads are enabled and
+     * supported each task runs on a new virtual thread; otherwise the tasks run on a bounded pool, and once the pool
+     * and its queue are full the caller runs the task itself.
+     * @param threadNamePrefix prefix of the names of the threads
+     * @param poolSize number of threads of the pool
+     * @param queueCapacity number of tasks that can wait for a thread of the pool
+     * @param virtualThreads whether the tasks run on virtual threads, when the JVM supports them
+     * @return the executor, to be shut down by its owner with {@link #shutdown(Executor)}
+     */
+    public static Executor newTaskExecutor(String threadNamePrefix, int poolSize, int queueCapacity,
+                                           boolean virtualThreads) {
+        if (virtualThreads && isSupported()) {
+            return newExecutor(threadNamePrefix);
+        }
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor.setQueueCapacity(queueCapacity);
+        taskExecutor.setThreadNamePrefix(threadNamePrefix);
+        taskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        taskExecutor.initialize();
+        return taskExecutor;
+    }
+
+    /**
+     * Shuts down an executor created by {@link #newTaskExecutor(String, int, int, boolean)}. Tasks already submitted
+     * are completed. Executors of any other kind, e.g. the direct executors given to services in tests, are left as
+     * they are.
+     * @param executor the executor to shut down
+     */
+    public static void shutdown(Executor executor) {
+        if (executor instanceof ThreadPoolTaskExecutor taskExecutor) {
+            taskExecutor.shutdown();
+        } else if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private static ThreadFactoryBuilder lookUpThreadFactoryBuilder() {
+        try {
+            return new ThreadFactoryBuilder();
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static final class ThreadFactoryBuilder {
+
+        private final Method ofVirtual;
+        private final Method name;
+        private final Method factory;
+        private final Method newThreadPerTaskExecutor;
+
+        private ThreadFactoryBuilder() throws ReflectiveOperationException {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builderType.getMethod("name", String.class, long.class);
+            factory = builderType.getMethod("factory");
+            newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        }
+
+        private ExecutorService newExecutor(String threadNamePrefix)
+            throws IllegalAccessException, InvocationTargetException {
+            Object builder = name.invoke(ofVirtual.invoke(null), threadNamePrefix, 0L);
+            ThreadFactory threadFactory = (ThreadFactory) factory.invoke(builder);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+        }
+    }
+}
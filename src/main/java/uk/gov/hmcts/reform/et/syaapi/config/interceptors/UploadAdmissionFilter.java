@@ -0,0 +1,87 @@
+package uk.gov.hmcts.reform.et.syaapi.config.interceptors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import uk.gov.hmcts.reform.et.syaapi.exception.UploadAdmissionException;
+import uk.gov.hmcts.reform.et.syaapi.models.ErrorResponse;
+import uk.gov.hmcts.reform.et.syaapi.service.UploadAdmissionService;
+import uk.gov.hmcts.reform.et.syaapi.service.VerifyTokenService;
+
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+
+/**
+ * Admits uploads through {@link UploadAdmissionService} before their body is read, so that an upload which cannot be
+ * admitted is neither spooled to disk nor sent on to the Case Document API. A rejected upload gets a 503 response with
+ * a Retry-After header. The bearer token of the upload is verified before it is admitted, as this filter runs ahead
+ * of the {@link RequestInterceptor}, so that uploads of unauthenticated callers get a 401 response without taking
+ * any of the upload budget.
+ */
+public class UploadAdmissionFilter extends OncePerRequestFilter {
+
+    private final UploadAdmissionService uploadAdmissionService;
+    private final VerifyTokenService verifyTokenService;
+    private final ObjectMapper objectMapper;
+    private final long maxUploadBytes;
+
+    /**
+     * Creates the filter.
+     * @param uploadAdmissionService service admitting the uploads
+     * @param verifyTokenService service verifying the bearer token of the uploads
+     * @param objectMapper mapper used to write the body of rejected uploads
+     * @param maxUploadBytes size assumed for uploads sent without a content length
+     */
+    public UploadAdmissionFilter(UploadAdmissionService uploadAdmissionService, VerifyTokenService verifyTokenService,
+                                 ObjectMapper objectMapper, long maxUploadBytes) {
+        super();
+        this.uploadAdmissionService = uploadAdmissionService;
+        this.verifyTokenService = verifyTokenService;
+        this.objectMapper = objectMapper;
+        this.maxUploadBytes = maxUploadBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        if (!verifyTokenService.verifyTokenSignature(request.getHeader(HttpHeaders.AUTHORIZATION))) {
+            writeError(response, UNAUTHORIZED, "Failed to verify bearer token.");
+            return;
+        }
+        long contentLength = request.getContentLengthLong();
+        UploadAdmissionService.Admission admission;
+        try {
+            admission = uploadAdmissionService.admit(contentLength < 0 ? maxUploadBytes : contentLength);
+        } catch (UploadAdmissionException e) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()));
+            writeError(response, SERVICE_UNAVAILABLE, e.getMessage());
+            return;
+        }
+        try (admission) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+            .message(message)
+            .code(status.value())
+            .build());
+    }
+}
@@ -32,6 +32,7 @@ public final class ManageCaseRoleConstants {
     public static final String STRING_RIGHT_SQUARE_BRACKET = "]";
     public static final String CASE_USER_ROLE_API_PARAMETER_NAME = "case_user_role";
     public static final String CASE_USER_ROLE_CCD_API_POST_METHOD_NAME = "/case-users/search";
+    public static final String CCD_API_SEARCH_CASES_METHOD_NAME = "/searchCases?ctid={caseTypeId}";
     public static final String LINK_STATUS_NOT_STARTED_YET = "notStartedYet";
     public static final String ET3_STATUS_IN_PROGRESS = "inProgress";
     public static final String SECTION_STATUS_COMPLETED = "completed";
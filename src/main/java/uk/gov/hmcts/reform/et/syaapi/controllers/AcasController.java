@@ -3,8 +3,6 @@ package uk.gov.hmcts.reform.et.syaapi.controllers;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
@@ -15,12 +13,13 @@ import org.springframework.web.bind.annotation.RestController;
 import uk.gov.hmcts.reform.et.syaapi.annotation.ApiResponseGroup;
 import uk.gov.hmcts.reform.et.syaapi.models.CaseDocumentAcasResponse;
 import uk.gov.hmcts.reform.et.syaapi.service.AcasCaseService;
+import uk.gov.hmcts.reform.et.syaapi.service.AdminUserService;
 import uk.gov.hmcts.reform.et.syaapi.service.CaseDocumentService;
-import uk.gov.hmcts.reform.idam.client.IdamClient;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import javax.servlet.http.HttpServletResponse;
 
 import static org.springframework.http.ResponseEntity.ok;
 import static uk.gov.hmcts.reform.et.syaapi.constants.EtSyaConstants.AUTHORIZATION;
@@ -36,12 +35,7 @@ public class AcasController {
 
     private final AcasCaseService acasCaseService;
     private final CaseDocumentService caseDocumentService;
-    private final IdamClient idamClient;
-
-    @Value("${caseWorkerUserName}")
-    private String caseWorkerUserName;
-    @Value("${caseWorkerPassword}")
-    private String caseWorkerPassword;
+    private final AdminUserService adminUserService;
 
     /**
      * Given a datetime, this method will return a list of caseIds which have been modified since the datetime
@@ -66,6 +60,7 @@ public class AcasController {
      *
      * @param authorisation used for IDAM authentication
      * @param caseIds       a list of CCD ids
+     * @param fields        optional list of the case fields to return, e.g. data.ethosCaseReference
      * @return a list of case data
      */
     @GetMapping(value = "/getCaseData")
@@ -73,8 +68,9 @@ public class AcasController {
     @ApiResponseGroup
     public ResponseEntity<Object> getCaseData(
         @RequestHeader(value = HttpHeaders.AUTHORIZATION) String authorisation,
-        @RequestParam(name = "caseIds") List<String> caseIds) {
-        return ok(acasCaseService.getCaseData(authorisation, caseIds));
+        @RequestParam(name = "caseIds") List<String> caseIds,
+        @RequestParam(name = "fields", required = false) List<String> fields) {
+        return ok(acasCaseService.getCaseData(authorisation, caseIds, fields == null ? List.of() : fields));
     }
 
     /**
@@ -100,15 +96,18 @@ public class AcasController {
      *
      * @param documentId UUID for the document in DM Store
      * @param authToken  idam token of ACAS to initially verify access to the API
-     * @return document
+     * @param headers    headers of the request, of which Range and If-Range are forwarded
+     * @param response   response the document is streamed to
      */
     @GetMapping("/downloadAcasDocuments")
     @Operation(summary = "Get a document from CDAM in binary format")
     @ApiResponseGroup
-    public ResponseEntity<ByteArrayResource> getDocumentBinaryContent(
+    public void getDocumentBinaryContent(
         @RequestParam(name = "documentId") final UUID documentId,
-        @RequestHeader(AUTHORIZATION) String authToken) {
-        String accessToken = idamClient.getAccessToken(caseWorkerUserName, caseWorkerPassword);
-        return caseDocumentService.downloadDocument(accessToken, documentId);
+        @RequestHeader(AUTHORIZATION) String authToken,
+        @RequestHeader HttpHeaders headers,
+        HttpServletResponse response) {
+        String accessToken = adminUserService.getAdminUserToken();
+        caseDocumentService.streamDocument(accessToken, documentId, headers, response);
     }
 }
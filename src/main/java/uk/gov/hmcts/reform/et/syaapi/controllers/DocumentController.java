@@ -4,7 +4,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,6 +15,7 @@ import uk.gov.hmcts.reform.et.syaapi.models.CaseDocument;
 import uk.gov.hmcts.reform.et.syaapi.service.CaseDocumentService;
 
 import java.util.UUID;
+import javax.servlet.http.HttpServletResponse;
 
 import static uk.gov.hmcts.reform.et.syaapi.constants.EtSyaConstants.AUTHORIZATION;
 
@@ -31,21 +32,28 @@ public class DocumentController {
     private final CaseDocumentService caseDocumentService;
 
     /**
-     * Returns content in binary stream of the given document id.
+     * Streams the binary content of the given document id to the response. Range requests are passed on to the case
+     * document api so that partial downloads can be resumed.
      *
      * @param authToken  jwt token for authentication
      * @param documentId id for the chosen document
+     * @param headers    headers of the request, of which Range and If-Range are forwarded
+     * @param response   response the content is written to
      */
     @GetMapping("/download/{documentId}")
     @Operation(summary = "Get document binary content by id from case document api")
     @ApiResponse(responseCode = "200", description = "OK")
+    @ApiResponse(responseCode = "206", description = "Partial content")
     @ApiResponse(responseCode = "404", description = "Case document not found")
+    @ApiResponse(responseCode = "416", description = "Requested range not satisfiable")
 
-    public ResponseEntity<ByteArrayResource> getDocumentBinaryContent(
+    public void getDocumentBinaryContent(
         @PathVariable("documentId") final UUID documentId,
-        @RequestHeader(AUTHORIZATION) String authToken) {
+        @RequestHeader(AUTHORIZATION) String authToken,
+        @RequestHeader HttpHeaders headers,
+        HttpServletResponse response) {
 
-        return caseDocumentService.downloadDocument(authToken, documentId);
+        caseDocumentService.streamDocument(authToken, documentId, headers, response);
     }
 
     /**
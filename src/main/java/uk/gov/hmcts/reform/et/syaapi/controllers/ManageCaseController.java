@@ -27,7 +27,8 @@ import uk.gov.hmcts.reform.et.syaapi.service.HubLinkService;
 import uk.gov.hmcts.reform.et.syaapi.service.ManageCaseRoleService;
 import uk.gov.service.notify.NotificationClientException;
 
-import java.util.List;
+import java.io.IOException;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.NotNull;
 
 import static org.springframework.http.ResponseEntity.ok;
@@ -77,20 +78,21 @@ public class ManageCaseController {
      * Uses the authorization token to extract the user and return all the cases that belong to that user.
      *
      * @param authorization the JWT that contains the user information
-     * @return a list of cases for the given user wrapped in a {@link CaseDetails} object
+     * @param response the response the list of cases for the given user is written to, as returned by CCD
+     * @throws IOException if the cases cannot be written to the response
      */
     @GetMapping("/user-cases")
     @Operation(summary = "Return list of case details for a given user")
     @ApiResponseGroup
-    public ResponseEntity<List<CaseDetails>> getUserCasesByCaseUserRole(
+    public void getUserCasesByCaseUserRole(
         @RequestHeader(AUTHORIZATION) String authorization,
-        @RequestParam(value = CASE_USER_ROLE_API_PARAMETER_NAME, required = false) String caseUserRole) {
-        var caseDetails = manageCaseRoleService.getUserCasesByCaseUserRole(
-            authorization,
-            StringUtils.isBlank(caseUserRole)
-                ? CASE_USER_ROLE_CREATOR
-                : STRING_LEFT_SQUARE_BRACKET + caseUserRole.trim() + STRING_RIGHT_SQUARE_BRACKET);
-        return ok(caseDetails);
+        @RequestParam(value = CASE_USER_ROLE_API_PARAMETER_NAME, required = false) String caseUserRole,
+        HttpServletResponse response) throws IOException {
+        String role = StringUtils.isBlank(caseUserRole)
+            ? CASE_USER_ROLE_CREATOR
+            : STRING_LEFT_SQUARE_BRACKET + caseUserRole.trim() + STRING_RIGHT_SQUARE_BRACKET;
+        manageCaseRoleService.writeUserCases(
+            authorization, manageCaseRoleService.findUserCaseIdsByCaseUserRole(authorization, role), role, response);
     }
 
     /**
@@ -0,0 +1,31 @@
+package uk.gov.hmcts.reform.et.syaapi.exception;
+
+import uk.gov.hmcts.reform.et.syaapi.service.UploadAdmissionService;
+
+import java.io.Serial;
+import java.time.Duration;
+
+/**
+ *   Triggered by {@link UploadAdmissionService} when an upload cannot be admitted within the upload budget.
+ */
+public class UploadAdmissionException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = Long.MIN_VALUE;
+
+    private final Duration retryAfter;
+
+    /**
+     *   Creates an {@link UploadAdmissionException} for an upload that was not admitted.
+     *   @param bytes size of the upload
+     *   @param retryAfter how long the caller should wait before trying again
+     */
+    public UploadAdmissionException(long bytes, Duration retryAfter) {
+        super("Too many uploads in progress, could not admit upload of " + bytes + " bytes");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
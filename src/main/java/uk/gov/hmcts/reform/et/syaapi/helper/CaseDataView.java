@@ -0,0 +1,95 @@
+package uk.gov.hmcts.reform.et.syaapi.helper;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import uk.gov.hmcts.et.common.model.ccd.CaseData;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lazy view over the data map of a case, for flows that read or modify only a few of its fields. Unlike converting
+ * the whole map to {@link CaseData}, a field is only converted to its java type when it is first read, and only the
+ * fields read or set are written back to the map; all the other fields are sent back to CCD as they were received.
+ */
+public final class CaseDataView {
+
+    private final Map<String, Object> data;
+    private final Map<String, Object> fields = new HashMap<>();
+
+    /**
+     * Creates a view over the given case data.
+     *
+     * @param data data of the case as received from CCD, which is updated by {@link #getData()}
+     */
+    public CaseDataView(Map<String, Object> data) {
+        this.data = data;
+    }
+
+    /**
+     * Returns the value of the field converted to the given type. The field is converted on its first read, later
+     * reads return the same value and changes made to it are written back by {@link #getData()}.
+     *
+     * @param field name of the field, e.g. documentCollection
+     * @param type type of the field, e.g. {@code List<DocumentTypeItem>}
+     * @param <T> type of the field
+     * @return the value of the field, or null if the case does not have it
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String field, TypeReference<T> type) {
+        if (!fields.containsKey(field)) {
+            fields.put(field, EmployeeObjectMapper.getObjectMapper().convertValue(data.get(field), type));
+        }
+        return (T) fields.get(field);
+    }
+
+    /**
+     * Returns the value of the field converted to the given class.
+     *
+     * @param field name of the field, e.g. ethosCaseReference
+     * @param type class of the field
+     * @param <T> type of the field
+     * @return the value of the field, or null if the case does not have it
+     */
+    public <T> T get(String field, Class<T> type) {
+        if (!fields.containsKey(field)) {
+            fields.put(field, EmployeeObjectMapper.getObjectMapper().convertValue(data.get(field), type));
+        }
+        return type.cast(fields.get(field));
+    }
+
+    /**
+     * Returns the number of items of a collection field without converting them.
+     *
+     * @param field name of the collection field, e.g. genericTseApplicationCollection
+     * @return the number of items of the collection, 0 if the case does not have it
+     */
+    public int sizeOf(String field) {
+        Object value = fields.containsKey(field) ? fields.get(field) : data.get(field);
+        return value instanceof Collection<?> collection ? collection.size() : 0;
+    }
+
+    /**
+     * Sets the value of the field, which is written back by {@link #getData()}.
+     *
+     * @param field name of the field
+     * @param value new value of the field
+     */
+    public void set(String field, Object value) {
+        fields.put(field, value);
+    }
+
+    /**
+     * Writes the fields read or set through this view back to the case data and returns it.
+     *
+     * @return the data of the case
+     */
+    public Map<String, Object> getData() {
+        fields.forEach((field, value) -> {
+            if (value != null || data.containsKey(field)) {
+                data.put(field, value);
+            }
+        });
+        return data;
+    }
+}
@@ -1,6 +1,5 @@
 package uk.gov.hmcts.reform.et.syaapi.helper;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.et.common.model.ccd.CaseData;
@@ -25,11 +24,11 @@ public class CaseDetailsConverter {
     /**
      * Constructor for @ObjectMapper class.
      *
-     * @param objectMapper jackson {@link ObjectMapper} object to initialize object
+     * @param objectMapper jackson {@link ObjectMapper} object to initialize object, which leaves empty values out of
+     *                     the json it writes (see {@link EmployeeObjectMapper#getObjectMapper()})
      */
     public CaseDetailsConverter(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
-        this.objectMapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
     }
 
     /**
@@ -76,4 +75,20 @@ public class CaseDetailsConverter {
             .data(caseData)
             .build();
     }
+
+    /**
+     * Converts Case related details to CaseDataContent which gets saved to CCD, with only the fields read or set
+     * through the view converted back from their java types.
+     *
+     * @param startEventResponse associated case details updated
+     * @param caseDataView view over the case data of the start event response
+     * @return {@link CaseDataContent} which returns overall contents of the case
+     */
+    public CaseDataContent caseDataContent(StartEventResponse startEventResponse, CaseDataView caseDataView) {
+        return CaseDataContent.builder()
+            .eventToken(startEventResponse.getToken())
+            .event(Event.builder().id(startEventResponse.getEventId()).build())
+            .data(caseDataView.getData())
+            .build();
+    }
 }
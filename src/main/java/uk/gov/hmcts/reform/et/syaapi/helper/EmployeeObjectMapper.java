@@ -1,10 +1,13 @@
 package uk.gov.hmcts.reform.et.syaapi.helper;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.et.common.model.ccd.CaseData;
 import uk.gov.hmcts.et.common.model.ccd.Et1CaseData;
@@ -13,11 +16,32 @@ import java.util.Map;
 
 /**
  * Converts case data that is stored in a format used in http calls and wraps it in a class for API use.
+ * All conversions share a single {@link ObjectMapper}, so that the serializers and deserializers Jackson builds for
+ * the case data classes are built once rather than on every conversion. It is also the mapper Spring uses, see
+ * {@link uk.gov.hmcts.reform.et.syaapi.config.JacksonConfiguration}, so case data is read and written the same way
+ * here as in requests, responses and calls to CCD: empty values are left out and dates are written as text.
  */
 @Slf4j
 @Service
 public class EmployeeObjectMapper {
 
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json()
+        .serializationInclusion(JsonInclude.Include.NON_EMPTY)
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                           SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+        .modulesToInstall(new ParameterNamesModule())
+        .build();
+    private static final TypeReference<Map<String, Object>> CASE_DATA_MAP_TYPE = new TypeReference<>() {};
+
+    /**
+     * Returns the mapper shared by the case data conversions. It is thread safe and must not be reconfigured.
+     *
+     * @return the shared {@link ObjectMapper}
+     */
+    public static ObjectMapper getObjectMapper() {
+        return OBJECT_MAPPER;
+    }
+
     /**
      * Converts caseData string to {@link Et1CaseData} object.
      *
@@ -25,11 +49,9 @@ public class EmployeeObjectMapper {
      * @return @link Et1CaseData format of input json object
      */
     public Et1CaseData getEmploymentCaseData(String caseData) {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
         Et1CaseData data = null;
         try {
-            data = mapper.readValue(caseData, Et1CaseData.class);
+            data = OBJECT_MAPPER.readValue(caseData, Et1CaseData.class);
         } catch (JsonProcessingException e) {
             log.error("Failed to parse the input json request body,", e);
         }
@@ -43,15 +65,11 @@ public class EmployeeObjectMapper {
      * @return case data wrapped in {@link Et1CaseData} format
      */
     public Et1CaseData getEmploymentCaseData(Map<String, Object> caseData) {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        return mapper.convertValue(caseData, Et1CaseData.class);
+        return OBJECT_MAPPER.convertValue(caseData, Et1CaseData.class);
     }
 
     private static CaseData getCaseData(Map<String, Object> caseData) {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        return mapper.convertValue(caseData, CaseData.class);
+        return OBJECT_MAPPER.convertValue(caseData, CaseData.class);
     }
 
     /**
@@ -64,8 +82,6 @@ public class EmployeeObjectMapper {
     }
 
     public static Map<String, Object> mapCaseDataToLinkedHashMap(CaseData caseData) {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        return mapper.convertValue(caseData, new TypeReference<>() {});
+        return OBJECT_MAPPER.convertValue(caseData, CASE_DATA_MAP_TYPE);
     }
 }
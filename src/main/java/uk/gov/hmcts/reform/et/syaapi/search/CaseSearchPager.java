@@ -0,0 +1,136 @@
+package uk.gov.hmcts.reform.et.syaapi.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import uk.gov.hmcts.reform.ccd.client.model.CaseDetails;
+import uk.gov.hmcts.reform.ccd.client.model.SearchResult;
+import uk.gov.hmcts.reform.et.syaapi.helper.EmployeeObjectMapper;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Pages through the results of a CCD Elasticsearch query. Each page is sorted by case reference and the next page is
+ * requested with search_after the last reference of the previous one, so only a single page of {@link CaseDetails}
+ * is held at any time however many cases match the query. Pages are requested lazily as the returned stream is
+ * consumed, until the deadline of the request they are part of: no page is requested once it has passed.
+ * This relies upon the following configurations to be set at an environment level:
+ * <ul>
+ *   <li>CCD_SEARCH_PAGE_SIZE</li>
+ * </ul>
+ */
+@Component
+public class CaseSearchPager {
+
+    static final String SORT_FIELD = "reference.keyword";
+
+    private final int pageSize;
+
+    /**
+     * Creates the pager requesting pages of the given size.
+     * @param pageSize number of cases requested per page
+     */
+    public CaseSearchPager(@Value("${core_case_data.search.page_size:100}") int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Search page size must be at least 1");
+        }
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Streams all the cases matching the query, one page at a time.
+     * @param query elastic search query without size, sort or search_after, e.g. {"query":{...},"_source":[...]}
+     * @param searchPage runs a page query against CCD and returns its result
+     * @param deadline time after which no more pages are requested, e.g. the deadline of a case type fan-out
+     * @return the cases matching the query, in case reference order
+     * @throws ResponseStatusException with {@link HttpStatus#GATEWAY_TIMEOUT} when a page is needed after the deadline
+     */
+    public Stream<CaseDetails> stream(String query, Function<String, SearchResult> searchPage, Instant deadline) {
+        ObjectNode baseQuery = parse(query);
+        Iterator<CaseDetails> cases = new PageIterator(baseQuery, searchPage, deadline);
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(cases, Spliterator.ORDERED), false);
+    }
+
+    String buildPageQuery(ObjectNode baseQuery, Long searchAfter) {
+        ObjectNode pageQuery = EmployeeObjectMapper.getObjectMapper().createObjectNode();
+        pageQuery.put("size", pageSize);
+        pageQuery.putArray("sort").addObject().put(SORT_FIELD, "asc");
+        if (searchAfter != null) {
+            pageQuery.putArray("search_after").add(searchAfter.toString());
+        }
+        pageQuery.setAll(baseQuery);
+        return pageQuery.toString();
+    }
+
+    private static ObjectNode parse(String query) {
+        try {
+            ObjectNode baseQuery = (ObjectNode) EmployeeObjectMapper.getObjectMapper().readTree(query);
+            baseQuery.remove(List.of("size", "from", "sort", "search_after"));
+            return baseQuery;
+        } catch (JsonProcessingException | ClassCastException e) {
+            throw new IllegalArgumentException("Search query must be a json object", e);
+        }
+    }
+
+    private final class PageIterator implements Iterator<CaseDetails> {
+        private final ObjectNode baseQuery;
+        private final Function<String, SearchResult> searchPage;
+        private final Instant deadline;
+        private Iterator<CaseDetails> page = Collections.emptyIterator();
+        private Long searchAfter;
+        private boolean lastPage;
+
+        PageIterator(ObjectNode baseQuery, Function<String, SearchResult> searchPage, Instant deadline) {
+            this.baseQuery = baseQuery;
+            this.searchPage = searchPage;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!page.hasNext() && !lastPage) {
+                fetchNextPage();
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public CaseDetails next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.next();
+        }
+
+        private void fetchNextPage() {
+            if (Instant.now().isAfter(deadline)) {
+                throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                                                  "Search deadline passed before fetching the next page");
+            }
+            SearchResult searchResult = searchPage.apply(buildPageQuery(baseQuery, searchAfter));
+            List<CaseDetails> cases = searchResult == null ? null : searchResult.getCases();
+            if (CollectionUtils.isEmpty(cases)) {
+                lastPage = true;
+                return;
+            }
+            searchAfter = cases.get(cases.size() - 1).getId();
+            // A page without a reference to continue from cannot be followed by another one
+            lastPage = cases.size() < pageSize || searchAfter == null;
+            page = cases.iterator();
+        }
+    }
+}
@@ -1,9 +1,30 @@
 package uk.gov.hmcts.reform.et.syaapi.search;
 
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import uk.gov.hmcts.reform.et.syaapi.models.FindCaseForRoleModificationRequest;
 
-@SuppressWarnings({"PMD.AvoidDuplicateLiterals"})
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static uk.gov.hmcts.reform.et.syaapi.search.QueryDsl.bool;
+import static uk.gov.hmcts.reform.et.syaapi.search.QueryDsl.lookup;
+import static uk.gov.hmcts.reform.et.syaapi.search.QueryDsl.match;
+import static uk.gov.hmcts.reform.et.syaapi.search.QueryDsl.matchAll;
+import static uk.gov.hmcts.reform.et.syaapi.search.QueryDsl.param;
+import static uk.gov.hmcts.reform.et.syaapi.search.QueryDsl.rangeFrom;
+import static uk.gov.hmcts.reform.et.syaapi.search.QueryDsl.search;
+import static uk.gov.hmcts.reform.et.syaapi.search.QueryDsl.term;
+import static uk.gov.hmcts.reform.et.syaapi.search.QueryDsl.termIgnoringCase;
+import static uk.gov.hmcts.reform.et.syaapi.search.QueryDsl.terms;
+
+/**
+ * Builds the elastic search queries sent to CCD. Each query is compiled once into a {@link QueryTemplate} and the
+ * values given by the caller are written into it as escaped json values.
+ */
 public final class ElasticSearchQueryBuilder {
 
     private static final String FIELD_NAME_RESPONDENT_ORGANISATION
@@ -16,6 +37,67 @@ public final class ElasticSearchQueryBuilder {
     private static final String FIELD_NAME_CLAIMANT_FIRST_NAMES = "data.claimantIndType.claimant_first_names.keyword";
     private static final String FIELD_NAME_CLAIMANT_LAST_NAME = "data.claimantIndType.claimant_last_name.keyword";
     private static final String FIELD_NAME_CLAIMANT_FULL_NAME = "data.claimant.keyword";
+    private static final String FIELD_NAME_STATE = "state.keyword";
+    private static final String FIELD_NAME_LAST_MODIFIED = "last_modified";
+    private static final String FIELD_NAME_REFERENCE = "reference";
+
+    private static final int MAX_CASES = 10_000;
+
+    private static final String PARAM_SUBMISSION_REFERENCE = "submissionReference";
+    private static final String PARAM_RESPONDENT_NAME = "respondentName";
+    private static final String PARAM_CLAIMANT_FIRST_NAMES = "claimantFirstNames";
+    private static final String PARAM_CLAIMANT_LAST_NAME = "claimantLastName";
+    private static final String PARAM_CLAIMANT_FULL_NAME = "claimantFullName";
+    private static final String PARAM_ETHOS_CASE_REFERENCE = "ethosCaseReference";
+    private static final String PARAM_STATE = "state";
+    private static final String PARAM_CASE_REFERENCES = "caseReferences";
+    private static final String PARAM_SIZE = "size";
+    private static final String PARAM_SOURCE_FIELDS = "sourceFields";
+    private static final String PARAM_LAST_MODIFIED = "lastModified";
+
+    /*
+     * Compares respondent name with the fields, respondent name and organisation name. Respondent name field in the
+     * database json object's value is always equals the respondent name when type of respondent is individual and
+     * always equals to organisation name when type of respondent is organisation. But it may also have the name as
+     * combination of respondent first name, space, respondent last name. That is why it is added as or statement to
+     * both organisation name and respondent name.
+     */
+    private static final QueryTemplate BY_ROLE_MODIFICATION_REQUEST = lookup(
+        bool()
+            .filter(
+                term(FIELD_NAME_SUBMISSION_REFERENCE, param(PARAM_SUBMISSION_REFERENCE)),
+                bool().should(
+                    bool().filter(termIgnoringCase(FIELD_NAME_RESPONDENT_ORGANISATION, param(PARAM_RESPONDENT_NAME))),
+                    bool().filter(termIgnoringCase(FIELD_NAME_RESPONDENT_NAME, param(PARAM_RESPONDENT_NAME))),
+                    bool().filter(termIgnoringCase(FIELD_NAME_RESPONDENT, param(PARAM_RESPONDENT_NAME)))),
+                bool().should(
+                    bool().must(
+                        bool().filter(term(FIELD_NAME_CLAIMANT_FIRST_NAMES, param(PARAM_CLAIMANT_FIRST_NAMES))),
+                        bool().filter(term(FIELD_NAME_CLAIMANT_LAST_NAME, param(PARAM_CLAIMANT_LAST_NAME)))),
+                    bool().filter(termIgnoringCase(FIELD_NAME_CLAIMANT_FULL_NAME, param(PARAM_CLAIMANT_FULL_NAME))))));
+
+    private static final QueryTemplate BY_SUBMISSION_REFERENCE = search(
+        1, bool().must(match(FIELD_NAME_SUBMISSION_REFERENCE, param(PARAM_SUBMISSION_REFERENCE))), null);
+
+    private static final QueryTemplate BY_SUBMISSION_REFERENCE_AND_STATE = lookup(
+        bool().filter(term(FIELD_NAME_SUBMISSION_REFERENCE, param(PARAM_SUBMISSION_REFERENCE)),
+                      term(FIELD_NAME_STATE, param(PARAM_STATE))));
+
+    private static final QueryTemplate BY_ETHOS_CASE_REFERENCE = lookup(
+        bool().filter(term(FIELD_NAME_ETHOS_CASE_REFERENCE, param(PARAM_ETHOS_CASE_REFERENCE))));
+
+    private static final QueryTemplate BY_CASE_REFERENCES = search(
+        param(PARAM_SIZE),
+        bool().filter(terms(FIELD_NAME_SUBMISSION_REFERENCE, param(PARAM_CASE_REFERENCES))),
+        param(PARAM_SOURCE_FIELDS));
+
+    private static final QueryTemplate BY_LAST_MODIFIED_FROM = search(
+        null,
+        bool().filter(rangeFrom(FIELD_NAME_LAST_MODIFIED, param(PARAM_LAST_MODIFIED))),
+        List.of(FIELD_NAME_REFERENCE));
+
+    private static final String ALL_CASE_REFERENCES = search(
+        MAX_CASES, matchAll(), List.of(FIELD_NAME_REFERENCE)).render(Map.of());
 
     private ElasticSearchQueryBuilder() {
         // Access through static methods
@@ -25,11 +107,6 @@ public final class ElasticSearchQueryBuilder {
      * Generates query to search case by caseSubmissionReference, respondentName, claimantFirstNames,
      * and claimantLastName. This query is used to check if the respondent's entered data for self
      * assignment exists or not.
-     * Compares respondent name with the fields, respondent name and organisation name. Respondent name field in the
-     * database json object's value is always equals the respondent name when type of respondent is individual and
-     * always equals to organisation name when type of respondent is organisation. But it may also have the name as
-     * combination of respondent first name, space, respondent last name. That is why it is added as or statement to
-     * both organisation name and respondent name.
      * @param findCaseForRoleModificationRequest is the parameter object which has caseSubmissionReference,
      *                                           respondentName, claimantFirstNames and claimantLastName
      * @return the string value of the elastic search query
@@ -37,97 +114,20 @@ public final class ElasticSearchQueryBuilder {
     public static String buildByFindCaseForRoleModificationRequest(
         FindCaseForRoleModificationRequest findCaseForRoleModificationRequest
     ) {
-
-        // This code is not being used as we have problem with spring boot - elastic search query builder.
-        // This is a bug and needs to be resolved with the new release of elastic search
-        // https://github.com/elastic/elasticsearch/issues/109165
-        // Respondent Queries
-        /*
-            BoolQueryBuilder boolQueryForRespondentOrganisationName = boolQuery().filter(
-                new TermQueryBuilder(FIELD_NAME_RESPONDENT_ORGANISATION,
-                                                       findCaseForRoleModificationRequest
-                                                       .getRespondentName()).caseInsensitive(true));
-            BoolQueryBuilder boolQueryForRespondentName = boolQuery().filter(
-                new TermQueryBuilder(FIELD_NAME_RESPONDENT_NAME,
-                                      findCaseForRoleModificationRequest.getRespondentName()).caseInsensitive(true));
-            // Respondent name is the field that always has one of the names. If it is an organisation it has the
-            // organisation name or if it is an individual has the individual name. Just added that field as an
-            // or to both organisation and respondent names.
-            BoolQueryBuilder boolQueryForRespondent = boolQuery().filter(
-                new TermQueryBuilder(FIELD_NAME_RESPONDENT,
-                findCaseForRoleModificationRequest.getRespondentName()).caseInsensitive(true));
-
-
-            // Claimant Queries
-            BoolQueryBuilder boolQueryForClaimantFirstNames = boolQuery().filter(
-                new TermQueryBuilder(FIELD_NAME_CLAIMANT_FIRST_NAMES,
-                                      findCaseForRoleModificationRequest.getClaimantFirstNames()));
-            BoolQueryBuilder boolQueryForClaimantLastName = boolQuery().filter(
-                new TermQueryBuilder(FIELD_NAME_CLAIMANT_LAST_NAME,
-                                      findCaseForRoleModificationRequest.getClaimantLastName()));
-            BoolQueryBuilder boolQueryForClaimantFullName = boolQuery().filter(
-                new TermQueryBuilder(FIELD_NAME_CLAIMANT_FULL_NAME,
-                                      findCaseForRoleModificationRequest.getClaimantFirstNames()
-                                          + StringUtils.SPACE
-                                          + findCaseForRoleModificationRequest
-                                          .getClaimantLastName()).caseInsensitive(true));
-            // Total Query
-            BoolQueryBuilder boolQueryBuilder = boolQuery()
-                .must(new MatchQueryBuilder(FIELD_NAME_SUBMISSION_REFERENCE,
-                                            findCaseForRoleModificationRequest.getCaseSubmissionReference()))
-                .filter(boolQuery()
-                            .should(boolQueryForRespondentOrganisationName)
-                            .should(boolQueryForRespondentName)
-                            .should(boolQueryForRespondent))
-                .filter(boolQuery()
-                            .should(boolQuery()
-                                        .must(boolQueryForClaimantFirstNames)
-                                        .must(boolQueryForClaimantLastName))
-                            .should(boolQueryForClaimantFullName));
-            return new SearchSourceBuilder()
-                .size(1)
-                .query(boolQueryBuilder).toString();
-            */
-        /* return "{\"size\":1,\"query\":{\"bool\":{\"must\":[{\"match\":{\"" + FIELD_NAME_SUBMISSION_REFERENCE + "\":"
-            + "{\"query\":\"" + findCaseForRoleModificationRequest.getCaseSubmissionReference()
-            + "\"}}}],\"filter\":[{\"bool\":{\"should\":[{\"bool\":"
-            + "{\"filter\":[{\"match\":{\"" + FIELD_NAME_RESPONDENT_ORGANISATION + "\":"
-            + "{\"query\":\"" + findCaseForRoleModificationRequest.getRespondentName() + "\"}}}],\"boost\":1.0}},"
-            + "{\"bool\":{\"filter\":[{\"match\":{\"" + FIELD_NAME_RESPONDENT_NAME + "\""
-            + ":{\"query\":\"" + findCaseForRoleModificationRequest.getRespondentName() + "\"}}}],"
-            + "\"boost\":1.0}},{\"bool\":{\"filter\":[{\"match\":{\"" + FIELD_NAME_RESPONDENT + "\":{\"query\":"
-            + "\"" + findCaseForRoleModificationRequest.getRespondentName() + "\"}}}],\"boost\":1.0}}],\"boost\":1.0}},"
-            + "{\"bool\":{\"should\":[{\"bool\":{\"must\":[{\"bool\":{\"filter\":[{\"match\":"
-            + "{\"" + FIELD_NAME_CLAIMANT_FIRST_NAMES + "\""
-            + ":{\"query\":\"" + findCaseForRoleModificationRequest.getClaimantFirstNames()
-            + "\"}}}],\"boost\":1.0}},{\"bool\":{\"filter\":[{\"match\""
-            + ":{\"" + FIELD_NAME_CLAIMANT_LAST_NAME + "\":{\"query\":\""
-            + findCaseForRoleModificationRequest.getClaimantLastName() + "\"}}}],\"boost\""
-            + ":1.0}}],\"boost\":1.0}},{\"bool\":{\"filter\":[{\"match\":{\"" + FIELD_NAME_CLAIMANT_FULL_NAME
-            + "\":{\"query\":\"" + findCaseForRoleModificationRequest.getClaimantFirstNames()
-            + StringUtils.SPACE + findCaseForRoleModificationRequest.getClaimantLastName()
-            + "\"}}}],\"boost\":1.0}}],\"boost\":1.0}}],\"boost\":1.0}}}";*/
-        return "{\"size\":1,\"query\":{\"bool\":{\"must\":[{\"match\":{\"" + FIELD_NAME_SUBMISSION_REFERENCE + "\":"
-            + "{\"query\":\"" + findCaseForRoleModificationRequest.getCaseSubmissionReference()
-            + "\"}}}],\"filter\":[{\"bool\":{\"should\":[{\"bool\":{\"filter\":[{\"term\":{\""
-            + FIELD_NAME_RESPONDENT_ORGANISATION + "\":{\"value\":\""
-            + findCaseForRoleModificationRequest.getRespondentName() + "\",\"case_insensitive\":true}}}],"
-            + "\"boost\":1.0}},{\"bool\":{\"filter\":[{\"term\":{\"" + FIELD_NAME_RESPONDENT_NAME
-            + "\":{\"value\":\"" + findCaseForRoleModificationRequest.getRespondentName() + "\""
-            + ",\"case_insensitive\":true}}}],\"boost\":1.0}},{\"bool\":{\"filter\":[{\"term\""
-            + ":{\"" + FIELD_NAME_RESPONDENT + "\":{\"value\":\""
-            + findCaseForRoleModificationRequest.getRespondentName() + "\",\"case_insensitive\":true}}}],"
-            + "\"boost\":1.0}}],\"boost\":1.0}},{\"bool\":{\"should\":[{\"bool\":{\"must\":[{\"bool\":{\"filter\":"
-            + "[{\"term\":{\"" + FIELD_NAME_CLAIMANT_FIRST_NAMES + "\":{\"value\":\""
-            + findCaseForRoleModificationRequest.getClaimantFirstNames() + "\"}}}],"
-            + "\"boost\":1.0}},{\"bool\":{\"filter\":[{\"term\":{\"" + FIELD_NAME_CLAIMANT_LAST_NAME + "\""
-            + ":{\"value\":\"" + findCaseForRoleModificationRequest.getClaimantLastName() + "\"}}}],\"boost\":1.0}}],"
-            + "\"boost\":1.0}},{\"bool\":{\"filter\":"
-            + "[{\"term\":{\"" + FIELD_NAME_CLAIMANT_FULL_NAME
-            + "\":{\"value\":\"" + findCaseForRoleModificationRequest.getClaimantFirstNames()
-            + StringUtils.SPACE + findCaseForRoleModificationRequest.getClaimantLastName()
-            + "\",\"case_insensitive\":true}}}],"
-            + "\"boost\":1.0}}],\"boost\":1.0}}],\"boost\":1.0}}}";
+        return BY_ROLE_MODIFICATION_REQUEST.render(Map.of(
+            PARAM_SUBMISSION_REFERENCE,
+            StringUtils.defaultString(findCaseForRoleModificationRequest.getCaseSubmissionReference()),
+            PARAM_RESPONDENT_NAME,
+            StringUtils.defaultString(findCaseForRoleModificationRequest.getRespondentName()),
+            PARAM_CLAIMANT_FIRST_NAMES,
+            StringUtils.defaultString(findCaseForRoleModificationRequest.getClaimantFirstNames()),
+            PARAM_CLAIMANT_LAST_NAME,
+            StringUtils.defaultString(findCaseForRoleModificationRequest.getClaimantLastName()),
+            PARAM_CLAIMANT_FULL_NAME,
+            StringUtils.defaultString(findCaseForRoleModificationRequest.getClaimantFirstNames())
+                + StringUtils.SPACE
+                + StringUtils.defaultString(findCaseForRoleModificationRequest.getClaimantLastName())
+        ));
     }
 
     /**
@@ -137,15 +137,22 @@ public final class ElasticSearchQueryBuilder {
      * @return the string value of the elastic search query
      */
     public static String buildBySubmissionReference(String submissionReference) {
-        /*
-        BoolQueryBuilder boolQueryBuilder = boolQuery()
-            .must(new MatchQueryBuilder(FIELD_NAME_SUBMISSION_REFERENCE, submissionReference));
-        return new SearchSourceBuilder()
-            .size(ES_SIZE)
-            .query(boolQueryBuilder).toString();
-            */
-        return "{\"size\":1,\"query\":{\"bool\":{\"must\":[{\"match\":{\"" + FIELD_NAME_SUBMISSION_REFERENCE + "\":"
-            + "{\"query\":\"" + submissionReference + "\"}}}],\"boost\":1.0}}}";
+        return BY_SUBMISSION_REFERENCE.render(Map.of(PARAM_SUBMISSION_REFERENCE,
+                                                     StringUtils.defaultString(submissionReference)));
+    }
+
+    /**
+     * This query is used to get the specific case with the entered case submission reference when the case is in
+     * the given state.
+     * @param submissionReference submissionReference of the case
+     * @param state state of the case, e.g. Accepted
+     * @return the string value of the elastic search query
+     */
+    public static String buildBySubmissionReferenceAndState(String submissionReference, String state) {
+        return BY_SUBMISSION_REFERENCE_AND_STATE.render(Map.of(
+            PARAM_SUBMISSION_REFERENCE, StringUtils.defaultString(submissionReference),
+            PARAM_STATE, StringUtils.defaultString(state)
+        ));
     }
 
     /**
@@ -154,13 +161,45 @@ public final class ElasticSearchQueryBuilder {
      * @return the string value of the elastic search query
      */
     public static String buildByEthosCaseReference(String ethosCaseReference) {
-        /*BoolQueryBuilder boolQueryBuilder = boolQuery()
-            .must(new MatchQueryBuilder(FIELD_NAME_ETHOS_CASE_REFERENCE, ethosCaseReference));
-        return new SearchSourceBuilder()
-            .size(ES_SIZE)
-            .query(boolQueryBuilder).toString();*/
-        return "{\"size\":1,\"query\":{\"bool\":{\"must\":"
-            + "[{\"match\":{\"" + FIELD_NAME_ETHOS_CASE_REFERENCE + "\":{\"query\":\"" + ethosCaseReference
-            + "\"}}}],\"boost\":1.0}}}";
+        return BY_ETHOS_CASE_REFERENCE.render(Map.of(PARAM_ETHOS_CASE_REFERENCE,
+                                                     StringUtils.defaultString(ethosCaseReference)));
+    }
+
+    /**
+     * This query is used to get the cases with the given references. When source fields are given, only those fields
+     * of each case are returned by CCD, along with the case reference.
+     * @param caseReferences references of the cases
+     * @param size maximum number of cases returned
+     * @param sourceFields fields of the case to return, e.g. data.documentCollection, or empty for the whole case
+     * @return the string value of the elastic search query
+     */
+    public static String buildByCaseReferences(Collection<String> caseReferences, int size,
+                                               Collection<String> sourceFields) {
+        List<String> includes = CollectionUtils.isEmpty(sourceFields)
+            ? List.of()
+            : Stream.concat(Stream.of(FIELD_NAME_REFERENCE), sourceFields.stream()).distinct().toList();
+        return BY_CASE_REFERENCES.render(Map.of(
+            PARAM_SIZE, size,
+            PARAM_CASE_REFERENCES, caseReferences,
+            PARAM_SOURCE_FIELDS, includes
+        ));
+    }
+
+    /**
+     * This query is used to get the references of all the cases the user can access, without the rest of the cases.
+     * @return the string value of the elastic search query
+     */
+    public static String buildAllCaseReferences() {
+        return ALL_CASE_REFERENCES;
+    }
+
+    /**
+     * This query is used to get the references of the cases modified since the given time. It has no size so that
+     * it can be paged through with {@link CaseSearchPager}.
+     * @param lastModified earliest last modified time of the cases
+     * @return the string value of the elastic search query
+     */
+    public static String buildByLastModifiedFrom(LocalDateTime lastModified) {
+        return BY_LAST_MODIFIED_FROM.render(Map.of(PARAM_LAST_MODIFIED, lastModified.toString()));
     }
 }
@@ -0,0 +1,228 @@
+package uk.gov.hmcts.reform.et.syaapi.search;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import uk.gov.hmcts.reform.et.syaapi.search.QueryTemplate.Part;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Small DSL describing the shapes of the elastic search queries sent to CCD (match, term, terms, range and bool).
+ * Queries are described once, with {@link #param(String)} marking the values given on each search, and compiled
+ * into a {@link QueryTemplate}. Exact lookups should use term clauses in the filter of a bool query, which are not
+ * scored and whose results elastic search caches per segment.
+ */
+final class QueryDsl {
+
+    private static final double DEFAULT_BOOST = 1.0;
+
+    private QueryDsl() {
+        // Access through static methods
+    }
+
+    /**
+     * Marks a value of the query that is given when the query is rendered.
+     * @param name name of the parameter
+     * @return the parameter
+     */
+    static Param param(String name) {
+        return new Param(name);
+    }
+
+    /**
+     * Compiles a search request.
+     * @param size maximum number of cases returned, a number, a {@link Param} or null to leave it unset
+     * @param query query of the search
+     * @param sourceFields fields of the case returned, a list, a {@link Param} or null for the whole case
+     * @return the compiled query
+     */
+    static QueryTemplate search(Object size, Part query, Object sourceFields) {
+        return new QueryTemplate((generator, parameters) -> {
+            generator.writeStartObject();
+            if (size != null) {
+                generator.writeFieldName("size");
+                writeValue(generator, size, parameters);
+            }
+            generator.writeFieldName("query");
+            query.write(generator, parameters);
+            Object source = resolve(sourceFields, parameters);
+            if (source instanceof Collection<?> fields && !fields.isEmpty()) {
+                generator.writeFieldName("_source");
+                QueryTemplate.writeValue(generator, fields);
+            }
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * Compiles a search request for a single case. Elastic search stops collecting on each shard at the first match.
+     * @param query query of the search, expected to be in filter context
+     * @return the compiled query
+     */
+    static QueryTemplate lookup(Part query) {
+        return new QueryTemplate((generator, parameters) -> {
+            generator.writeStartObject();
+            generator.writeNumberField("size", 1);
+            generator.writeNumberField("terminate_after", 1);
+            generator.writeFieldName("query");
+            query.write(generator, parameters);
+            generator.writeEndObject();
+        });
+    }
+
+    static Part matchAll() {
+        return (generator, parameters) -> {
+            generator.writeStartObject();
+            generator.writeFieldName("match_all");
+            generator.writeStartObject();
+            generator.writeEndObject();
+            generator.writeEndObject();
+        };
+    }
+
+    static Part match(String field, Object value) {
+        return (generator, parameters) -> {
+            startClause(generator, "match", field);
+            generator.writeFieldName("query");
+            writeValue(generator, value, parameters);
+            endClause(generator);
+        };
+    }
+
+    static Part term(String field, Object value) {
+        return term(field, value, false);
+    }
+
+    static Part termIgnoringCase(String field, Object value) {
+        return term(field, value, true);
+    }
+
+    private static Part term(String field, Object value, boolean caseInsensitive) {
+        return (generator, parameters) -> {
+            startClause(generator, "term", field);
+            generator.writeFieldName("value");
+            writeValue(generator, value, parameters);
+            if (caseInsensitive) {
+                generator.writeBooleanField("case_insensitive", true);
+            }
+            endClause(generator);
+        };
+    }
+
+    static Part terms(String field, Object values) {
+        return (generator, parameters) -> {
+            generator.writeStartObject();
+            generator.writeFieldName("terms");
+            generator.writeStartObject();
+            generator.writeFieldName(field);
+            writeValue(generator, values, parameters);
+            generator.writeNumberField("boost", DEFAULT_BOOST);
+            generator.writeEndObject();
+            generator.writeEndObject();
+        };
+    }
+
+    static Part rangeFrom(String field, Object from) {
+        return (generator, parameters) -> {
+            startClause(generator, "range", field);
+            generator.writeFieldName("gte");
+            writeValue(generator, from, parameters);
+            generator.writeNumberField("boost", DEFAULT_BOOST);
+            endClause(generator);
+        };
+    }
+
+    static BoolQuery bool() {
+        return new BoolQuery();
+    }
+
+    private static void startClause(JsonGenerator generator, String clause, String field) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(clause);
+        generator.writeStartObject();
+        generator.writeFieldName(field);
+        generator.writeStartObject();
+    }
+
+    private static void endClause(JsonGenerator generator) throws IOException {
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private static void writeValue(JsonGenerator generator, Object value, Map<String, ?> parameters)
+        throws IOException {
+        QueryTemplate.writeValue(generator, resolve(value, parameters));
+    }
+
+    private static Object resolve(Object value, Map<String, ?> parameters) {
+        if (value instanceof Param parameter) {
+            if (!parameters.containsKey(parameter.name())) {
+                throw new IllegalArgumentException("Missing elastic search query parameter " + parameter.name());
+            }
+            return parameters.get(parameter.name());
+        }
+        return value;
+    }
+
+    /**
+     * Value of a query given when the query is rendered.
+     * @param name name of the parameter
+     */
+    record Param(String name) {
+    }
+
+    /**
+     * Bool query, written with its must, filter and should clauses in that order.
+     */
+    static final class BoolQuery implements Part {
+        private final List<Part> must = new ArrayList<>();
+        private final List<Part> filter = new ArrayList<>();
+        private final List<Part> should = new ArrayList<>();
+
+        BoolQuery must(Part... clauses) {
+            must.addAll(Arrays.asList(clauses));
+            return this;
+        }
+
+        BoolQuery filter(Part... clauses) {
+            filter.addAll(Arrays.asList(clauses));
+            return this;
+        }
+
+        BoolQuery should(Part... clauses) {
+            should.addAll(Arrays.asList(clauses));
+            return this;
+        }
+
+        @Override
+        public void write(JsonGenerator generator, Map<String, ?> parameters) throws IOException {
+            generator.writeStartObject();
+            generator.writeFieldName("bool");
+            generator.writeStartObject();
+            writeClauses(generator, "must", must, parameters);
+            writeClauses(generator, "filter", filter, parameters);
+            writeClauses(generator, "should", should, parameters);
+            generator.writeNumberField("boost", DEFAULT_BOOST);
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+
+        private static void writeClauses(JsonGenerator generator, String occurrence, List<Part> clauses,
+                                         Map<String, ?> parameters) throws IOException {
+            if (clauses.isEmpty()) {
+                return;
+            }
+            generator.writeFieldName(occurrence);
+            generator.writeStartArray();
+            for (Part clause : clauses) {
+                clause.write(generator, parameters);
+            }
+            generator.writeEndArray();
+        }
+    }
+}
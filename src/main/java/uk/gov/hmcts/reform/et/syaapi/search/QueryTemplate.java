@@ -0,0 +1,70 @@
+package uk.gov.hmcts.reform.et.syaapi.search;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Elastic search query compiled once from the {@link QueryDsl} and rendered for each search. Rendering writes the
+ * structure of the query and its parameters straight into a {@link JsonGenerator}, so parameters are always escaped
+ * and the query text is produced in a single pass without intermediate strings.
+ */
+public final class QueryTemplate {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int INITIAL_BUFFER_SIZE = 512;
+
+    private final Part root;
+
+    QueryTemplate(Part root) {
+        this.root = root;
+    }
+
+    /**
+     * Renders the query with the given parameters.
+     * @param parameters values of the parameters of the query by name, e.g. a string, number or collection of strings
+     * @return the string value of the elastic search query
+     */
+    public String render(Map<String, ?> parameters) {
+        StringWriter writer = new StringWriter(INITIAL_BUFFER_SIZE);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            root.write(generator, parameters);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to render elastic search query", e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Part of a compiled query that writes itself to a {@link JsonGenerator}.
+     */
+    @FunctionalInterface
+    interface Part {
+        void write(JsonGenerator generator, Map<String, ?> parameters) throws IOException;
+    }
+
+    static void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Boolean booleanValue) {
+            generator.writeBoolean(booleanValue);
+        } else if (value instanceof Integer || value instanceof Long) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Number number) {
+            generator.writeNumber(number.doubleValue());
+        } else if (value instanceof Collection<?> values) {
+            generator.writeStartArray();
+            for (Object item : values) {
+                writeValue(generator, item);
+            }
+            generator.writeEndArray();
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+}
@@ -3,7 +3,6 @@ package uk.gov.hmcts.reform.et.syaapi.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.et.common.model.ccd.CaseData;
 import uk.gov.hmcts.et.common.model.ccd.items.DocumentTypeItem;
@@ -16,14 +15,19 @@ import uk.gov.hmcts.reform.ccd.client.model.SearchResult;
 import uk.gov.hmcts.reform.et.syaapi.helper.EmployeeObjectMapper;
 import uk.gov.hmcts.reform.et.syaapi.models.CaseDocument;
 import uk.gov.hmcts.reform.et.syaapi.models.CaseDocumentAcasResponse;
-import uk.gov.hmcts.reform.idam.client.IdamClient;
+import uk.gov.hmcts.reform.et.syaapi.search.CaseSearchPager;
+import uk.gov.hmcts.reform.et.syaapi.search.ElasticSearchQueryBuilder;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
-import static com.google.common.base.Strings.isNullOrEmpty;
 import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
 import static uk.gov.hmcts.ecm.common.model.helper.Constants.MAX_ES_SIZE;
 import static uk.gov.hmcts.reform.et.syaapi.constants.EtSyaConstants.ACAS_HIDDEN_DOCS;
@@ -42,15 +46,27 @@ import static uk.gov.hmcts.reform.et.syaapi.constants.EtSyaConstants.SCOTLAND_CA
 @SuppressWarnings({"PMD.TooManyMethods"})
 public class AcasCaseService {
 
+    /**
+     * Fields of a case read when listing the documents visible to ACAS.
+     */
+    static final List<String> ACAS_DOCUMENT_FIELDS = List.of(
+        "data.documentCollection",
+        "data.claimantRequests.claim_description_document",
+        "data.respondentCollection.id",
+        "data.respondentCollection.value.et3Form",
+        "data.respondentCollection.value.et3ResponseRespondentSupportDocument",
+        "data.respondentCollection.value.et3ResponseContestClaimDocument"
+    );
+    private static final String NO_DATE_FOUND = "No date found";
+    private static final Set<String> HIDDEN_DOCUMENT_TYPES = Set.copyOf(ACAS_HIDDEN_DOCS);
+
     private final AuthTokenGenerator authTokenGenerator;
     private final CoreCaseDataApi ccdApiClient;
-    private final IdamClient idamClient;
+    private final AdminUserService adminUserService;
     private final CaseDocumentService caseDocumentService;
-
-    @Value("${caseWorkerUserName}")
-    private String caseWorkerUserName;
-    @Value("${caseWorkerPassword}")
-    private String caseWorkerPassword;
+    private final CaseDocumentDetailsService caseDocumentDetailsService;
+    private final CaseTypeFanOutService caseTypeFanOutService;
+    private final CaseSearchPager caseSearchPager;
 
     /**
      * Given a datetime, this method will return a list of caseIds which have been modified since the datetime
@@ -61,34 +77,19 @@ public class AcasCaseService {
      * @return a list of caseIds
      */
     public List<Long> getLastModifiedCasesId(String authorisation, LocalDateTime requestDateTime) {
-        String query = """
-            {
-              "size": %d,
-              "query": {
-                "bool": {
-                  "filter": [
-                    {
-                      "range": {
-                        "last_modified": {
-                          "gte": "%s",
-                          "boost": 1.0
-                        }
-                      }
-                    }
-                  ],
-                  "boost": 1.0
-                }
-              },
-              "_source": [
-                "reference"
-              ]
-            }
-            """.formatted(MAX_ES_SIZE, requestDateTime.toString());
-
-        return searchEnglandScotlandCases(authorisation, query)
-            .stream()
-            .map(CaseDetails::getId)
-            .toList();
+        String query = ElasticSearchQueryBuilder.buildByLastModifiedFrom(requestDateTime);
+        String s2sToken = authTokenGenerator.generate();
+        // Each case type is paged through until the deadline of the fan-out rather than a deadline of its own
+        Instant deadline = caseTypeFanOutService.newDeadline();
+        return caseTypeFanOutService.searchAll(
+            List.of(ENGLAND_CASE_TYPE, SCOTLAND_CASE_TYPE),
+            caseTypeId -> caseSearchPager
+                .stream(query,
+                        pageQuery -> ccdApiClient.searchCases(authorisation, s2sToken, caseTypeId, pageQuery),
+                        deadline)
+                .map(CaseDetails::getId)
+                .toList(),
+            deadline);
     }
 
     /**
@@ -98,101 +99,72 @@ public class AcasCaseService {
      * @return a MultiValuedMap containing a list of document ids and timestamps
      */
     public List<CaseDocumentAcasResponse> retrieveAcasDocuments(String caseId) {
-        String query = """
-            {
-              "size": %d,
-              "query": {
-                "bool": {
-                  "filter": [
-                    {
-                      "terms": {
-                        "reference.keyword": [%s],
-                        "boost": 1.0
-                      }
-                    }
-                  ],
-                  "boost": 1.0
-                }
-              }
-            }
-            """.formatted(MAX_ES_SIZE, caseId);
-
+        String query = ElasticSearchQueryBuilder.buildByCaseReferences(List.of(caseId), MAX_ES_SIZE,
+                                                                       ACAS_DOCUMENT_FIELDS);
         return getDocumentUuids(query);
     }
 
     private List<CaseDocumentAcasResponse> getDocumentUuids(String query) {
-        String authorisation = idamClient.getAccessToken(caseWorkerUserName, caseWorkerPassword);
+        String authorisation = adminUserService.getAdminUserToken();
         List<CaseData> caseDataList = searchAndReturnCaseDataList(authorisation, query);
 
-        List<CaseDocumentAcasResponse> documents = new ArrayList<>();
-
-        caseDataList.stream()
-            .map(caseData -> getAllCaseDocuments(authorisation, documents, caseData))
-            .forEach(documentTypeItemList -> addDocumentsToMap(authorisation, documents, documentTypeItemList));
+        AcasDocumentManifest manifest = new AcasDocumentManifest();
+        for (CaseData caseData : caseDataList) {
+            addRespondentDocuments(manifest, caseData);
+            addCaseDocuments(manifest, caseData);
+        }
 
+        List<CaseDocumentAcasResponse> documents = manifest.getDocuments();
+        setModifiedOn(authorisation, documents);
         return documents;
     }
 
-    private void addDocumentsToMap(String authorisation, List<CaseDocumentAcasResponse> documents,
-                                   List<DocumentTypeItem> documentTypeItemList) {
-        documentTypeItemList.stream()
-            .filter(documentTypeItem -> !isDuplicatedDoc(documents, documentTypeItem))
-            .forEach(documentTypeItem -> documents.add(caseDocumentAcasResponseBuilder(
-                documentTypeItem,
-                authorisation,
-                null
-            )));
+    private void setModifiedOn(String authorisation, List<CaseDocumentAcasResponse> documents) {
+        List<UUID> documentIds = documents.stream()
+            .map(CaseDocumentAcasResponse::getDocumentId)
+            .filter(Objects::nonNull)
+            .map(UUID::fromString)
+            .toList();
+        Map<UUID, CaseDocument> documentDetails =
+            caseDocumentDetailsService.getDocumentDetails(authorisation, documentIds);
+        documents.stream()
+            .filter(document -> document.getDocumentId() != null)
+            .forEach(document -> {
+                CaseDocument caseDocument = documentDetails.get(UUID.fromString(document.getDocumentId()));
+                document.setModifiedOn(caseDocument == null
+                                           ? NO_DATE_FOUND
+                                           : defaultIfEmpty(caseDocument.getModifiedOn(), NO_DATE_FOUND));
+            });
     }
 
-    private boolean isDuplicatedDoc(List<CaseDocumentAcasResponse> documents, DocumentTypeItem documentTypeItem) {
-        String documentUrl = documentTypeItem.getValue().getUploadedDocument().getDocumentUrl();
-        UUID uuid = caseDocumentService.getDocumentUuid(documentUrl);
-        if (uuid == null) {
-            return false;
+    private void addRespondentDocuments(AcasDocumentManifest manifest, CaseData caseData) {
+        if (CollectionUtils.isEmpty(caseData.getRespondentCollection())) {
+            return;
         }
-        return documents.stream()
-            .anyMatch(caseDocumentAcasResponse -> uuid.toString()
-            .equals(defaultIfEmpty(caseDocumentAcasResponse.getDocumentId(), "")));
-    }
 
-    private List<DocumentTypeItem> getAllCaseDocuments(String authorisation, List<CaseDocumentAcasResponse> documents,
-                                                       CaseData caseData) {
-        retrieveRespondentDocuments(authorisation, documents, caseData);
+        for (RespondentSumTypeItem respondent : caseData.getRespondentCollection()) {
+            for (DocumentTypeItem documentTypeItem : getSingleRespondentDocs(respondent)) {
+                manifest.add(documentTypeItem, respondent.getId());
+            }
+        }
+    }
 
-        List<DocumentTypeItem> documentTypeItemList = new ArrayList<>(getDocumentCollectionDocs(caseData));
+    private void addCaseDocuments(AcasDocumentManifest manifest, CaseData caseData) {
+        if (CollectionUtils.isNotEmpty(caseData.getDocumentCollection())) {
+            for (DocumentTypeItem documentTypeItem : caseData.getDocumentCollection()) {
+                String documentType = getDocumentType(documentTypeItem);
+                if (!documentType.isEmpty() && !HIDDEN_DOCUMENT_TYPES.contains(documentType)) {
+                    manifest.addIfAbsent(documentTypeItem);
+                }
+            }
+        }
 
         if (caseData.getClaimantRequests() != null
             && caseData.getClaimantRequests().getClaimDescriptionDocument() != null) {
-            documentTypeItemList.add(caseDocumentService.createDocumentTypeItem(
+            manifest.addIfAbsent(caseDocumentService.createDocumentTypeItem(
                 ET1_ATTACHMENT, caseData.getClaimantRequests().getClaimDescriptionDocument()
             ));
         }
-        return documentTypeItemList;
-    }
-
-    private static List<DocumentTypeItem> getDocumentCollectionDocs(CaseData caseData) {
-        if (CollectionUtils.isEmpty(caseData.getDocumentCollection())) {
-            return new ArrayList<>();
-        }
-
-        return caseData.getDocumentCollection().stream()
-            .filter(d -> !isNullOrEmpty(getDocumentType(d)) && !ACAS_HIDDEN_DOCS.contains(getDocumentType(d)))
-            .toList();
-    }
-
-    private void retrieveRespondentDocuments(String authorisation, List<CaseDocumentAcasResponse> documents,
-                                             CaseData caseData) {
-        if (CollectionUtils.isEmpty(caseData.getRespondentCollection())) {
-            return;
-        }
-
-        caseData.getRespondentCollection().forEach(respondent -> {
-            List<DocumentTypeItem> respondentDocs = getSingleRespondentDocs(respondent);
-            respondentDocs.stream()
-                .map(documentTypeItem ->
-                         caseDocumentAcasResponseBuilder(documentTypeItem, authorisation, respondent.getId()))
-                .forEach(documents::add);
-        });
     }
 
     private static String getDocumentType(DocumentTypeItem documentTypeItem) {
@@ -221,22 +193,14 @@ public class AcasCaseService {
         return respondentDocs;
     }
 
-    private CaseDocumentAcasResponse caseDocumentAcasResponseBuilder(DocumentTypeItem documentTypeItem,
-                                                                     String authorisation, String respondent) {
-
-        UUID uuid = caseDocumentService.getDocumentUuid(documentTypeItem.getValue()
-                                                            .getUploadedDocument().getDocumentUrl());
-
+    private static CaseDocumentAcasResponse caseDocumentAcasResponseBuilder(DocumentTypeItem documentTypeItem,
+                                                                            UUID uuid, String respondent) {
         if (uuid == null) {
             return CaseDocumentAcasResponse.builder().build();
         }
-        CaseDocument caseDocument = caseDocumentService.getDocumentDetails(authorisation, uuid).getBody();
         return CaseDocumentAcasResponse.builder()
             .documentType(getDocumentType(documentTypeItem))
             .documentId(uuid.toString())
-            .modifiedOn(caseDocument == null
-                            ? "No date found"
-                            : defaultIfEmpty(caseDocument.getModifiedOn(), "No date found"))
             .respondent(respondent)
             .build();
     }
@@ -249,24 +213,19 @@ public class AcasCaseService {
      * @return a list of case details
      */
     public List<CaseDetails> getCaseData(String authorisation, List<String> caseIds) {
-        String query = """
-            {
-              "size": %d,
-              "query": {
-                "bool": {
-                  "filter": [
-                    {
-                      "terms": {
-                        "reference.keyword": %s,
-                        "boost": 1.0
-                      }
-                    }
-                  ],
-                  "boost": 1.0
-                }
-              }
-            }
-            """.formatted(MAX_ES_SIZE, caseIds);
+        return getCaseData(authorisation, caseIds, List.of());
+    }
+
+    /**
+     * Given a list of caseIds, this method will return a list of case details holding only the requested fields.
+     *
+     * @param authorisation used for IDAM authentication for the query
+     * @param caseIds       used as the query parameter
+     * @param fields        fields of the case to return, e.g. data.ethosCaseReference, or empty for the whole case
+     * @return a list of case details
+     */
+    public List<CaseDetails> getCaseData(String authorisation, List<String> caseIds, List<String> fields) {
+        String query = ElasticSearchQueryBuilder.buildByCaseReferences(caseIds, MAX_ES_SIZE, fields);
         return searchEnglandScotlandCases(authorisation, query);
     }
 
@@ -280,17 +239,16 @@ public class AcasCaseService {
     }
 
     private List<CaseDetails> searchEnglandScotlandCases(String authorisation, String query) {
-        List<CaseDetails> caseDetailsList = new ArrayList<>();
-        caseDetailsList.addAll(searchCaseType(authorisation, ENGLAND_CASE_TYPE, query));
-        caseDetailsList.addAll(searchCaseType(authorisation, SCOTLAND_CASE_TYPE, query));
-        return caseDetailsList;
+        String s2sToken = authTokenGenerator.generate();
+        return caseTypeFanOutService.searchAll(
+            List.of(ENGLAND_CASE_TYPE, SCOTLAND_CASE_TYPE),
+            caseTypeId -> searchCaseType(authorisation, s2sToken, caseTypeId, query));
     }
 
-    private List<CaseDetails> searchCaseType(String authorisation, String caseTypeId, String query) {
+    private List<CaseDetails> searchCaseType(String authorisation, String s2sToken, String caseTypeId,
+                                             String query) {
         List<CaseDetails> caseDetailsList = new ArrayList<>();
-        SearchResult searchResult = ccdApiClient.searchCases(authorisation, authTokenGenerator.generate(),
-                                                             caseTypeId, query
-        );
+        SearchResult searchResult = ccdApiClient.searchCases(authorisation, s2sToken, caseTypeId, query);
         if (searchResult != null && CollectionUtils.isNotEmpty(searchResult.getCases())) {
             log.info("ACAS Search result for case type {} is {}", caseTypeId, searchResult.getCases().size());
             caseDetailsList.addAll(searchResult.getCases());
@@ -298,4 +256,36 @@ public class AcasCaseService {
         return caseDetailsList;
     }
 
+    /**
+     * Documents visible to ACAS in the order they are found, indexed by document id so that a case document is
+     * listed once however many times it is referenced. Respondent documents are always listed.
+     */
+    private final class AcasDocumentManifest {
+        private final List<CaseDocumentAcasResponse> documents = new ArrayList<>();
+        private final Set<UUID> documentIds = new HashSet<>();
+
+        void add(DocumentTypeItem documentTypeItem, String respondent) {
+            UUID uuid = getDocumentUuid(documentTypeItem);
+            if (uuid != null) {
+                documentIds.add(uuid);
+            }
+            documents.add(caseDocumentAcasResponseBuilder(documentTypeItem, uuid, respondent));
+        }
+
+        void addIfAbsent(DocumentTypeItem documentTypeItem) {
+            UUID uuid = getDocumentUuid(documentTypeItem);
+            if (uuid == null || documentIds.add(uuid)) {
+                documents.add(caseDocumentAcasResponseBuilder(documentTypeItem, uuid, null));
+            }
+        }
+
+        List<CaseDocumentAcasResponse> getDocuments() {
+            return documents;
+        }
+
+        private UUID getDocumentUuid(DocumentTypeItem documentTypeItem) {
+            return caseDocumentService.getDocumentUuid(documentTypeItem.getValue().getUploadedDocument()
+                                                           .getDocumentUrl());
+        }
+    }
 }
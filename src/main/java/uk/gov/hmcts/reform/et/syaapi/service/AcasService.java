@@ -2,6 +2,7 @@ package uk.gov.hmcts.reform.et.syaapi.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.tika.utils.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
@@ -23,6 +24,8 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
+import static uk.gov.hmcts.reform.et.syaapi.config.RestTemplateConfiguration.ACAS_REST_TEMPLATE;
+
 /**
  * This provides services to access the ACAS external service for retrieving ACAS Certificate's held in {@link
  * AcasCertificate} objects.
@@ -45,7 +48,7 @@ public class AcasService {
      * @param acasApiUrl   the URL to access the ACAS API
      * @param acasApiKey   the OCP APIM Subscription Key used in the header to authenticate when contacting ACAS
      */
-    public AcasService(RestTemplate restTemplate,
+    public AcasService(@Qualifier(ACAS_REST_TEMPLATE) RestTemplate restTemplate,
                        @Value("${acas.api.url}") String acasApiUrl,
                        @Value("${acas.api.key}") String acasApiKey) {
         this.restTemplate = restTemplate;
@@ -1,18 +1,50 @@
 package uk.gov.hmcts.reform.et.syaapi.service;
 
-import lombok.RequiredArgsConstructor;
+import com.nimbusds.jwt.JWTParser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.idam.client.IdamClient;
 
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Provides the access token of the case worker (admin) user. The token is obtained from IDAM once and reused until
+ * shortly before it expires, when the next caller refreshes it. Concurrent callers needing a refresh wait for a
+ * single login rather than each logging in. If a refresh fails while the current token is still valid, the current
+ * token keeps being served.
+ * This relies upon the following configurations to be set at an environment level:
+ * <ul>
+ *   <li>CASEWORKER_USER_NAME</li>
+ *   <li>CASEWORKER_PASSWORD</li>
+ *   <li>IDAM_ADMIN_TOKEN_REFRESH_AHEAD</li>
+ *   <li>IDAM_ADMIN_TOKEN_DEFAULT_TTL</li>
+ * </ul>
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AdminUserService {
     public static final String BEARER = "Bearer";
+    static final String TOKEN_REQUESTS_METRIC = "idam.admin-token.requests";
+    static final String TOKEN_REFRESHES_METRIC = "idam.admin-token.refreshes";
+
     private final IdamClient idamClient;
+    private final Clock clock;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Counter cachedTokenCounter;
+    private final Counter refreshSuccessCounter;
+    private final Counter refreshFailureCounter;
+    private final AtomicReference<AdminToken> adminToken = new AtomicReference<>();
 
     @Value("${caseWorkerUserName}")
     private String apiCallUserName;
@@ -20,11 +52,106 @@ public class AdminUserService {
     @Value("${caseWorkerPassword}")
     private String apiCallUserPassword;
 
+    @Value("${idam.admin-token.refresh-ahead:PT5M}")
+    private Duration refreshAhead;
+
+    @Value("${idam.admin-token.default-time-to-live:PT30M}")
+    private Duration defaultTimeToLive;
+
+    /**
+     * Creates the service that logs in as the case worker user through the given {@link IdamClient}.
+     * @param idamClient used to log in as the case worker user
+     * @param meterRegistry registry the token cache and refresh counters are published to
+     */
+    @Autowired
+    public AdminUserService(IdamClient idamClient, MeterRegistry meterRegistry) {
+        this(idamClient, meterRegistry, Clock.systemUTC());
+    }
+
+    AdminUserService(IdamClient idamClient, MeterRegistry meterRegistry, Clock clock) {
+        this.idamClient = idamClient;
+        this.clock = clock;
+        this.cachedTokenCounter = meterRegistry.counter(TOKEN_REQUESTS_METRIC, "source", "cache");
+        this.refreshSuccessCounter = meterRegistry.counter(TOKEN_REFRESHES_METRIC, "outcome", "success");
+        this.refreshFailureCounter = meterRegistry.counter(TOKEN_REFRESHES_METRIC, "outcome", "failure");
+    }
+
+    /**
+     * Returns the access token of the case worker user, logging in to IDAM only when there is no token or the
+     * current one is about to expire.
+     * @return access token of the case worker user prefixed with {@link #BEARER}
+     */
     public String getAdminUserToken() {
-        String adminAccessToken = idamClient.getAccessToken(apiCallUserName, apiCallUserPassword);
+        AdminToken currentToken = adminToken.get();
+        if (currentToken != null && currentToken.isFreshAt(clock.instant())) {
+            cachedTokenCounter.increment();
+            return currentToken.value();
+        }
+        refreshLock.lock();
+        try {
+            currentToken = adminToken.get();
+            Instant now = clock.instant();
+            if (currentToken != null && currentToken.isFreshAt(now)) {
+                cachedTokenCounter.increment();
+                return currentToken.value();
+            }
+            return refreshToken(currentToken, now);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private String refreshToken(AdminToken currentToken, Instant now) {
+        try {
+            String adminAccessToken = withBearer(idamClient.getAccessToken(apiCallUserName, apiCallUserPassword));
+            Instant expiresAt = getExpiry(adminAccessToken, now);
+            adminToken.set(new AdminToken(adminAccessToken, expiresAt, getRefreshTime(now, expiresAt)));
+            refreshSuccessCounter.increment();
+            return adminAccessToken;
+        } catch (RuntimeException e) {
+            refreshFailureCounter.increment();
+            if (currentToken != null && currentToken.isValidAt(now)) {
+                log.warn("Failed to refresh admin user token, using current token until it expires: {}",
+                         e.getMessage());
+                return currentToken.value();
+            }
+            throw e;
+        }
+    }
+
+    private Instant getExpiry(String adminAccessToken, Instant now) {
+        try {
+            Date expirationTime = JWTParser.parse(StringUtils.removeStart(adminAccessToken, BEARER + " "))
+                .getJWTClaimsSet().getExpirationTime();
+            if (expirationTime != null && expirationTime.toInstant().isAfter(now)) {
+                return expirationTime.toInstant();
+            }
+        } catch (ParseException e) {
+            log.info("Admin user token is not a jwt, expiring it after {}", defaultTimeToLive);
+        }
+        return now.plus(defaultTimeToLive);
+    }
+
+    private Instant getRefreshTime(Instant now, Instant expiresAt) {
+        // Tokens living shorter than twice the refresh-ahead window are refreshed half way through their lifetime
+        Duration halfLifetime = Duration.between(now, expiresAt).dividedBy(2);
+        return expiresAt.minus(refreshAhead.compareTo(halfLifetime) > 0 ? halfLifetime : refreshAhead);
+    }
+
+    private static String withBearer(String adminAccessToken) {
         if (StringUtils.contains(adminAccessToken, BEARER)) {
             return adminAccessToken;
         }
         return String.join(" ", BEARER, adminAccessToken);
     }
+
+    private record AdminToken(String value, Instant expiresAt, Instant refreshAt) {
+        boolean isFreshAt(Instant instant) {
+            return instant.isBefore(refreshAt);
+        }
+
+        boolean isValidAt(Instant instant) {
+            return instant.isBefore(expiresAt);
+        }
+    }
 }
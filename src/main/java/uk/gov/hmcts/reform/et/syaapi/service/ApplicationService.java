@@ -17,6 +17,7 @@ import uk.gov.hmcts.reform.ccd.client.model.CaseDataContent;
 import uk.gov.hmcts.reform.ccd.client.model.CaseDetails;
 import uk.gov.hmcts.reform.ccd.client.model.StartEventResponse;
 import uk.gov.hmcts.reform.et.syaapi.enums.CaseEvent;
+import uk.gov.hmcts.reform.et.syaapi.helper.CaseDataView;
 import uk.gov.hmcts.reform.et.syaapi.helper.CaseDetailsConverter;
 import uk.gov.hmcts.reform.et.syaapi.helper.EmployeeObjectMapper;
 import uk.gov.hmcts.reform.et.syaapi.helper.NotificationsHelper;
@@ -47,6 +48,7 @@ public class ApplicationService {
     public static final String WEEKS_78 = "78 weeks";
 
     private static final String TSE_FILENAME = "Contact the tribunal";
+    private static final String GENERIC_TSE_APPLICATION_COLLECTION = "genericTseApplicationCollection";
 
     private final CaseService caseService;
     private final NotificationService notificationService;
@@ -66,6 +68,15 @@ public class ApplicationService {
         return caseData.getGenericTseApplicationCollection().size() + 1;
     }
 
+    /**
+     * Get the next application number for the case, without converting its applications.
+     * @param caseData - view over the case data
+     * @return the next application number
+     */
+    public static int getNextApplicationNumber(CaseDataView caseData) {
+        return caseData.sizeOf(GENERIC_TSE_APPLICATION_COLLECTION) + 1;
+    }
+
     /**
      * Submit Claimant Application to Tell Something Else.
      *
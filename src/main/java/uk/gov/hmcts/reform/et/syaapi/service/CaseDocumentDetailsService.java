@@ -0,0 +1,197 @@
+package uk.gov.hmcts.reform.et.syaapi.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import uk.gov.hmcts.reform.et.syaapi.config.VirtualThreadExecutors;
+import uk.gov.hmcts.reform.et.syaapi.config.interceptors.ResourceNotFoundException;
+import uk.gov.hmcts.reform.et.syaapi.models.CaseDocument;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+
+/**
+ * Looks up the details of documents held by the Case Document API for the flows that list the documents of cases
+ * with the service's own token, e.g. the documents shown to ACAS. Only the details that do not change once a document
+ * is stored, such as its name, type and size, are cached by document id, along with the date the document was last
+ * modified. That date changes whenever the metadata of the document is updated, so it is kept for a much shorter time
+ * and a document is looked up again as soon as it expires. The other details, e.g. the classification or the
+ * metadata, are never returned. Documents missing from the cache are looked up concurrently, with a cap on the number
+ * of lookups in flight for a single request.
+ * This relies upon the following configurations to be set at an environment level:
+ * <ul>
+ *   <li>CASE_DOCUMENT_AM_DETAILS_CACHE_MAX_SIZE</li>
+ *   <li>CASE_DOCUMENT_AM_DETAILS_CACHE_TTL</li>
+ *   <li>CASE_DOCUMENT_AM_DETAILS_CACHE_MODIFIED_ON_TTL</li>
+ *   <li>CASE_DOCUMENT_AM_DETAILS_POOL_SIZE</li>
+ *   <li>CASE_DOCUMENT_AM_DETAILS_CONCURRENCY</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@SuppressWarnings({"PMD.DoNotUseThreads"})
+public class CaseDocumentDetailsService {
+
+    static final String DOCUMENT_METADATA_CACHE_NAME = "cdam.document-metadata";
+    static final String DOCUMENT_MODIFIED_ON_CACHE_NAME = "cdam.document-modified-on";
+    private static final String LOOKUP_THREAD_NAME_PREFIX = "cdam-details-";
+
+    private final CaseDocumentService caseDocumentService;
+    private final Cache<UUID, CaseDocument> documentMetadata;
+    private final Cache<UUID, String> documentModifiedOn;
+    private final Executor lookupExecutor;
+    private final int lookupConcurrency;
+
+    /**
+     * Creates the service with the bounds of the caches and of the concurrent lookups.
+     *
+     * @param caseDocumentService  service calling the Case Document API
+     * @param meterRegistry        registry the cache hit ratios and sizes are published to
+     * @param maximumSize          maximum number of documents whose details are cached
+     * @param timeToLive           how long the details of a document that do not change are cached
+     * @param modifiedOnTimeToLive how long the date a document was last modified is cached
+     * @param poolSize             the number of threads looking up documents, shared by all the requests
+     * @param concurrency          the maximum number of documents looked up at once for a request
+     * @param virtualThreads       whether the documents are looked up on virtual threads, when the JVM supports them
+     */
+    @Autowired
+    public CaseDocumentDetailsService(CaseDocumentService caseDocumentService,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${case_document_am.details-cache.maximum-size:10000}") long maximumSize,
+                                      @Value("${case_document_am.details-cache.time-to-live:PT10M}")
+                                      Duration timeToLive,
+                                      @Value("${case_document_am.details-cache.modified-on-time-to-live:PT30S}")
+                                      Duration modifiedOnTimeToLive,
+                                      @Value("${case_document_am.details.pool-size:16}") int poolSize,
+                                      @Value("${case_document_am.details.concurrency:8}") int concurrency,
+                                      @Value("${virtual-threads.enabled:false}") boolean virtualThreads) {
+        this(caseDocumentService, meterRegistry, maximumSize, timeToLive, modifiedOnTimeToLive,
+             VirtualThreadExecutors.newTaskExecutor(LOOKUP_THREAD_NAME_PREFIX, poolSize, 0, virtualThreads),
+             concurrency);
+    }
+
+    CaseDocumentDetailsService(CaseDocumentService caseDocumentService, MeterRegistry meterRegistry,
+                               long maximumSize, Duration timeToLive, Duration modifiedOnTimeToLive,
+                               Executor lookupExecutor, int concurrency) {
+        this.caseDocumentService = caseDocumentService;
+        this.documentMetadata = newCache(maximumSize, timeToLive);
+        this.documentModifiedOn = newCache(maximumSize, modifiedOnTimeToLive);
+        GuavaCacheMetrics.monitor(meterRegistry, documentMetadata, DOCUMENT_METADATA_CACHE_NAME);
+        GuavaCacheMetrics.monitor(meterRegistry, documentModifiedOn, DOCUMENT_MODIFIED_ON_CACHE_NAME);
+        this.lookupExecutor = lookupExecutor;
+        this.lookupConcurrency = Math.max(1, concurrency);
+    }
+
+    private static <V> Cache<UUID, V> newCache(long maximumSize, Duration timeToLive) {
+        return CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive.toMillis(), TimeUnit.MILLISECONDS)
+            .recordStats()
+            .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        VirtualThreadExecutors.shutdown(lookupExecutor);
+    }
+
+    /**
+     * Returns the details of the given documents, from the cache when they were looked up recently. Only the details
+     * that do not change once a document is stored and the date the document was last modified are returned.
+     *
+     * @param authToken   the service's bearer token used to look up the documents
+     * @param documentIds the ids of the documents
+     * @return the details of each document found, by document id, in the order of the given ids
+     * @throws ResourceNotFoundException if the Case Document API does not know one of the documents
+     */
+    public Map<UUID, CaseDocument> getDocumentDetails(String authToken, Collection<UUID> documentIds) {
+        Map<UUID, CaseDocument> details = new LinkedHashMap<>();
+        Map<UUID, CompletableFuture<CaseDocument>> lookups = new LinkedHashMap<>();
+        Semaphore lookupPermits = new Semaphore(lookupConcurrency);
+        for (UUID documentId : new LinkedHashSet<>(documentIds)) {
+            CaseDocument cached = getCachedDetails(documentId);
+            if (cached == null) {
+                lookups.put(documentId, startLookup(lookupPermits, authToken, documentId));
+            }
+            details.put(documentId, cached);
+        }
+
+        lookups.forEach((documentId, lookup) -> {
+            CaseDocument caseDocument = join(lookup);
+            details.put(documentId, caseDocument == null ? null : cacheDetails(documentId, caseDocument));
+        });
+        details.values().removeIf(Objects::isNull);
+        return details;
+    }
+
+    private CaseDocument getCachedDetails(UUID documentId) {
+        CaseDocument metadata = documentMetadata.getIfPresent(documentId);
+        String modifiedOn = documentModifiedOn.getIfPresent(documentId);
+        return metadata == null || modifiedOn == null ? null : details(metadata, modifiedOn);
+    }
+
+    private CaseDocument cacheDetails(UUID documentId, CaseDocument caseDocument) {
+        documentMetadata.put(documentId, details(caseDocument, null));
+        if (caseDocument.getModifiedOn() != null) {
+            documentModifiedOn.put(documentId, caseDocument.getModifiedOn());
+        }
+        return details(caseDocument, caseDocument.getModifiedOn());
+    }
+
+    /*
+     * Copies the details of a document that do not change once it is stored, so that the cached details cannot be
+     * changed by the callers.
+     */
+    private static CaseDocument details(CaseDocument caseDocument, String modifiedOn) {
+        return CaseDocument.builder()
+            .size(caseDocument.getSize())
+            .mimeType(caseDocument.getMimeType())
+            .originalDocumentName(caseDocument.getOriginalDocumentName())
+            .hashToken(caseDocument.getHashToken())
+            .createdOn(caseDocument.getCreatedOn())
+            .createdBy(caseDocument.getCreatedBy())
+            .modifiedOn(modifiedOn)
+            .build();
+    }
+
+    private CompletableFuture<CaseDocument> startLookup(Semaphore lookupPermits, String authToken, UUID documentId) {
+        try {
+            lookupPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(
+                new IllegalStateException("Interrupted before looking up document " + documentId, e));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return caseDocumentService.getDocumentDetails(authToken, documentId).getBody();
+            } finally {
+                lookupPermits.release();
+            }
+        }, lookupExecutor);
+    }
+
+    private static CaseDocument join(CompletableFuture<CaseDocument> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+        }
+    }
+}
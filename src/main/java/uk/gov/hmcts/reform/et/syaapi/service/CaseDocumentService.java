@@ -2,6 +2,8 @@ package uk.gov.hmcts.reform.et.syaapi.service;
 
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpEntity;
@@ -25,23 +27,33 @@ import uk.gov.hmcts.et.common.model.ccd.items.DocumentTypeItem;
 import uk.gov.hmcts.et.common.model.ccd.types.DocumentType;
 import uk.gov.hmcts.et.common.model.ccd.types.UploadedDocumentType;
 import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.et.syaapi.config.VirtualThreadExecutors;
 import uk.gov.hmcts.reform.et.syaapi.config.interceptors.ResourceNotFoundException;
 import uk.gov.hmcts.reform.et.syaapi.models.CaseDocument;
 
-import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletResponse;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE;
 import static uk.gov.hmcts.ecm.common.model.helper.DocumentConstants.ACAS_CERTIFICATE;
 import static uk.gov.hmcts.ecm.common.model.helper.DocumentConstants.ET1;
 import static uk.gov.hmcts.ecm.common.model.helper.DocumentConstants.TYPE_OF_DOCUMENT;
 import static uk.gov.hmcts.reform.ccd.client.model.Classification.PUBLIC;
+import static uk.gov.hmcts.reform.et.syaapi.config.RestTemplateConfiguration.CASE_DOCUMENT_REST_TEMPLATE;
 import static uk.gov.hmcts.reform.et.syaapi.constants.DocumentCategoryConstants.ACAS_DOC_CATEGORY;
 import static uk.gov.hmcts.reform.et.syaapi.constants.DocumentCategoryConstants.ET1_PDF_DOC_CATEGORY;
 import static uk.gov.hmcts.reform.et.syaapi.constants.EtSyaConstants.ET1_ATTACHMENT;
@@ -52,28 +64,46 @@ import static uk.gov.hmcts.reform.et.syaapi.constants.EtSyaConstants.RESOURCE_NO
  * CaseDocumentService provides access to the document upload service API, used to upload documents that are
  * associated to a specific case record held in CCD.
  * <p/>
+ * The files of a submitted case are uploaded concurrently on a shared pool, or on virtual threads when they are
+ * enabled, with a limit on the number of uploads running at once for each case.
+ * <p/>
  * This relies upon the following configurations to be set at an environment level:
  * <ul>
  *     <li>CASE_DOCUMENT_AM_URL</li>
  *     <li>CASE_DOCUMENT_AM_MAX_RETRIES</li>
+ *     <li>CASE_DOCUMENT_AM_UPLOAD_POOL_SIZE</li>
+ *     <li>CASE_DOCUMENT_AM_UPLOAD_CONCURRENCY</li>
+ *     <li>VIRTUAL_THREADS_ENABLED</li>
  * </ul>
  */
 @Slf4j
 @Service
-@SuppressWarnings({"PMD.TooManyMethods", "PMD.ExcessiveImports"})
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.ExcessiveImports", "PMD.DoNotUseThreads"})
 public class CaseDocumentService {
     private static final String SERVICE_AUTHORIZATION = "ServiceAuthorization";
     private static final String DOCUMENT_UUID_REGEX_PATTERN =
         "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$";
+    private static final Pattern DOCUMENT_UUID_PATTERN = Pattern.compile(DOCUMENT_UUID_REGEX_PATTERN);
     private static final String FILE_NAME_REGEX_PATTERN =
         "^(?!\\.)[^\\|*\\?\\:<>\\/$\"]{1,150}$";
     private static final Pattern FILE_NAME_PATTERN = Pattern.compile(FILE_NAME_REGEX_PATTERN);
     private static final String UPLOAD_FILE_EXCEPTION_MESSAGE = "Document management failed uploading file: ";
     private static final String VALIDATE_FILE_EXCEPTION_MESSAGE = "File does not pass validation";
+    private static final String UPLOAD_THREAD_NAME_PREFIX = "cdam-upload-";
+    private static final List<String> FORWARDED_DOWNLOAD_REQUEST_HEADERS =
+        List.of(HttpHeaders.RANGE, HttpHeaders.IF_RANGE);
+    private static final List<String> FORWARDED_DOWNLOAD_RESPONSE_HEADERS =
+        List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_RANGE,
+                HttpHeaders.ACCEPT_RANGES, HttpHeaders.CONTENT_DISPOSITION, HttpHeaders.ETAG,
+                HttpHeaders.LAST_MODIFIED);
+    private static final List<String> FORWARDED_RANGE_NOT_SATISFIABLE_HEADERS =
+        List.of(HttpHeaders.CONTENT_RANGE, HttpHeaders.ACCEPT_RANGES);
     private final Integer maxApiRetries;
     private final RestTemplate restTemplate;
     private final AuthTokenGenerator authTokenGenerator;
     private final String caseDocApiUrl;
+    private final Executor uploadExecutor;
+    private final int uploadConcurrency;
 
     /**
      * Default constructor with injected parameters.
@@ -82,16 +112,38 @@ public class CaseDocumentService {
      * @param authTokenGenerator the {@link AuthTokenGenerator} used to generate tokens for communicating with the
      *                           Case Document API
      * @param caseDocApiUrl      the URL to call the Case Document API
+     * @param maxApiRetries      the number of times a failed upload is retried
+     * @param uploadPoolSize     the number of threads uploading files, shared by all the cases
+     * @param uploadConcurrency  the maximum number of files of a case uploaded at once
+     * @param virtualThreads     whether the files are uploaded on virtual threads, when the JVM supports them
      */
-    public CaseDocumentService(RestTemplate restTemplate,
+    @Autowired
+    public CaseDocumentService(@Qualifier(CASE_DOCUMENT_REST_TEMPLATE) RestTemplate restTemplate,
                                AuthTokenGenerator authTokenGenerator,
                                @Value("${case_document_am.url}")
                                String caseDocApiUrl,
-                               @Value("${case_document_am.max_retries}") Integer maxApiRetries) {
+                               @Value("${case_document_am.max_retries}") Integer maxApiRetries,
+                               @Value("${case_document_am.upload.pool-size:16}") int uploadPoolSize,
+                               @Value("${case_document_am.upload.concurrency:4}") int uploadConcurrency,
+                               @Value("${virtual-threads.enabled:false}") boolean virtualThreads) {
+        this(restTemplate, authTokenGenerator, caseDocApiUrl, maxApiRetries,
+             VirtualThreadExecutors.newTaskExecutor(UPLOAD_THREAD_NAME_PREFIX, uploadPoolSize, 0, virtualThreads),
+             uploadConcurrency);
+    }
+
+    CaseDocumentService(RestTemplate restTemplate, AuthTokenGenerator authTokenGenerator, String caseDocApiUrl,
+                        Integer maxApiRetries, Executor uploadExecutor, int uploadConcurrency) {
         this.restTemplate = restTemplate;
         this.authTokenGenerator = authTokenGenerator;
         this.caseDocApiUrl = caseDocApiUrl;
         this.maxApiRetries = maxApiRetries;
+        this.uploadExecutor = uploadExecutor;
+        this.uploadConcurrency = Math.max(1, uploadConcurrency);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        VirtualThreadExecutors.shutdown(uploadExecutor);
     }
 
     /**
@@ -146,6 +198,66 @@ public class CaseDocumentService {
 
     }
 
+    /**
+     * Streams the content of the given document id to the response. The body returned by the Case Document API is
+     * copied to the response as it is received, through a fixed size buffer, so the document is never held in memory.
+     * Range requests are forwarded so that clients can resume partial downloads, and the status, length, type and
+     * range of the content are passed back.
+     *
+     * @param authToken      the caller's bearer token used to verify the caller
+     * @param documentId     the id of the document
+     * @param requestHeaders the headers of the download request, of which Range and If-Range are forwarded
+     * @param response       the response the document is written to
+     * @throws ResourceNotFoundException if the target API returns 404 response code
+     */
+    public void streamDocument(String authToken, UUID documentId, HttpHeaders requestHeaders,
+                               HttpServletResponse response) {
+        log.info("Called streamDocument");
+        try {
+            restTemplate.execute(
+                caseDocApiUrl + "/cases/documents/" + documentId + "/binary",
+                HttpMethod.GET,
+                request -> {
+                    request.getHeaders().add(HttpHeaders.AUTHORIZATION, authToken);
+                    request.getHeaders().add(SERVICE_AUTHORIZATION, authTokenGenerator.generate());
+                    forwardHeaders(requestHeaders, FORWARDED_DOWNLOAD_REQUEST_HEADERS, request.getHeaders()::add);
+                },
+                documentResponse -> {
+                    response.setStatus(documentResponse.getRawStatusCode());
+                    forwardHeaders(documentResponse.getHeaders(), FORWARDED_DOWNLOAD_RESPONSE_HEADERS,
+                                   response::addHeader);
+                    documentResponse.getBody().transferTo(response.getOutputStream());
+                    return null;
+                }
+            );
+        } catch (HttpClientErrorException ex) {
+            if (NOT_FOUND.equals(ex.getStatusCode())) {
+                throw new ResourceNotFoundException(String.format(RESOURCE_NOT_FOUND,
+                                                                  documentId, ex.getMessage()
+                ), ex);
+            }
+            if (REQUESTED_RANGE_NOT_SATISFIABLE.equals(ex.getStatusCode())) {
+                // No body is written, so only the range of the document is passed back and not its length or type
+                response.setStatus(ex.getRawStatusCode());
+                forwardHeaders(ex.getResponseHeaders(), FORWARDED_RANGE_NOT_SATISFIABLE_HEADERS, response::addHeader);
+                return;
+            }
+            throw ex;
+        }
+    }
+
+    private static void forwardHeaders(HttpHeaders from, List<String> headerNames, BiConsumer<String, String> to) {
+        if (from == null) {
+            return;
+        }
+        for (String headerName : headerNames) {
+            List<String> values = from.get(headerName);
+            if (values != null) {
+                values.forEach(value -> to.accept(headerName, value));
+            }
+        }
+    }
+
     /**
      * Returns document details of the given document id.
      *
@@ -196,7 +308,7 @@ public class CaseDocumentService {
         throws CaseDocumentException {
         try {
             return uploadDocumentToCaseDocumentApi(authToken, caseTypeId, file).getBody();
-        } catch (IOException | RestClientException e) {
+        } catch (RestClientException e) {
             if (attempts < maxApiRetries) {
                 return attemptWithRetriesToUploadDocumentToCaseDocumentApi(
                     attempts + 1, authToken, caseTypeId, file);
@@ -208,7 +320,7 @@ public class CaseDocumentService {
     private ResponseEntity<DocumentUploadResponse> uploadDocumentToCaseDocumentApi(String authToken,
                                                                                    String caseTypeId,
                                                                                    MultipartFile file)
-        throws IOException, CaseDocumentException {
+        throws CaseDocumentException {
         validateFile(file);
 
         MultiValueMap<String, Object> body = generateUploadRequest(caseTypeId, file);
@@ -259,16 +371,11 @@ public class CaseDocumentService {
     }
 
     private MultiValueMap<String, Object> generateUploadRequest(String caseTypeId,
-                                                                MultipartFile file) throws IOException {
-        ByteArrayResource fileAsResource = new ByteArrayResource(file.getBytes()) {
-            @Override
-            public String getFilename() {
-                return file.getOriginalFilename();
-            }
-        };
-
+                                                                MultipartFile file) {
         MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-        body.add("files", fileAsResource);
+        // The resource reads the file from the temporary file the servlet container spooled it to, through a fixed
+        // size buffer, and opens a new stream on each read so that a failed upload can be retried
+        body.add("files", file.getResource());
         body.add("classification", PUBLIC.toString());
         body.add("caseTypeId", caseTypeId);
         body.add("jurisdictionId", JURISDICTION_ID);
@@ -292,14 +399,16 @@ public class CaseDocumentService {
 
     /**
      * Accepts all files for a given case as a list of {@link PdfDecodedMultipartFile} and uploads them.
-     * Files are uploaded one at a file via this service and then returned as a list of {@link DocumentTypeItem}
+     * Files are uploaded concurrently, at most the configured number at once, and then returned as a list of
+     * {@link DocumentTypeItem} in the order of the files. All the files are attempted even when some of them fail.
      *
      * @param authToken                jwt token used to call this service
      * @param caseType                 defines the jurisdiction of the case e.g. ET_EnglandWales
      * @param pdfDecodedMultipartFiles The pdf files that are generated for the case upon submittion
      * @param acasCertificates         The acas certificates that are converted to pdf format for a case
      * @return a complete list of each successfully uploaded file passed to the function
-     * @throws CaseDocumentException thrown if there is an error encounted whilst uploading a file
+     * @throws CaseDocumentUploadException thrown if any file could not be uploaded, with the documents that were
+     *                                     uploaded and the error of each file that was not
      */
     public List<DocumentTypeItem> uploadAllDocuments(String authToken,
                                                      String caseType,
@@ -307,16 +416,11 @@ public class CaseDocumentService {
                                                      List<PdfDecodedMultipartFile> acasCertificates,
                                                      CaseData caseData)
         throws CaseDocumentException {
-        List<DocumentTypeItem> documentTypeItems = new ArrayList<>();
+        Semaphore uploadPermits = new Semaphore(uploadConcurrency);
+        List<DocumentUpload> uploads = new ArrayList<>();
         if (pdfDecodedMultipartFiles != null) {
             for (PdfDecodedMultipartFile casePdf : pdfDecodedMultipartFiles) {
-                documentTypeItems.add(createDocumentTypeItem(
-                    authToken,
-                    caseType,
-                    ET1,
-                    ET1_PDF_DOC_CATEGORY,
-                    casePdf
-                ));
+                uploads.add(startUpload(uploadPermits, authToken, caseType, ET1, ET1_PDF_DOC_CATEGORY, casePdf));
             }
         }
 
@@ -328,23 +432,67 @@ public class CaseDocumentService {
                     + caseData.getClaimantIndType().getClaimantFirstNames()
                     + " "
                     + caseData.getClaimantIndType().getClaimantLastName());
-            documentTypeItems.add(createDocumentTypeItem(
+            uploads.add(new DocumentUpload(ET1_ATTACHMENT, CompletableFuture.completedFuture(createDocumentTypeItem(
                 ET1_ATTACHMENT,
                 caseData.getClaimantRequests().getClaimDescriptionDocument()
-            ));
+            ))));
         }
 
         if (acasCertificates != null) {
             for (PdfDecodedMultipartFile acasCertificate : acasCertificates) {
-                documentTypeItems.add(createDocumentTypeItem(
-                    authToken,
-                    caseType,
-                    ACAS_CERTIFICATE,
-                    ACAS_DOC_CATEGORY,
-                    acasCertificate
-                ));
+                uploads.add(startUpload(uploadPermits, authToken, caseType, ACAS_CERTIFICATE, ACAS_DOC_CATEGORY,
+                                        acasCertificate));
+            }
+        }
+        return awaitUploads(uploads);
+    }
+
+    private DocumentUpload startUpload(Semaphore uploadPermits, String authToken, String caseType,
+                                       String documentType, String categoryId, PdfDecodedMultipartFile file) {
+        try {
+            uploadPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new DocumentUpload(file.getOriginalFilename(), CompletableFuture.failedFuture(
+                new CaseDocumentException("Interrupted before uploading file", e)));
+        }
+        CompletableFuture<DocumentTypeItem> upload;
+        try {
+            upload = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return createDocumentTypeItem(authToken, caseType, documentType, categoryId, file);
+                } catch (CaseDocumentException e) {
+                    throw new CompletionException(e);
+                } finally {
+                    uploadPermits.release();
+                }
+            }, uploadExecutor);
+        } catch (RejectedExecutionException e) {
+            uploadPermits.release();
+            upload = CompletableFuture.failedFuture(new CaseDocumentException("Unable to start uploading file", e));
+        }
+        return new DocumentUpload(file.getOriginalFilename(), upload);
+    }
+
+    private static List<DocumentTypeItem> awaitUploads(List<DocumentUpload> uploads) throws CaseDocumentException {
+        List<DocumentTypeItem> documentTypeItems = new ArrayList<>();
+        List<String> failedFileNames = new ArrayList<>();
+        List<CaseDocumentException> failures = new ArrayList<>();
+        for (DocumentUpload upload : uploads) {
+            try {
+                documentTypeItems.add(upload.result().join());
+            } catch (CompletionException e) {
+                if (!(e.getCause() instanceof CaseDocumentException caseDocumentException)) {
+                    throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+                }
+                log.error("Failed to upload case document {}", upload.fileName(), caseDocumentException);
+                failedFileNames.add(upload.fileName());
+                failures.add(caseDocumentException);
             }
         }
+        if (!failures.isEmpty()) {
+            throw new CaseDocumentUploadException(documentTypeItems, failedFileNames, failures);
+        }
         return documentTypeItems;
     }
 
@@ -459,11 +607,18 @@ public class CaseDocumentService {
     }
 
     public UUID getDocumentUuid(String url) {
-        Pattern pattern = Pattern.compile(DOCUMENT_UUID_REGEX_PATTERN);
-        Matcher matcher = pattern.matcher(url);
+        Matcher matcher = DOCUMENT_UUID_PATTERN.matcher(url);
         if (matcher.find()) {
             return UUID.fromString(matcher.group());
         }
         return null;
     }
+
+    /**
+     * Upload of one file of a case, which may still be running.
+     * @param fileName name of the file
+     * @param result the document created for the file once uploaded
+     */
+    private record DocumentUpload(String fileName, CompletableFuture<DocumentTypeItem> result) {
+    }
 }
@@ -0,0 +1,54 @@
+package uk.gov.hmcts.reform.et.syaapi.service;
+
+import uk.gov.hmcts.et.common.model.ccd.items.DocumentTypeItem;
+
+import java.util.List;
+
+/**
+* Is thrown when some of the files of a case could not be uploaded to the document service. It carries the documents
+* that were uploaded and the names of the files that were not; the error of each file is added as a suppressed
+* exception.
+*/
+public class CaseDocumentUploadException extends CaseDocumentException {
+
+    private static final long serialVersionUID = 4721384612036475821L;
+
+    private final transient List<DocumentTypeItem> uploadedDocuments;
+    private final List<String> failedFileNames;
+
+    /**
+     * Creates an {@link CaseDocumentUploadException} with the outcome of each file.
+     *
+     * @param uploadedDocuments the documents that were uploaded, in the order of their files
+     * @param failedFileNames   the names of the files that were not uploaded, in their order
+     * @param failures          the error of each file that was not uploaded, in the same order
+     */
+    public CaseDocumentUploadException(List<DocumentTypeItem> uploadedDocuments,
+                                       List<String> failedFileNames,
+                                       List<CaseDocumentException> failures) {
+        super("Failed to upload " + failedFileNames.size() + " of "
+                  + (uploadedDocuments.size() + failedFileNames.size()) + " case documents: "
+                  + String.join(", ", failedFileNames));
+        this.uploadedDocuments = List.copyOf(uploadedDocuments);
+        this.failedFileNames = List.copyOf(failedFileNames);
+        failures.forEach(this::addSuppressed);
+    }
+
+    /**
+     * Gets the documents that were uploaded.
+     *
+     * @return the documents that were uploaded, in the order of their files
+     */
+    public List<DocumentTypeItem> getUploadedDocuments() {
+        return uploadedDocuments;
+    }
+
+    /**
+     * Gets the names of the files that were not uploaded.
+     *
+     * @return the names of the files that were not uploaded, in their order
+     */
+    public List<String> getFailedFileNames() {
+        return failedFileNames;
+    }
+}
@@ -1,6 +1,6 @@
 package uk.gov.hmcts.reform.et.syaapi.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
@@ -26,6 +26,7 @@ import uk.gov.hmcts.reform.ccd.client.model.CaseDetails;
 import uk.gov.hmcts.reform.ccd.client.model.Event;
 import uk.gov.hmcts.reform.ccd.client.model.StartEventResponse;
 import uk.gov.hmcts.reform.et.syaapi.enums.CaseEvent;
+import uk.gov.hmcts.reform.et.syaapi.helper.CaseDataView;
 import uk.gov.hmcts.reform.et.syaapi.helper.CaseDetailsConverter;
 import uk.gov.hmcts.reform.et.syaapi.helper.EmployeeObjectMapper;
 import uk.gov.hmcts.reform.et.syaapi.helper.JurisdictionCodesMapper;
@@ -34,20 +35,15 @@ import uk.gov.hmcts.reform.et.syaapi.models.CaseRequest;
 import uk.gov.hmcts.reform.et.syaapi.models.RespondToApplicationRequest;
 import uk.gov.hmcts.reform.et.syaapi.service.pdf.PdfUploadService;
 import uk.gov.hmcts.reform.et.syaapi.service.utils.GenericServiceUtil;
-import uk.gov.hmcts.reform.idam.client.IdamClient;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Stream;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static uk.gov.hmcts.ecm.common.model.helper.Constants.SUBMITTED_STATE;
@@ -75,9 +71,11 @@ import static uk.gov.hmcts.reform.et.syaapi.enums.CaseEvent.UPDATE_CASE_SUBMITTE
 public class CaseService {
 
     public static final String DOCUMENT_COLLECTION = "documentCollection";
+    private static final String ETHOS_CASE_REFERENCE = "ethosCaseReference";
+    private static final TypeReference<List<DocumentTypeItem>> DOCUMENT_COLLECTION_TYPE = new TypeReference<>() {};
     private final AuthTokenGenerator authTokenGenerator;
     private final CoreCaseDataApi ccdApiClient;
-    private final IdamClient idamClient;
+    private final UserIdentityService userIdentityService;
     private final PostcodeToOfficeService postcodeToOfficeService;
     private final AcasService acasService;
     private final CaseDocumentService caseDocumentService;
@@ -87,6 +85,8 @@ public class CaseService {
     private final CaseOfficeService caseOfficeService;
     private static final String ALL_CASES_QUERY = "{\"size\":10000,\"query\":{\"match_all\": {}}}";
     private final FeatureToggleService featureToggleService;
+    private final CaseTypeFanOutService caseTypeFanOutService;
+    private final CaseDetailsConverter caseDetailsConverter;
 
     /**
      * Given a user derived from the authorisation token in the request,
@@ -99,21 +99,11 @@ public class CaseService {
     // covers all runtime exceptions.
     @Retryable
     protected List<CaseDetails> getAllUserCases(String authorization) {
-        // Elasticsearch
-        List<CaseDetails> scotlandCases = Optional.ofNullable(ccdApiClient.searchCases(
-            authorization,
-            authTokenGenerator.generate(),
-            SCOTLAND_CASE_TYPE,
-            ALL_CASES_QUERY).getCases()).orElse(Collections.emptyList());
-
-        // Elasticsearch
-        List<CaseDetails> englandCases = Optional.ofNullable(ccdApiClient.searchCases(
-            authorization,
-            authTokenGenerator.generate(),
-            ENGLAND_CASE_TYPE,
-            ALL_CASES_QUERY).getCases()).orElse(Collections.emptyList());
-        return Stream.of(scotlandCases, englandCases)
-            .flatMap(Collection::stream).toList();
+        String s2sToken = authTokenGenerator.generate();
+        // Elasticsearch, Scotland and England & Wales searched concurrently
+        return caseTypeFanOutService.searchAll(
+            List.of(SCOTLAND_CASE_TYPE, ENGLAND_CASE_TYPE),
+            caseTypeId -> ccdApiClient.searchCases(authorization, s2sToken, caseTypeId, ALL_CASES_QUERY).getCases());
     }
 
     /**
@@ -126,8 +116,8 @@ public class CaseService {
     @Retryable
     public CaseDetails createCase(String authorization,
                                   CaseRequest caseRequest) {
-        String s2sToken = authTokenGenerator.generate();
-        String userId = idamClient.getUserInfo(authorization).getUid();
+        String s2sToken = userIdentityService.getServiceAuthorisation();
+        String userId = userIdentityService.getUserInfo(authorization).getUid();
         String eventTypeName = INITIATE_CASE_DRAFT.name();
         String caseType = getCaseType(caseRequest);
         Et1CaseData data = new EmployeeObjectMapper().getEmploymentCaseData(caseRequest.getCaseData());
@@ -197,7 +187,7 @@ public class CaseService {
         // Assigning local office to case data
         CaseData caseData = caseOfficeService.convertCaseRequestToCaseDataWithTribunalOffice(caseRequest);
         // Getting user info from IDAM
-        UserInfo userInfo = idamClient.getUserInfo(authorization);
+        UserInfo userInfo = userIdentityService.getUserInfo(authorization);
         // Submitting the case to CCD, receiving caseDetails and setting ethosCaseReference,
         // receiptDate, feeGroupReference with the received details.
         CaseDetails caseDetails = triggerEventForSubmitCase(authorization, caseRequest);
@@ -248,6 +238,10 @@ public class CaseService {
                                     .uploadAllDocuments(authorization, caseRequest.getCaseTypeId(),
                                                         casePdfFiles, acasCertificates, caseData));
         } catch (CaseDocumentException cde) {
+            // Keep the documents that were uploaded before reporting the ones that were not
+            if (cde instanceof CaseDocumentUploadException partialUpload) {
+                documentList.addAll(partialUpload.getUploadedDocuments());
+            }
             // Send upload error alert email to shared inbox
             notificationService.sendDocUploadErrorEmail(caseRequest, casePdfFiles, acasCertificates,
                                                         caseData.getClaimantRequests().getClaimDescriptionDocument());
@@ -279,8 +273,6 @@ public class CaseService {
      */
     public CaseDetails triggerEvent(String authorization, String caseId, CaseEvent eventName,
                                     String caseType, Map<String, Object> caseData) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        CaseDetailsConverter caseDetailsConverter = new CaseDetailsConverter(objectMapper);
         StartEventResponse startEventResponse = startUpdate(authorization, caseId, caseType, eventName);
         CaseData caseData1 = EmployeeObjectMapper.convertCaseDataMapToCaseDataObject(caseData);
 
@@ -318,8 +310,6 @@ public class CaseService {
         caseData1.setClaimantPcqId(caseRequest.getCaseData().get("claimantPcqId") == null ? "" :
                                       caseRequest.getCaseData().get("claimantPcqId").toString());
         caseData1.setEt1OnlineSubmission(YES);
-        ObjectMapper objectMapper = new ObjectMapper();
-        CaseDetailsConverter caseDetailsConverter = new CaseDetailsConverter(objectMapper);
         try {
             return submitUpdate(
                 authorization,
@@ -351,8 +341,8 @@ public class CaseService {
      */
     public StartEventResponse startUpdate(String authorization, String caseId,
                                           String caseType, CaseEvent eventName) {
-        String s2sToken = authTokenGenerator.generate();
-        UserInfo userInfo = idamClient.getUserInfo(authorization);
+        String s2sToken = userIdentityService.getServiceAuthorisation();
+        UserInfo userInfo = userIdentityService.getUserInfo(authorization);
 
         return ccdApiClient.startEventForCitizen(
             authorization,
@@ -375,8 +365,8 @@ public class CaseService {
      */
     public CaseDetails submitUpdate(String authorization, String caseId,
                                     CaseDataContent caseDataContent, String caseType) {
-        UserInfo userInfo = idamClient.getUserInfo(authorization);
-        String s2sToken = authTokenGenerator.generate();
+        UserInfo userInfo = userIdentityService.getUserInfo(authorization);
+        String s2sToken = userIdentityService.getServiceAuthorisation();
         return ccdApiClient.submitEventForCitizen(
             authorization,
             s2sToken,
@@ -396,8 +386,8 @@ public class CaseService {
 
     void uploadTseSupportingDocument(CaseDetails caseDetails, UploadedDocumentType contactApplicationFile,
                                      String contactApplicationType) {
-        CaseData caseData = EmployeeObjectMapper.convertCaseDataMapToCaseDataObject(caseDetails.getData());
-        List<DocumentTypeItem> docList = caseData.getDocumentCollection();
+        CaseDataView caseData = new CaseDataView(caseDetails.getData());
+        List<DocumentTypeItem> docList = caseData.get(DOCUMENT_COLLECTION, DOCUMENT_COLLECTION_TYPE);
 
         if (docList == null) {
             docList = new ArrayList<>();
@@ -435,8 +425,8 @@ public class CaseService {
         String caseType
     ) throws DocumentGenerationException, CaseDocumentException {
 
-        CaseData caseData = EmployeeObjectMapper.convertCaseDataMapToCaseDataObject(caseDetails.getData());
-        List<DocumentTypeItem> docList = caseData.getDocumentCollection();
+        CaseDataView caseData = new CaseDataView(caseDetails.getData());
+        List<DocumentTypeItem> docList = caseData.get(DOCUMENT_COLLECTION, DOCUMENT_COLLECTION_TYPE);
 
         if (docList == null) {
             docList = new ArrayList<>();
@@ -448,7 +438,7 @@ public class CaseService {
                 .replace("/", " or "));
         PdfDecodedMultipartFile pdfDecodedMultipartFile =
             pdfUploadService.convertClaimantTseIntoMultipartFile(claimantTse,
-                                                                 caseData.getEthosCaseReference(),
+                                                                 caseData.get(ETHOS_CASE_REFERENCE, String.class),
                                                                  docName);
         String applicationDocMapping =
             DocumentHelper.claimantApplicationTypeToDocType(claimantTse.getContactApplicationType());
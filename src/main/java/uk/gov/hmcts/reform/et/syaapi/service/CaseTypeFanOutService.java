@@ -0,0 +1,177 @@
+package uk.gov.hmcts.reform.et.syaapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import uk.gov.hmcts.reform.et.syaapi.config.VirtualThreadExecutors;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import javax.annotation.PreDestroy;
+
+/**
+ * Runs the same search against several case types (e.g. ET_EnglandWales and ET_Scotland) concurrently, so that the
+ * caller waits for the slowest search rather than the sum of all of them. Results are returned in the order of the
+ * given case types, whatever order the searches complete in. The searches run on a bounded pool; when the pool is
+ * saturated the caller runs the search itself. Every fan-out has a deadline, given by the caller or else the configured
+ * timeout from now: searches that have not started by then are skipped and the caller stops waiting with a
+ * {@link HttpStatus#GATEWAY_TIMEOUT}. When virtual threads are enabled and supported, each search runs on its own
+ * virtual thread instead of the pool.
+ * This relies upon the following configurations to be set at an environment level:
+ * <ul>
+ *   <li>CCD_SEARCH_FAN_OUT_POOL_SIZE</li>
+ *   <li>CCD_SEARCH_FAN_OUT_QUEUE_CAPACITY</li>
+ *   <li>CCD_SEARCH_FAN_OUT_TIMEOUT</li>
+ *   <li>VIRTUAL_THREADS_ENABLED</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@SuppressWarnings({"PMD.DoNotUseThreads"})
+public class CaseTypeFanOutService {
+
+    private static final String THREAD_NAME_PREFIX = "ccd-search-";
+
+    private final Executor executor;
+    private final Duration timeout;
+
+    /**
+     * Creates the service with a dedicated bounded pool for the searches, or with virtual threads.
+     * @param poolSize number of threads running searches
+     * @param queueCapacity number of searches that can wait for a thread before callers run them themselves
+     * @param timeout how long a caller waits for all the searches of a fan-out, unless it gives its own deadline
+     * @param virtualThreads whether the searches run on virtual threads, when the JVM supports them
+     */
+    @Autowired
+    public CaseTypeFanOutService(@Value("${core_case_data.search.fan-out.pool-size:8}") int poolSize,
+                                 @Value("${core_case_data.search.fan-out.queue-capacity:100}") int queueCapacity,
+                                 @Value("${core_case_data.search.fan-out.timeout:PT30S}") Duration timeout,
+                                 @Value("${virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.executor = VirtualThreadExecutors.newTaskExecutor(THREAD_NAME_PREFIX, poolSize, queueCapacity,
+                                                               virtualThreads);
+        this.timeout = timeout;
+    }
+
+    CaseTypeFanOutService(Executor executor, Duration timeout) {
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Gets the deadline of a fan-out starting now, for callers that also give it to the searches they fan out, e.g.
+     * to page through the results of each search with {@link uk.gov.hmcts.reform.et.syaapi.search.CaseSearchPager}.
+     * @return the configured timeout from now
+     */
+    public Instant newDeadline() {
+        return Instant.now().plus(timeout);
+    }
+
+    /**
+     * Runs the search for each case type concurrently and returns the result of each search, waiting for the
+     * configured timeout at most.
+     * @param caseTypeIds case types to search, in the order the results are returned
+     * @param search search to run for a case type
+     * @param <T> type of the search result
+     * @return the result of each search, in the order of the given case types
+     */
+    public <T> List<T> searchEach(List<String> caseTypeIds, Function<String, T> search) {
+        return searchEach(caseTypeIds, search, newDeadline());
+    }
+
+    /**
+     * Runs the search for each case type concurrently and returns the result of each search, e.g. with the deadline
+     * of the request the searches are part of.
+     * @param caseTypeIds case types to search, in the order the results are returned
+     * @param search search to run for a case type
+     * @param deadline time by which all the searches must have completed
+     * @param <T> type of the search result
+     * @return the result of each search, in the order of the given case types
+     */
+    public <T> List<T> searchEach(List<String> caseTypeIds, Function<String, T> search, Instant deadline) {
+        List<CompletableFuture<T>> searches = caseTypeIds.stream()
+            .map(caseTypeId -> CompletableFuture.supplyAsync(() -> searchBefore(deadline, caseTypeId, search),
+                                                             executor))
+            .toList();
+        List<T> results = new ArrayList<>(searches.size());
+        try {
+            for (CompletableFuture<T> caseTypeSearch : searches) {
+                results.add(await(caseTypeSearch, deadline));
+            }
+        } finally {
+            searches.forEach(caseTypeSearch -> caseTypeSearch.cancel(false));
+        }
+        return results;
+    }
+
+    /**
+     * Runs the search for each case type concurrently and merges the returned lists, waiting for the configured
+     * timeout at most.
+     * @param caseTypeIds case types to search, in the order the results are merged
+     * @param search search to run for a case type, may return null when nothing is found
+     * @param <T> type of the items found
+     * @return the items found for all case types, in the order of the given case types
+     */
+    public <T> List<T> searchAll(List<String> caseTypeIds, Function<String, List<T>> search) {
+        return searchAll(caseTypeIds, search, newDeadline());
+    }
+
+    /**
+     * Runs the search for each case type concurrently and merges the returned lists, e.g. with the deadline of the
+     * request the searches are part of.
+     * @param caseTypeIds case types to search, in the order the results are merged
+     * @param search search to run for a case type, may return null when nothing is found
+     * @param deadline time by which all the searches must have completed
+     * @param <T> type of the items found
+     * @return the items found for all case types, in the order of the given case types
+     */
+    public <T> List<T> searchAll(List<String> caseTypeIds, Function<String, List<T>> search, Instant deadline) {
+        return searchEach(caseTypeIds, search, deadline).stream()
+            .filter(Objects::nonNull)
+            .flatMap(Collection::stream)
+            .toList();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        VirtualThreadExecutors.shutdown(executor);
+    }
+
+    private static <T> T searchBefore(Instant deadline, String caseTypeId, Function<String, T> search) {
+        if (Instant.now().isAfter(deadline)) {
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                                              "Search deadline passed before searching " + caseTypeId);
+        }
+        return search.apply(caseTypeId);
+    }
+
+    private static <T> T await(CompletableFuture<T> caseTypeSearch, Instant deadline) {
+        try {
+            long remainingMillis = Math.max(0, Duration.between(Instant.now(), deadline).toMillis());
+            return caseTypeSearch.get(remainingMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Case type search failed", e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("Case type search did not complete before the deadline");
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Case search timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for case type search", e);
+        }
+    }
+}
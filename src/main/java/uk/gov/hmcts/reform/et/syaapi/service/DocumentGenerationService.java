@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Data;
 import org.apache.logging.log4j.util.Strings;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -16,6 +17,8 @@ import uk.gov.hmcts.reform.et.syaapi.models.TornadoDocument;
 
 import java.util.Locale;
 
+import static uk.gov.hmcts.reform.et.syaapi.config.RestTemplateConfiguration.TORNADO_REST_TEMPLATE;
+
 /**
  * This is a service to generate documents given relevant data and the necessary template.
  * <p/>
@@ -58,7 +61,8 @@ public class DocumentGenerationService {
      * @param tornadoUrl       the Tornado URL endpoint to call to generate the document
      * @param tornadoAccessKey the access key Tornado will require for authentication
      */
-    public DocumentGenerationService(RestTemplate restTemplate, ObjectMapper objectMapper,
+    public DocumentGenerationService(@Qualifier(TORNADO_REST_TEMPLATE) RestTemplate restTemplate,
+                                     ObjectMapper objectMapper,
                                      @Value("${tornado.api.url}") String tornadoUrl,
                                      @Value("${tornado.api.key}") String tornadoAccessKey) {
         this.restTemplate = restTemplate;
@@ -1,6 +1,5 @@
 package uk.gov.hmcts.reform.et.syaapi.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
@@ -8,7 +7,6 @@ import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.et.common.model.ccd.CaseData;
-import uk.gov.hmcts.et.common.model.ccd.Et1CaseData;
 import uk.gov.hmcts.et.common.model.ccd.Et3Request;
 import uk.gov.hmcts.et.common.model.ccd.items.RespondentSumTypeItem;
 import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
@@ -25,16 +23,12 @@ import uk.gov.hmcts.reform.et.syaapi.search.ElasticSearchQueryBuilder;
 import uk.gov.hmcts.reform.et.syaapi.service.pdf.ET3FormService;
 import uk.gov.hmcts.reform.et.syaapi.service.utils.HubLinksUtil;
 import uk.gov.hmcts.reform.et.syaapi.service.utils.ResponseUtil;
-import uk.gov.hmcts.reform.idam.client.IdamClient;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Stream;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.springframework.beans.BeanUtils.copyProperties;
@@ -52,12 +46,12 @@ public class ET3Service {
     private final AdminUserService adminUserService;
     private final AuthTokenGenerator authTokenGenerator;
     private final CoreCaseDataApi ccdApi;
-    private final IdamClient idamClient;
+    private final UserIdentityService userIdentityService;
     private final CaseService caseService;
     private final ET3FormService et3FormService;
     private final NotificationService notificationService;
-    private static final String FIELD_NAME_SUBMISSION_REFERENCE = "reference.keyword";
-    private static final String FIELD_NAME_STATE = "state.keyword";
+    private final CaseTypeFanOutService caseTypeFanOutService;
+    private final CaseDetailsConverter caseDetailsConverter;
     private static final String STATE_VALUE_ACCEPTED = "Accepted";
 
     /**
@@ -84,16 +78,8 @@ public class ET3Service {
             throw new RuntimeException(ManageCaseRoleConstants.EXCEPTION_CASE_DETAILS_NOT_FOUND_EMPTY_PARAMETERS);
         }
 
-        String elasticSearchQuery = "{\"size\":1,\"query\":{\"bool\":{\"must\":[{\"match\":{\""
-            + FIELD_NAME_SUBMISSION_REFERENCE + "\":{\"query\":\"" + id + "\"}}},{\"match\""
-            + ":{\"" + FIELD_NAME_STATE +  "\":{\"query\":\"" + STATE_VALUE_ACCEPTED + "\"}}}],\"boost\":1.0}}}";
-        /*
-         new SearchSourceBuilder()
-        .size(1)
-        .query(new BoolQueryBuilder()
-        .must(new MatchQueryBuilder("reference.keyword", id))
-        .must(new MatchQueryBuilder("state.keyword", "Accepted"))).toString();
-        */
+        String elasticSearchQuery = ElasticSearchQueryBuilder.buildBySubmissionReferenceAndState(
+            id, STATE_VALUE_ACCEPTED);
         return getCaseDetails(elasticSearchQuery);
     }
 
@@ -158,44 +144,22 @@ public class ET3Service {
     }
 
     /**
-     * Updates case details with the new values for ET3 case assignment or ET3 updates.
+     * Updates case details with the new values for ET3 case assignment or ET3 updates. The given case data is sent to
+     * CCD as it is, without being converted back to a map.
      * @param authorisation authorisation token of the user
-     * @param startEventResponse start event response is the response that has the latest updated case details data
+     * @param startEventResponse start event response of the update, which has the event token and the case id
+     * @param caseData case data of the start event response with the ET3 updates
      * @return CaseDetails that has the latest modified case data.
      */
     public CaseDetails updateSubmittedCaseWithCaseDetailsForET3FormUpdates(String authorisation,
-                                                                           StartEventResponse startEventResponse) {
-        return triggerEvent(authorisation,
-                            startEventResponse.getCaseDetails().getId().toString(),
-                            startEventResponse,
-                            startEventResponse.getCaseDetails().getCaseTypeId(),
-                            startEventResponse.getCaseDetails().getData());
-    }
-
-    /**
-     * Given a caseId, initialization of trigger event to start and submit update for case.
-     *
-     * @param authorization      is used to seek the {@link UserInfo} for request
-     * @param caseId             used to retrieve get case details
-     * @param caseType           is used to determine if the case is for ET_EnglandWales or ET_Scotland
-     * @param startEventResponse is used to determine INITIATE_CASE_DRAFT or UPDATE_CASE_DRAFT
-     * @param caseData           is used to provide the {@link Et1CaseData} in json format
-     * @return the associated {@link CaseData} if the case is updated
-     */
-    public CaseDetails triggerEvent(String authorization, String caseId, StartEventResponse startEventResponse,
-                                    String caseType, Map<String, Object> caseData) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        CaseDetailsConverter caseDetailsConverter = new CaseDetailsConverter(objectMapper);
-        CaseData caseDataObject = EmployeeObjectMapper.convertCaseDataMapToCaseDataObject(caseData);
-        return caseService.submitUpdate(
-            authorization,
-            caseId,
-            caseDetailsConverter.et1ToCaseDataContent(startEventResponse, caseDataObject),
-            caseType
-        );
+                                                                           StartEventResponse startEventResponse,
+                                                                           CaseData caseData) {
+        return caseService.submitUpdate(authorisation,
+                                        startEventResponse.getCaseDetails().getId().toString(),
+                                        caseDetailsConverter.caseDataContent(startEventResponse, caseData),
+                                        startEventResponse.getCaseDetails().getCaseTypeId());
     }
 
-
     /**
      * Given a user derived from the authorisation token in the request,
      * this will get all cases {@link CaseDetails} for that user. This is implemented without elastic search
@@ -210,27 +174,21 @@ public class ET3Service {
     // covers all runtime exceptions.
     @Retryable
     protected List<CaseDetails> getAllUserCasesForET3(String authorization) {
-        UserInfo userInfo = idamClient.getUserInfo(authorization);
+        UserInfo userInfo = userIdentityService.getUserInfo(authorization);
         if (ObjectUtils.isEmpty(userInfo)) {
             log.info("Unable to get user info from idam for listing user cases");
             throw new ManageCaseRoleException(new Exception("Unable to get user info for listing user cases"));
         }
-        List<CaseDetails> englandCases = ccdApi.searchForCitizen(
-            authorization,
-            authTokenGenerator.generate(),
-            userInfo.getUid(),
-            EtSyaConstants.JURISDICTION_ID,
-            EtSyaConstants.ENGLAND_CASE_TYPE,
-            new HashMap<>());
-        List<CaseDetails> scotlandCases = ccdApi.searchForCitizen(
-            authorization,
-            authTokenGenerator.generate(),
-            userInfo.getUid(),
-            EtSyaConstants.JURISDICTION_ID,
-            EtSyaConstants.SCOTLAND_CASE_TYPE,
-            new HashMap<>());
-        return Stream.of(scotlandCases, englandCases)
-            .flatMap(Collection::stream).toList();
+        String s2sToken = authTokenGenerator.generate();
+        return caseTypeFanOutService.searchAll(
+            List.of(EtSyaConstants.SCOTLAND_CASE_TYPE, EtSyaConstants.ENGLAND_CASE_TYPE),
+            caseTypeId -> ccdApi.searchForCitizen(
+                authorization,
+                s2sToken,
+                userInfo.getUid(),
+                EtSyaConstants.JURISDICTION_ID,
+                caseTypeId,
+                new HashMap<>()));
     }
 
     @Retryable
@@ -249,7 +207,7 @@ public class ET3Service {
         HubLinksUtil.setLinkStatuses(caseData, selectedRespondent.getValue(), et3Request);
         if (MODIFICATION_TYPE_SUBMIT.equals(et3Request.getRequestType())) {
             if (isBlank(selectedRespondent.getValue().getResponseRespondentEmail())) {
-                UserInfo userInfo = idamClient.getUserInfo(authorisation);
+                UserInfo userInfo = userIdentityService.getUserInfo(authorisation);
                 selectedRespondent.getValue().setResponseRespondentEmail(userInfo.getSub());
             }
             et3FormService.generateET3WelshAndEnglishForms(authorisation, caseData, selectedRespondent);
@@ -258,7 +216,6 @@ public class ET3Service {
                                                          caseData,
                                                          caseDetails.getId().toString());
         }
-        caseDetails.setData(EmployeeObjectMapper.mapCaseDataToLinkedHashMap(caseData));
-        return updateSubmittedCaseWithCaseDetailsForET3FormUpdates(authorisation, startEventResponse);
+        return updateSubmittedCaseWithCaseDetailsForET3FormUpdates(authorisation, startEventResponse, caseData);
     }
 }
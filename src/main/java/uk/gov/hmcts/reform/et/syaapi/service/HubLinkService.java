@@ -3,12 +3,11 @@ package uk.gov.hmcts.reform.et.syaapi.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import uk.gov.hmcts.et.common.model.ccd.CaseData;
 import uk.gov.hmcts.reform.ccd.client.model.CaseDetails;
 import uk.gov.hmcts.reform.ccd.client.model.StartEventResponse;
 import uk.gov.hmcts.reform.et.syaapi.enums.CaseEvent;
+import uk.gov.hmcts.reform.et.syaapi.helper.CaseDataView;
 import uk.gov.hmcts.reform.et.syaapi.helper.CaseDetailsConverter;
-import uk.gov.hmcts.reform.et.syaapi.helper.EmployeeObjectMapper;
 import uk.gov.hmcts.reform.et.syaapi.models.HubLinksStatusesRequest;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 
@@ -16,6 +15,8 @@ import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 @RequiredArgsConstructor
 @Service
 public class HubLinkService {
+    private static final String HUB_LINKS_STATUSES = "hubLinksStatuses";
+
     private final CaseService caseService;
     private final CaseDetailsConverter caseDetailsConverter;
     private final FeatureToggleService featureToggleService;
@@ -41,9 +42,8 @@ public class HubLinkService {
                 CaseEvent.UPDATE_HUBLINK_STATUS
             );
 
-            CaseData caseData = EmployeeObjectMapper
-                .convertCaseDataMapToCaseDataObject(startEventResponse.getCaseDetails().getData());
-            caseData.setHubLinksStatuses(request.getHubLinksStatuses());
+            CaseDataView caseData = new CaseDataView(startEventResponse.getCaseDetails().getData());
+            caseData.set(HUB_LINKS_STATUSES, request.getHubLinksStatuses());
 
             return caseService.submitUpdate(
                 authorization,
@@ -57,7 +57,7 @@ public class HubLinkService {
             CaseDetails caseDetails = manageCaseRoleService.getUserCaseByCaseUserRole(authorization,
                                                                             request.getCaseId(),
                                                                             caseUserRole);
-            caseDetails.getData().put("hubLinksStatuses", request.getHubLinksStatuses());
+            caseDetails.getData().put(HUB_LINKS_STATUSES, request.getHubLinksStatuses());
 
             return caseService.triggerEvent(
                 authorization,
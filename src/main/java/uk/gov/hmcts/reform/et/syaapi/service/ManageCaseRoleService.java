@@ -1,18 +1,27 @@
 package uk.gov.hmcts.reform.et.syaapi.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.server.ResponseStatusException;
 import uk.gov.hmcts.ecm.common.model.ccd.CaseAssignedUserRolesResponse;
 import uk.gov.hmcts.ecm.common.model.ccd.CaseAssignmentUserRolesRequest;
 import uk.gov.hmcts.ecm.common.model.ccd.CaseAssignmentUserRolesResponse;
@@ -30,15 +39,20 @@ import uk.gov.hmcts.reform.et.syaapi.service.utils.DocumentUtil;
 import uk.gov.hmcts.reform.et.syaapi.service.utils.ManageCaseRoleServiceUtil;
 import uk.gov.hmcts.reform.et.syaapi.service.utils.RemoteServiceUtil;
 import uk.gov.hmcts.reform.et.syaapi.service.utils.RespondentUtil;
-import uk.gov.hmcts.reform.idam.client.IdamClient;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import javax.servlet.http.HttpServletResponse;
 
+import static uk.gov.hmcts.reform.et.syaapi.config.RestTemplateConfiguration.CCD_REST_TEMPLATE;
 import static uk.gov.hmcts.reform.et.syaapi.constants.EtSyaConstants.ENGLAND_CASE_TYPE;
 import static uk.gov.hmcts.reform.et.syaapi.constants.EtSyaConstants.SCOTLAND_CASE_TYPE;
 import static uk.gov.hmcts.reform.et.syaapi.constants.ManageCaseRoleConstants.MODIFICATION_TYPE_ASSIGNMENT;
@@ -52,13 +66,17 @@ import static uk.gov.hmcts.reform.et.syaapi.enums.CaseEvent.UPDATE_ET3_FORM;
 @RequiredArgsConstructor
 public class ManageCaseRoleService {
 
+    private static final String SEARCH_RESULT_CASES = "cases";
+
     private final AdminUserService adminUserService;
+    @Qualifier(CCD_REST_TEMPLATE)
     private final RestTemplate restTemplate;
     private final AuthTokenGenerator authTokenGenerator;
     private final CoreCaseDataApi ccdApi;
-    private final IdamClient idamClient;
+    private final UserIdentityService userIdentityService;
     private final ET3Service et3Service;
-    private final CaseService caseService;
+    private final CaseTypeFanOutService caseTypeFanOutService;
+    private final ObjectMapper objectMapper;
 
     @Value("${assign_case_access_api_url}")
     private String aacUrl;
@@ -81,38 +99,38 @@ public class ManageCaseRoleService {
         log.info("Trying to receive case for role modification. Submission Reference: {}",
                  findCaseForRoleModificationRequest.getCaseSubmissionReference());
         String adminUserToken = adminUserService.getAdminUserToken();
+        String s2sToken = authTokenGenerator.generate();
         String elasticSearchQuery = ElasticSearchQueryBuilder
             .buildByFindCaseForRoleModificationRequest(findCaseForRoleModificationRequest);
-        CaseDetails englandCase = findCaseByCaseType(adminUserToken,
-                                                     ENGLAND_CASE_TYPE,
-                                                     elasticSearchQuery,
-                                                     authorisation);
-        if (ObjectUtils.isNotEmpty(englandCase)) {
-            return englandCase;
-        }
-
-        CaseDetails scotlandCase = findCaseByCaseType(adminUserToken,
-                                                      SCOTLAND_CASE_TYPE,
-                                                      elasticSearchQuery,
-                                                      authorisation);
-        if (ObjectUtils.isNotEmpty(scotlandCase)) {
-            return scotlandCase;
+        // England & Wales and Scotland are searched concurrently, England & Wales case is preferred when both exist
+        List<List<CaseDetails>> casesByCaseType = caseTypeFanOutService.searchEach(
+            List.of(ENGLAND_CASE_TYPE, SCOTLAND_CASE_TYPE),
+            caseType -> searchCasesByCaseType(adminUserToken, s2sToken, caseType, elasticSearchQuery));
+        for (List<CaseDetails> caseDetailsList : casesByCaseType) {
+            CaseDetails caseDetails = findCaseInCaseDetailsList(caseDetailsList, authorisation);
+            if (ObjectUtils.isNotEmpty(caseDetails)) {
+                return caseDetails;
+            }
         }
         log.info("Case not found for the parameters, submission reference: {}",
                  findCaseForRoleModificationRequest.getCaseSubmissionReference());
         return null;
     }
 
-    private CaseDetails findCaseByCaseType(String adminUserToken,
-                                           String caseType,
-                                           String elasticSearchQuery,
-                                           String authorisation) throws IOException {
-        List<CaseDetails> caseDetailsList = Optional.ofNullable(ccdApi.searchCases(
+    private List<CaseDetails> searchCasesByCaseType(String adminUserToken,
+                                                    String s2sToken,
+                                                    String caseType,
+                                                    String elasticSearchQuery) {
+        return Optional.ofNullable(ccdApi.searchCases(
             adminUserToken,
-            authTokenGenerator.generate(),
+            s2sToken,
             caseType,
             elasticSearchQuery
         ).getCases()).orElse(Collections.emptyList());
+    }
+
+    private CaseDetails findCaseInCaseDetailsList(List<CaseDetails> caseDetailsList,
+                                                  String authorisation) throws IOException {
         return checkIsUserCreator(authorisation, caseDetailsList)
             ? null
             : ManageCaseRoleServiceUtil.checkCaseDetailsList(caseDetailsList);
@@ -233,7 +251,7 @@ public class ManageCaseRoleService {
      */
     public ModifyCaseUserRolesRequest generateModifyCaseUserRolesRequest(
         String authorisation, ModifyCaseUserRolesRequest modifyCaseUserRolesRequest) {
-        UserInfo userInfo = idamClient.getUserInfo(authorisation);
+        UserInfo userInfo = userIdentityService.getUserInfo(authorisation);
         List<ModifyCaseUserRole> tmpModifyCaseUserRoles = new ArrayList<>();
         for (ModifyCaseUserRole modifyCaseUserRole : modifyCaseUserRolesRequest.getModifyCaseUserRoles()) {
             ModifyCaseUserRole tmpModifyCaseUserRole = ModifyCaseUserRole.builder()
@@ -259,7 +277,7 @@ public class ManageCaseRoleService {
      */
     public CaseAssignedUserRolesResponse getCaseUserRolesByCaseAndUserIdsAac(
         String authorization, List<CaseDetails> caseDetailsList) throws IOException {
-        UserInfo userInfo = idamClient.getUserInfo(authorization);
+        UserInfo userInfo = userIdentityService.getUserInfo(authorization);
         String aacApiUri = ManageCaseRoleServiceUtil
             .createAacSearchCaseUsersUriByCaseAndUserIds(aacUrl, caseDetailsList, List.of(userInfo));
         if (StringUtils.isBlank(aacApiUri)) {
@@ -305,7 +323,7 @@ public class ManageCaseRoleService {
         if (CollectionUtils.isEmpty(caseIds)) {
             return CaseAssignedUserRolesResponse.builder().build();
         }
-        UserInfo userInfo = idamClient.getUserInfo(authorization);
+        UserInfo userInfo = userIdentityService.getUserInfo(authorization);
         SearchCaseAssignedUserRolesRequest searchCaseAssignedUserRolesRequest = SearchCaseAssignedUserRolesRequest
             .builder()
             .caseIds(caseIds)
@@ -353,31 +371,26 @@ public class ManageCaseRoleService {
     }
 
     /**
-     * Given a user derived from the authorisation token in the request,
-     * gets all cases {@link CaseDetails} for that user and filters case documents.
+     * Given a user derived from the authorisation token in the request, finds the ids of the cases of that user with
+     * the given case user role. Only the references of the cases are read from CCD, so that the case user roles of
+     * the user can be looked up before any case is read.
      *
      * @param authorization is used to get the {@link UserInfo} for the request
-     * @return the associated {@link CaseDetails} list for the authorization code of the user provided
+     * @param caseUserRole case user role of the user, e.g. [CREATOR] or [DEFENDANT]
+     * @return the ids of the cases of the user with the case user role by case type id, in the order the case types
+     *         are searched
      */
     // @Retryable({FeignException.class, RuntimeException.class}) --> No need to give exception classes as Retryable
     // covers all runtime exceptions.
     @Retryable
-    public List<CaseDetails> getUserCasesByCaseUserRole(String authorization, String caseUserRole) {
-        return getCasesByCaseDetailsListAuthorizationAndCaseUserRole(getCaseDetailsByCaseUserRole(authorization,
-                                                                                                  caseUserRole),
-                                                                     authorization,
-                                                                     caseUserRole);
-    }
-
-    private List<CaseDetails> getCaseDetailsByCaseUserRole(String authorization, String caseUserRole) {
-        // If defendant uses ET3 cases search because case service's all case search doesn't list all cases
-        // immediately after assigning a new case
-        log.info("CASE USER ROLE VALUE ON getCaseDetailsByCaseUserRole: {}", caseUserRole);
-        return caseService.getAllUserCases(authorization);
-    }
-
-    private List<CaseDetails> getCasesByCaseDetailsListAuthorizationAndCaseUserRole(
-        List<CaseDetails> caseDetailsList, String authorization, String caseUserRole) {
+    public Map<String, List<String>> findUserCaseIdsByCaseUserRole(String authorization, String caseUserRole) {
+        log.info("CASE USER ROLE VALUE ON findUserCaseIdsByCaseUserRole: {}", caseUserRole);
+        List<String> caseTypeIds = List.of(SCOTLAND_CASE_TYPE, ENGLAND_CASE_TYPE);
+        String s2sToken = authTokenGenerator.generate();
+        String query = ElasticSearchQueryBuilder.buildAllCaseReferences();
+        List<CaseDetails> caseDetailsList = caseTypeFanOutService.searchAll(
+            caseTypeIds,
+            caseTypeId -> searchCaseReferences(authorization, s2sToken, caseTypeId, query));
         List<CaseDetails> caseDetailsListByRole;
         try {
             CaseAssignedUserRolesResponse caseAssignedUserRolesResponse =
@@ -386,10 +399,94 @@ public class ManageCaseRoleService {
                 .getCaseDetailsByCaseUserRole(caseDetailsList,
                                               caseAssignedUserRolesResponse.getCaseAssignedUserRoles(),
                                               caseUserRole);
-            DocumentUtil.filterCasesDocumentsByCaseUserRole(caseDetailsListByRole, caseUserRole);
         } catch (IOException e) {
             throw new ManageCaseRoleException(e);
         }
-        return caseDetailsListByRole;
+        Map<String, List<String>> caseIdsByCaseType = new LinkedHashMap<>();
+        caseTypeIds.forEach(caseTypeId -> caseIdsByCaseType.put(caseTypeId, new ArrayList<>()));
+        for (CaseDetails caseDetails : caseDetailsListByRole) {
+            caseIdsByCaseType.get(caseDetails.getCaseTypeId()).add(caseDetails.getId().toString());
+        }
+        return caseIdsByCaseType;
+    }
+
+    /**
+     * Writes the cases with the given ids to the response, as a json array. The cases are searched in CCD by case
+     * type and each case is copied from the search result to the response while it is parsed, without the documents
+     * hidden from the case user role, so that no case is held in memory. A failed search is answered with the status
+     * returned by CCD as long as nothing has been sent to the client yet.
+     *
+     * @param authorization is used to search the cases of the user
+     * @param caseIdsByCaseType ids of the cases by case type id, as found by
+     *                          {@link #findUserCaseIdsByCaseUserRole(String, String)}
+     * @param caseUserRole case user role of the user, e.g. [CREATOR] or [DEFENDANT]
+     * @param response response the cases are written to
+     * @throws IOException if the cases cannot be written to the response
+     */
+    public void writeUserCases(String authorization, Map<String, List<String>> caseIdsByCaseType,
+                               String caseUserRole, HttpServletResponse response) throws IOException {
+        HttpHeaders headers = RemoteServiceUtil.buildHeaders(authorization, authTokenGenerator.generate());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            for (Map.Entry<String, List<String>> caseIds : caseIdsByCaseType.entrySet()) {
+                if (CollectionUtils.isNotEmpty(caseIds.getValue())) {
+                    copyCases(headers, caseIds.getKey(), caseIds.getValue(), caseUserRole, generator);
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private List<CaseDetails> searchCaseReferences(String authorization, String s2sToken, String caseTypeId,
+                                                   String query) {
+        List<CaseDetails> cases = Optional.ofNullable(
+            ccdApi.searchCases(authorization, s2sToken, caseTypeId, query).getCases()).orElse(Collections.emptyList());
+        return cases.stream()
+            .filter(caseDetails -> caseDetails.getId() != null)
+            .map(caseDetails -> CaseDetails.builder().id(caseDetails.getId()).caseTypeId(caseTypeId).build())
+            .toList();
+    }
+
+    private void copyCases(HttpHeaders headers, String caseTypeId, List<String> caseIds, String caseUserRole,
+                           JsonGenerator generator) {
+        byte[] query = ElasticSearchQueryBuilder.buildByCaseReferences(caseIds, caseIds.size(), List.of())
+            .getBytes(StandardCharsets.UTF_8);
+        try {
+            restTemplate.execute(
+                ccdApiUrl + ManageCaseRoleConstants.CCD_API_SEARCH_CASES_METHOD_NAME,
+                HttpMethod.POST,
+                request -> {
+                    request.getHeaders().addAll(headers);
+                    request.getBody().write(query);
+                },
+                response -> copySearchResultCases(response.getBody(), caseUserRole, generator),
+                caseTypeId);
+        } catch (RestClientResponseException e) {
+            log.info("Error while searching cases of case type {} in CCD - {}", caseTypeId, e.getRawStatusCode());
+            HttpStatus status = HttpStatus.resolve(e.getRawStatusCode());
+            throw new ResponseStatusException(status == null ? HttpStatus.BAD_GATEWAY : status,
+                                              "CCD case search failed", e);
+        }
+    }
+
+    private Void copySearchResultCases(InputStream searchResult, String caseUserRole, JsonGenerator generator)
+        throws IOException {
+        try (JsonParser parser = objectMapper.createParser(searchResult)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (parser.nextToken() == JsonToken.START_ARRAY && SEARCH_RESULT_CASES.equals(field)) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        DocumentUtil.copyCaseFilteringDocumentsByCaseUserRole(parser, generator, caseUserRole);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return null;
     }
 }
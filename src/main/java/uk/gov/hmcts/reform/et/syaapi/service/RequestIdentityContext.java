@@ -0,0 +1,73 @@
+package uk.gov.hmcts.reform.et.syaapi.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+import uk.gov.hmcts.reform.idam.client.models.UserInfo;
+
+import java.util.function.Supplier;
+import javax.servlet.http.HttpServletRequest;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * Holds the identity of the caller for the lifetime of a single HTTP request. The {@link UserInfo} and the service
+ * authorisation token are loaded on first use and then shared by every service taking part in the request.
+ * Only accessed through {@link UserIdentityService}.
+ */
+@Component
+@RequestScope
+public class RequestIdentityContext {
+
+    private final String bearerToken;
+    private UserInfo userInfo;
+    private String serviceAuthorisation;
+
+    /**
+     * Binds the context to the bearer token of the current request.
+     * @param request the current HTTP request
+     */
+    public RequestIdentityContext(HttpServletRequest request) {
+        this.bearerToken = request.getHeader(AUTHORIZATION);
+    }
+
+    /**
+     * Returns the bearer token the caller sent with the current request.
+     * @return the value of the authorization header
+     */
+    public String getBearerToken() {
+        return bearerToken;
+    }
+
+    /**
+     * Checks whether the given authorization is the one of the caller of the current request.
+     * @param authorization jwt to compare with the bearer token of the request
+     * @return true if the context holds the identity of the given authorization
+     */
+    public boolean isBoundTo(String authorization) {
+        return bearerToken != null && bearerToken.equals(authorization);
+    }
+
+    /**
+     * Returns the user info of the caller, loading it with the given supplier on first use.
+     * @param loader used to get the {@link UserInfo} from IDAM when it has not been loaded yet
+     * @return {@link UserInfo} of the caller
+     */
+    public UserInfo getUserInfo(Supplier<UserInfo> loader) {
+        if (userInfo == null) {
+            userInfo = loader.get();
+        }
+        return userInfo;
+    }
+
+    /**
+     * Returns the service authorisation token for the request, generating it with the given supplier on first use.
+     * @param generator used to generate the service to service token when it has not been generated yet
+     * @return service authorisation token
+     */
+    public String getServiceAuthorisation(Supplier<String> generator) {
+        if (serviceAuthorisation == null) {
+            serviceAuthorisation = generator.get();
+        }
+        return serviceAuthorisation;
+    }
+}
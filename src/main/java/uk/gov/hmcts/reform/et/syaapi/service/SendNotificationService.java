@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.et.syaapi.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
@@ -17,13 +18,13 @@ import uk.gov.hmcts.reform.ccd.client.model.CaseDataContent;
 import uk.gov.hmcts.reform.ccd.client.model.CaseDetails;
 import uk.gov.hmcts.reform.ccd.client.model.StartEventResponse;
 import uk.gov.hmcts.reform.et.syaapi.enums.CaseEvent;
+import uk.gov.hmcts.reform.et.syaapi.helper.CaseDataView;
 import uk.gov.hmcts.reform.et.syaapi.helper.CaseDetailsConverter;
 import uk.gov.hmcts.reform.et.syaapi.helper.EmployeeObjectMapper;
 import uk.gov.hmcts.reform.et.syaapi.helper.NotificationsHelper;
 import uk.gov.hmcts.reform.et.syaapi.helper.TseApplicationHelper;
 import uk.gov.hmcts.reform.et.syaapi.models.SendNotificationAddResponseRequest;
 import uk.gov.hmcts.reform.et.syaapi.models.SendNotificationStateUpdateRequest;
-import uk.gov.hmcts.reform.idam.client.IdamClient;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -44,12 +45,16 @@ import static uk.gov.hmcts.reform.et.syaapi.helper.TseApplicationHelper.CLAIMANT
 @RequiredArgsConstructor
 public class SendNotificationService {
 
+    private static final String SEND_NOTIFICATION_COLLECTION = "sendNotificationCollection";
+    private static final TypeReference<List<SendNotificationTypeItem>> SEND_NOTIFICATION_COLLECTION_TYPE =
+        new TypeReference<>() {};
+
     private final CaseService caseService;
     private final CaseDocumentService caseDocumentService;
     private final CaseDetailsConverter caseDetailsConverter;
     private final NotificationService notificationService;
     private final FeatureToggleService featureToggleService;
-    private final IdamClient idamClient;
+    private final UserIdentityService userIdentityService;
 
     public CaseDetails updateSendNotificationState(String authorization, SendNotificationStateUpdateRequest request) {
         StartEventResponse startEventResponse = caseService.startUpdate(
@@ -59,10 +64,10 @@ public class SendNotificationService {
             CaseEvent.UPDATE_NOTIFICATION_STATE
         );
 
-        CaseData caseData = EmployeeObjectMapper
-            .convertCaseDataMapToCaseDataObject(startEventResponse.getCaseDetails().getData());
+        CaseDataView caseData = new CaseDataView(startEventResponse.getCaseDetails().getData());
 
-        List<SendNotificationTypeItem> notifications = caseData.getSendNotificationCollection();
+        List<SendNotificationTypeItem> notifications =
+            caseData.get(SEND_NOTIFICATION_COLLECTION, SEND_NOTIFICATION_COLLECTION_TYPE);
         for (SendNotificationTypeItem item : notifications) {
             if (item.getId().equals(request.getSendNotificationId())) {
                 if (item.getValue().getNotificationState().equals(NOT_VIEWED_YET)) {
@@ -146,7 +151,7 @@ public class SendNotificationService {
         pseResponseType.setDate(TseApplicationHelper.formatCurrentDate(LocalDate.now()));
         pseResponseType.setFrom(CLAIMANT);
         if (featureToggleService.isMultiplesEnabled()) {
-            pseResponseType.setAuthor(idamClient.getUserInfo(authorization).getName());
+            pseResponseType.setAuthor(userIdentityService.getUserInfo(authorization).getName());
         }
 
         if (request.getSupportingMaterialFile() != null) {
@@ -0,0 +1,140 @@
+package uk.gov.hmcts.reform.et.syaapi.service;
+
+import io.micrometer.core.instrument.BaseUnits;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import uk.gov.hmcts.reform.et.syaapi.exception.UploadAdmissionException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admits document uploads against a budget of bytes that can be uploaded at the same time, so that bursts of large
+ * uploads cannot use up the disk, network and Case Document API capacity needed by ordinary requests. Uploads no
+ * larger than the small upload threshold are always admitted. Larger uploads wait until enough of the budget is
+ * released, and are rejected if that does not happen within the maximum wait. An upload larger than the whole budget
+ * is admitted when no other upload is in flight. The bytes in flight and waiting are published as gauges.
+ * This relies upon the following configurations to be set at an environment level:
+ * <ul>
+ *   <li>UPLOAD_ADMISSION_BUDGET</li>
+ *   <li>UPLOAD_ADMISSION_SMALL_UPLOAD_THRESHOLD</li>
+ *   <li>UPLOAD_ADMISSION_MAX_WAIT</li>
+ *   <li>UPLOAD_ADMISSION_RETRY_AFTER</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@SuppressWarnings({"PMD.DoNotUseThreads"})
+public class UploadAdmissionService {
+
+    private final long budgetBytes;
+    private final long smallUploadBytes;
+    private final Duration maxWait;
+    private final Duration retryAfter;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final Counter rejectedUploads;
+
+    /**
+     * Creates the service and registers its gauges.
+     * @param meterRegistry registry the gauges are published to
+     * @param budget total size of the uploads that can be in flight at the same time
+     * @param smallUploadThreshold size up to which uploads are admitted without being held to the budget
+     * @param maxWait how long a large upload waits for the budget before it is rejected
+     * @param retryAfter how long a rejected caller is asked to wait before trying again
+     */
+    public UploadAdmissionService(
+        MeterRegistry meterRegistry,
+        @Value("${upload-admission.budget:1GB}") DataSize budget,
+        @Value("${upload-admission.small-upload-threshold:5MB}") DataSize smallUploadThreshold,
+        @Value("${upload-admission.max-wait:PT10S}") Duration maxWait,
+        @Value("${upload-admission.retry-after:PT30S}") Duration retryAfter) {
+        this.budgetBytes = budget.toBytes();
+        this.smallUploadBytes = smallUploadThreshold.toBytes();
+        this.maxWait = maxWait;
+        this.retryAfter = retryAfter;
+        Gauge.builder("upload.admission.in.flight", inFlightBytes, AtomicLong::get)
+            .description("Size of the document uploads in flight")
+            .baseUnit(BaseUnits.BYTES)
+            .register(meterRegistry);
+        Gauge.builder("upload.admission.queued", queuedBytes, AtomicLong::get)
+            .description("Size of the document uploads waiting to be admitted")
+            .baseUnit(BaseUnits.BYTES)
+            .register(meterRegistry);
+        this.rejectedUploads = Counter.builder("upload.admission.rejected")
+            .description("Number of document uploads rejected because the upload budget was used up")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Admits an upload of the given size, waiting for enough of the budget to be released if needed. The returned
+     * admission must be closed once the upload has completed.
+     *
+     * @param bytes size of the upload
+     * @return the admission of the upload, releasing its share of the budget when closed
+     * @throws UploadAdmissionException if the upload could not be admitted within the maximum wait
+     */
+    public Admission admit(long bytes) {
+        if (bytes > smallUploadBytes) {
+            awaitBudget(bytes);
+        } else {
+            inFlightBytes.addAndGet(bytes);
+        }
+        return () -> release(bytes);
+    }
+
+    private void awaitBudget(long bytes) {
+        lock.lock();
+        queuedBytes.addAndGet(bytes);
+        try {
+            long remainingNanos = maxWait.toNanos();
+            while (inFlightBytes.get() > 0 && inFlightBytes.get() + bytes > budgetBytes) {
+                if (remainingNanos <= 0) {
+                    rejectedUploads.increment();
+                    log.warn("Rejected upload of {} bytes, {} bytes already in flight", bytes, inFlightBytes.get());
+                    throw new UploadAdmissionException(bytes, retryAfter);
+                }
+                remainingNanos = released.awaitNanos(remainingNanos);
+            }
+            inFlightBytes.addAndGet(bytes);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UploadAdmissionException(bytes, retryAfter);
+        } finally {
+            queuedBytes.addAndGet(-bytes);
+            lock.unlock();
+        }
+    }
+
+    private void release(long bytes) {
+        lock.lock();
+        try {
+            inFlightBytes.addAndGet(-bytes);
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Share of the upload budget held by an admitted upload.
+     */
+    @FunctionalInterface
+    public interface Admission extends AutoCloseable {
+
+        /**
+         * Releases the share of the budget held by the upload.
+         */
+        @Override
+        void close();
+    }
+}
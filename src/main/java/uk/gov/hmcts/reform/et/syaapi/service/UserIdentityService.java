@@ -0,0 +1,164 @@
+package uk.gov.hmcts.reform.et.syaapi.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader.InvalidCacheLoadException;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.nimbusds.jwt.JWTClaimsSet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.idam.client.IdamClient;
+import uk.gov.hmcts.reform.idam.client.models.UserInfo;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provides the identity of the caller. The {@link UserInfo} is built from the claims of the verified jwt when the
+ * token carries them and has not expired; otherwise it is loaded from IDAM and cached for a short time. Within an
+ * HTTP request the {@link UserInfo} of the caller and the service authorisation token are resolved once and kept in
+ * the {@link RequestIdentityContext}, so that every service taking part in the request shares them.
+ * This relies upon the following configurations to be set at an environment level:
+ * <ul>
+ *   <li>IDAM_USER_INFO_CACHE_MAX_SIZE</li>
+ *   <li>IDAM_USER_INFO_CACHE_TTL</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class UserIdentityService {
+
+    static final String USER_INFO_CACHE_NAME = "idam.user-info";
+    private static final String CLAIM_UID = "uid";
+    private static final String CLAIM_NAME = "name";
+    private static final String CLAIM_GIVEN_NAME = "given_name";
+    private static final String CLAIM_FAMILY_NAME = "family_name";
+    private static final String CLAIM_ROLES = "roles";
+
+    private final IdamClient idamClient;
+    private final AuthTokenGenerator authTokenGenerator;
+    private final VerifyTokenService verifyTokenService;
+    private final RequestIdentityContext requestIdentityContext;
+    private final Cache<String, UserInfo> userInfoCache;
+
+    /**
+     * Creates the service with its collaborators and the bounds of the cache of user info loaded from IDAM.
+     * @param idamClient used to load the user info of tokens that do not carry the identity claims
+     * @param authTokenGenerator used to generate the service authorisation token
+     * @param verifyTokenService provides the claims of verified tokens
+     * @param requestIdentityContext identity of the caller of the current request
+     * @param maximumSize maximum number of user infos loaded from IDAM that are remembered
+     * @param timeToLive how long a user info loaded from IDAM is remembered
+     * @param meterRegistry registry the cache hit ratio and size are published to
+     */
+    public UserIdentityService(IdamClient idamClient,
+                               AuthTokenGenerator authTokenGenerator,
+                               VerifyTokenService verifyTokenService,
+                               RequestIdentityContext requestIdentityContext,
+                               @Value("${idam.api.user-info-cache.maximum-size:10000}") long maximumSize,
+                               @Value("${idam.api.user-info-cache.time-to-live:PT5M}") Duration timeToLive,
+                               MeterRegistry meterRegistry) {
+        this.idamClient = idamClient;
+        this.authTokenGenerator = authTokenGenerator;
+        this.verifyTokenService = verifyTokenService;
+        this.requestIdentityContext = requestIdentityContext;
+        this.userInfoCache = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive.toMillis(), TimeUnit.MILLISECONDS)
+            .recordStats()
+            .build();
+        GuavaCacheMetrics.monitor(meterRegistry, userInfoCache, USER_INFO_CACHE_NAME);
+    }
+
+    /**
+     * Returns the user info for the given authorization.
+     * @param authorization jwt of the user
+     * @return {@link UserInfo} of the user
+     */
+    public UserInfo getUserInfo(String authorization) {
+        if (isBoundToRequest(authorization)) {
+            return requestIdentityContext.getUserInfo(() -> resolveUserInfo(authorization));
+        }
+        return resolveUserInfo(authorization);
+    }
+
+    /**
+     * Returns the service authorisation token to send alongside the caller's jwt.
+     * @return service to service token
+     */
+    public String getServiceAuthorisation() {
+        if (RequestContextHolder.getRequestAttributes() != null) {
+            return requestIdentityContext.getServiceAuthorisation(authTokenGenerator::generate);
+        }
+        return authTokenGenerator.generate();
+    }
+
+    private boolean isBoundToRequest(String authorization) {
+        return RequestContextHolder.getRequestAttributes() != null
+            && requestIdentityContext.isBoundTo(authorization);
+    }
+
+    private UserInfo resolveUserInfo(String authorization) {
+        if (StringUtils.isBlank(authorization)) {
+            return idamClient.getUserInfo(authorization);
+        }
+        Optional<UserInfo> userInfoFromClaims = verifyTokenService.getVerifiedClaims(authorization)
+            .flatMap(UserIdentityService::toUserInfo);
+        if (userInfoFromClaims.isPresent()) {
+            return userInfoFromClaims.get();
+        }
+        String tokenDigest = Hashing.sha256().hashString(authorization, StandardCharsets.UTF_8).toString();
+        try {
+            return userInfoCache.get(tokenDigest, () -> idamClient.getUserInfo(authorization));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unable to get user info from IDAM", e.getCause());
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        } catch (InvalidCacheLoadException e) {
+            // IDAM returned no user info, which is not cached
+            return null;
+        }
+    }
+
+    private static Optional<UserInfo> toUserInfo(JWTClaimsSet claims) {
+        // The signature of the token is verified but not its expiry, which IDAM checks when asked for the user info
+        Date expirationTime = claims.getExpirationTime();
+        if (expirationTime == null || !expirationTime.toInstant().isAfter(Instant.now())) {
+            return Optional.empty();
+        }
+        try {
+            String uid = claims.getStringClaim(CLAIM_UID);
+            String givenName = claims.getStringClaim(CLAIM_GIVEN_NAME);
+            String familyName = claims.getStringClaim(CLAIM_FAMILY_NAME);
+            if (StringUtils.isAnyBlank(claims.getSubject(), uid, givenName, familyName)) {
+                return Optional.empty();
+            }
+            String name = StringUtils.defaultIfBlank(claims.getStringClaim(CLAIM_NAME),
+                                                     givenName + StringUtils.SPACE + familyName);
+            List<String> roles = claims.getStringListClaim(CLAIM_ROLES);
+            return Optional.of(new UserInfo(claims.getSubject(), uid, name, givenName, familyName,
+                                            roles == null ? Collections.emptyList() : roles));
+        } catch (ParseException e) {
+            log.warn("Unable to read user identity from token claims: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -1,41 +1,81 @@
 package uk.gov.hmcts.reform.et.syaapi.service;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.KeySourceException;
 import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
 import com.nimbusds.jose.jwk.AsymmetricJWK;
 import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
 import com.nimbusds.jose.jwk.SecretJWK;
+import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.JWSVerifierFactory;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.authorisation.exceptions.InvalidTokenException;
+import uk.gov.hmcts.reform.et.syaapi.config.IdamJwksConfiguration;
 import uk.gov.hmcts.reform.et.syaapi.config.interceptors.RequestInterceptor;
 
-import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Used by {@link RequestInterceptor} to test the validity of the jwt of the caller.
+ * Signing keys are served by the cached {@link JWKSource} created in {@link IdamJwksConfiguration}
+ * so that verifying a token does not call IDAM. Successfully verified tokens are remembered, keyed by a
+ * SHA-256 digest of the token, until the token expires so that the signature of a token is only checked once.
  * This relies upon the following configurations to be set at an environment level:
  * <ul>
- *   <li>IDAM_JWKS_BASEURL</li>
+ *   <li>IDAM_VERIFIED_TOKEN_CACHE_MAX_SIZE</li>
+ *   <li>IDAM_VERIFIED_TOKEN_CACHE_MAX_TTL</li>
  * </ul>
  */
 @Slf4j
 @Service
 public class VerifyTokenService {
 
-    private final JWSVerifierFactory jwsVerifierFactory;
+    static final String VERIFIED_TOKEN_CACHE_NAME = "idam.verified-tokens";
 
-    @Value("${idam.api.jwksUrl}")
-    private String idamJwkUrl;
+    private final JWSVerifierFactory jwsVerifierFactory;
+    private final JWKSource<SecurityContext> idamJwkSource;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
-    public VerifyTokenService() {
+    /**
+     * Creates the service with the source of IDAM signing keys and the bounds of the verified token cache.
+     * @param idamJwkSource cached source of IDAM signing keys
+     * @param maximumSize maximum number of verified tokens that are remembered
+     * @param maximumTimeToLive upper bound on how long a verified token is remembered, whatever its expiry
+     * @param meterRegistry registry the cache hit ratio and size are published to
+     */
+    public VerifyTokenService(JWKSource<SecurityContext> idamJwkSource,
+                              @Value("${idam.api.verified-token-cache.maximum-size:10000}") long maximumSize,
+                              @Value("${idam.api.verified-token-cache.maximum-time-to-live:PT8H}")
+                              Duration maximumTimeToLive,
+                              MeterRegistry meterRegistry) {
         this.jwsVerifierFactory = new DefaultJWSVerifierFactory();
+        this.idamJwkSource = idamJwkSource;
+        this.verifiedTokens = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(maximumTimeToLive.toMillis(), TimeUnit.MILLISECONDS)
+            .recordStats()
+            .build();
+        GuavaCacheMetrics.monitor(meterRegistry, verifiedTokens, VERIFIED_TOKEN_CACHE_NAME);
     }
 
     /**
@@ -44,39 +84,76 @@ public class VerifyTokenService {
      * @return a {@link Boolean} true if the jwt is validated
      */
     public boolean verifyTokenSignature(String token) {
+        return getVerifiedClaims(token).isPresent();
+    }
+
+    /**
+     * Accepts a JWT and returns its claims when the signature is valid. The outcome of a successful verification
+     * is cached until the token expires. Failed verifications are not cached, so that a token rejected while the
+     * key set was unavailable is checked again on the next call.
+     * @param token the jwt to be verified, with or without the Bearer prefix
+     * @return the claims of the jwt, or empty if the jwt could not be verified
+     */
+    public Optional<JWTClaimsSet> getVerifiedClaims(String token) {
+        var tokenTocheck = StringUtils.replace(token, "Bearer ", "");
+        if (StringUtils.isBlank(tokenTocheck)) {
+            return Optional.empty();
+        }
+        String tokenDigest = Hashing.sha256().hashString(tokenTocheck, StandardCharsets.UTF_8).toString();
+        Instant now = Instant.now();
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(tokenDigest);
+        if (verifiedToken != null) {
+            if (verifiedToken.isValidAt(now)) {
+                return Optional.of(verifiedToken.claims());
+            }
+            verifiedTokens.invalidate(tokenDigest);
+        }
         try {
-            var tokenTocheck = StringUtils.replace(token, "Bearer ", "");
             var signedJwt = SignedJWT.parse(tokenTocheck);
 
-            JWKSet jsonWebKeySet = loadJsonWebKeySet(idamJwkUrl);
-
             var jwsHeader = signedJwt.getHeader();
-            var key = findKeyById(jsonWebKeySet, jwsHeader.getKeyID());
+            var key = findKeyById(jwsHeader.getKeyID());
 
             var jwsVerifier = jwsVerifierFactory.createJWSVerifier(jwsHeader, key);
 
-            return signedJwt.verify(jwsVerifier);
+            if (!signedJwt.verify(jwsVerifier)) {
+                return Optional.empty();
+            }
+            JWTClaimsSet claims = signedJwt.getJWTClaimsSet();
+            cacheVerifiedToken(tokenDigest, claims, now);
+            return Optional.of(claims);
         } catch (Exception e) {
             log.error("Token validation error:", e);
-            return false;
+            return Optional.empty();
+        }
+    }
+
+    private void cacheVerifiedToken(String tokenDigest, JWTClaimsSet claims, Instant now) {
+        Date expirationTime = claims.getExpirationTime();
+        if (expirationTime != null && expirationTime.toInstant().isAfter(now)) {
+            verifiedTokens.put(tokenDigest, new VerifiedToken(claims, expirationTime.toInstant()));
         }
     }
 
-    private JWKSet loadJsonWebKeySet(String jwksUrl) {
+    private List<JWK> loadMatchingKeys(String keyId) {
         try {
-            return JWKSet.load(new URL(jwksUrl));
-        } catch (Exception e) {
+            return idamJwkSource.get(new JWKSelector(new JWKMatcher.Builder().keyID(keyId).build()), null);
+        } catch (KeySourceException e) {
             log.error("JWKS key loading error", e);
             throw new InvalidTokenException("JWKS error", e);
         }
     }
 
-    private Key findKeyById(JWKSet jsonWebKeySet, String keyId) {
+    private Key findKeyById(String keyId) {
+        if (StringUtils.isBlank(keyId)) {
+            throw new InvalidTokenException("JWT does not have a key id");
+        }
         try {
-            JWK jsonWebKey = jsonWebKeySet.getKeyByKeyId(keyId);
-            if (jsonWebKey == null) {
+            List<JWK> matchingKeys = loadMatchingKeys(keyId);
+            if (matchingKeys.isEmpty()) {
                 throw new InvalidTokenException("JWK does not exist in the key set");
             }
+            JWK jsonWebKey = matchingKeys.get(0);
             if (jsonWebKey instanceof SecretJWK secretJwk) {
                 return secretJwk.toSecretKey();
             }
@@ -90,4 +167,9 @@ public class VerifyTokenService {
         }
     }
 
+    private record VerifiedToken(JWTClaimsSet claims, Instant expiresAt) {
+        boolean isValidAt(Instant instant) {
+            return expiresAt.isAfter(instant);
+        }
+    }
 }
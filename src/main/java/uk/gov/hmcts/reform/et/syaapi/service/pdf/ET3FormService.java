@@ -17,7 +17,7 @@ import uk.gov.hmcts.et.common.model.ccd.items.DocumentTypeItem;
 import uk.gov.hmcts.et.common.model.ccd.items.RespondentSumTypeItem;
 import uk.gov.hmcts.reform.et.syaapi.service.CaseDocumentException;
 import uk.gov.hmcts.reform.et.syaapi.service.CaseDocumentService;
-import uk.gov.hmcts.reform.idam.client.IdamClient;
+import uk.gov.hmcts.reform.et.syaapi.service.UserIdentityService;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 
 import java.util.ArrayList;
@@ -44,7 +44,7 @@ import static uk.gov.hmcts.reform.et.syaapi.service.pdf.PdfUploadService.sanitiz
 public class ET3FormService {
     private final PdfService pdfService;
     private final CaseDocumentService caseDocumentService;
-    private final IdamClient idamClient;
+    private final UserIdentityService userIdentityService;
 
     @Value("${pdf.et3English}")
     public String et3EnglishPdfTemplateSource;
@@ -127,7 +127,7 @@ public class ET3FormService {
                 ET3_FORM_CLIENT_TYPE_RESPONDENT,
                 SUBMIT_ET3_CITIZEN
             );
-            UserInfo userInfo = idamClient.getUserInfo(authorisation);
+            UserInfo userInfo = userIdentityService.getUserInfo(authorisation);
             PdfDecodedMultipartFile englishET3Form = new PdfDecodedMultipartFile(
                 englishPdfFileByteArray,
                 createET3PdfDocumentNameFromCaseData(ENGLISH_LANGUAGE, userInfo, selectedRespondent),
@@ -1,24 +1,36 @@
 package uk.gov.hmcts.reform.et.syaapi.service.utils;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
-import org.apache.commons.lang3.StringUtils;
 import uk.gov.hmcts.ecm.common.model.helper.DocumentConstants;
-import uk.gov.hmcts.et.common.model.ccd.types.DocumentType;
 import uk.gov.hmcts.reform.ccd.client.model.CaseDetails;
 import uk.gov.hmcts.reform.et.syaapi.constants.ManageCaseRoleConstants;
 
-import java.util.Iterator;
+import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Slf4j
 public final class DocumentUtil {
 
+    private static final String CASE_ID = "id";
+    private static final Set<String> CASE_DATA_FIELDS = Set.of("case_data", "data");
+    private static final String DOCUMENT_COLLECTION = "documentCollection";
+    private static final String DOCUMENT_VALUE = "value";
+    private static final String TYPE_OF_DOCUMENT = "typeOfDocument";
+    private static final String DOCUMENT_TYPE = "documentType";
+
     private static final List<String> HIDDEN_DOCUMENT_TYPES_FOR_CLAIMANT = List.of(
         DocumentConstants.ET1_VETTING,
         DocumentConstants.ET3_PROCESSING,
@@ -75,105 +87,137 @@ public final class DocumentUtil {
         DocumentConstants.OTHER
     );
 
+    /*
+     * Document types hidden from each case user role, normalised once when the class is loaded. No document type is
+     * hidden from any other case user role.
+     */
+    private static final Map<String, Set<String>> HIDDEN_DOCUMENT_TYPES_BY_CASE_USER_ROLE = Map.of(
+        ManageCaseRoleConstants.CASE_USER_ROLE_CREATOR, normalisedDocumentTypes(
+            HIDDEN_DOCUMENT_TYPES_FOR_CLAIMANT, RESPONDENT_APPLICATION_DOC_TYPE, CLAIMANT_APPLICATION_DOC_TYPE),
+        ManageCaseRoleConstants.CASE_USER_ROLE_DEFENDANT, normalisedDocumentTypes(
+            HIDDEN_DOCUMENT_TYPES_FOR_RESPONDENT, RESPONDENT_APPLICATION_DOC_TYPE, CLAIMANT_APPLICATION_DOC_TYPE)
+    );
+
     private DocumentUtil() {
         // Utility classes should not have a public or default constructor.
     }
 
     public static void filterCasesDocumentsByCaseUserRole(List<CaseDetails> caseDetailsList, String caseUserRole) {
+        Set<String> hiddenDocumentTypes = getHiddenDocumentTypes(caseUserRole);
+        if (hiddenDocumentTypes.isEmpty()) {
+            return;
+        }
         for (CaseDetails caseDetails : caseDetailsList) {
-            String caseId;
-            if (ObjectUtils.isNotEmpty(caseDetails.getData())
-                && ObjectUtils.isNotEmpty(caseDetails.getData().get("ethosCaseReference"))) {
-                caseId = caseDetails.getData().get("ethosCaseReference").toString();
+            List<LinkedHashMap<String, Object>> documentCollection =
+                getCaseDocumentCollectionFromCaseDetails(caseDetails);
+            if (CollectionUtils.isNotEmpty(documentCollection)) {
+                documentCollection.removeIf(documentInfo -> isDocumentHidden(documentInfo, hiddenDocumentTypes));
+            }
+        }
+    }
+
+    /**
+     * Copies a case, as written by CCD, from the parser to the generator without the documents that are hidden from
+     * the case user role. Only the documents of the document collection are read into trees to be checked, all the
+     * other fields of the case are copied token by token, so the case is written as CCD wrote it.
+     * @param parser parser positioned on the start of the case object, created by an {@link ObjectMapper}
+     * @param generator generator the case is written to, created by an {@link ObjectMapper}
+     * @param caseUserRole case user role of the user, e.g. [CREATOR] or [DEFENDANT]
+     * @return the id of the case, or null if the case has no id
+     * @throws IOException if the case cannot be read or written
+     */
+    public static String copyCaseFilteringDocumentsByCaseUserRole(JsonParser parser, JsonGenerator generator,
+                                                                  String caseUserRole) throws IOException {
+        Set<String> hiddenDocumentTypes = getHiddenDocumentTypes(caseUserRole);
+        String caseId = null;
+        generator.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            generator.writeFieldName(field);
+            if (CASE_ID.equals(field) && value.isScalarValue()) {
+                caseId = parser.getValueAsString();
+                generator.copyCurrentEvent(parser);
+            } else if (CASE_DATA_FIELDS.contains(field) && value == JsonToken.START_OBJECT
+                && !hiddenDocumentTypes.isEmpty()) {
+                copyCaseDataFilteringDocuments(parser, generator, hiddenDocumentTypes);
             } else {
-                caseId = ObjectUtils.isNotEmpty(caseDetails.getId()) ? caseDetails.getId().toString() : "";
+                generator.copyCurrentStructure(parser);
             }
-            filterCaseDocumentsByCaseUserRole(caseDetails, caseId, caseUserRole);
         }
+        generator.writeEndObject();
+        return caseId;
     }
 
-    private static void filterCaseDocumentsByCaseUserRole(CaseDetails caseDetails, String caseId, String caseUserRole) {
-        List<LinkedHashMap<String, Object>> documentCollection = getCaseDocumentCollectionFromCaseDetails(caseDetails);
-        if (CollectionUtils.isNotEmpty(documentCollection)) {
-            for (Iterator<LinkedHashMap<String, Object>> iterator = documentCollection.iterator();
-                 iterator.hasNext();) {
-                removeHiddenDocumentFromCollectionByCaseUserRole(iterator, caseId, caseUserRole);
+    private static void copyCaseDataFilteringDocuments(JsonParser parser, JsonGenerator generator,
+                                                       Set<String> hiddenDocumentTypes) throws IOException {
+        generator.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            generator.writeFieldName(field);
+            if (DOCUMENT_COLLECTION.equals(field) && value == JsonToken.START_ARRAY) {
+                generator.writeStartArray();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    JsonNode documentInfo = parser.readValueAsTree();
+                    if (documentInfo == null || !isDocumentHidden(documentInfo, hiddenDocumentTypes)) {
+                        generator.writeTree(documentInfo);
+                    }
+                }
+                generator.writeEndArray();
+            } else {
+                generator.copyCurrentStructure(parser);
             }
         }
+        generator.writeEndObject();
+    }
+
+    private static Set<String> getHiddenDocumentTypes(String caseUserRole) {
+        return caseUserRole == null
+            ? Set.of()
+            : HIDDEN_DOCUMENT_TYPES_BY_CASE_USER_ROLE.getOrDefault(caseUserRole, Set.of());
     }
 
     @SuppressWarnings("unchecked")
     private static  List<LinkedHashMap<String, Object>> getCaseDocumentCollectionFromCaseDetails(
         CaseDetails caseDetails) {
         if (ObjectUtils.isNotEmpty(caseDetails.getData())
-            && ObjectUtils.isNotEmpty(caseDetails.getData().get("documentCollection"))) {
-            return (List<LinkedHashMap<String, Object>>) caseDetails.getData().get("documentCollection");
+            && ObjectUtils.isNotEmpty(caseDetails.getData().get(DOCUMENT_COLLECTION))) {
+            return (List<LinkedHashMap<String, Object>>) caseDetails.getData().get(DOCUMENT_COLLECTION);
         }
         return null;
     }
 
-    private static void removeHiddenDocumentFromCollectionByCaseUserRole(
-        Iterator<LinkedHashMap<String, Object>> iterator, String caseId, String caseUserRole) {
-        LinkedHashMap<String, Object> documentInfo = iterator.next();
-        if (ObjectUtils.isNotEmpty(documentInfo.get("value"))) {
-            try {
-                DocumentType documentType = GenericServiceUtil
-                    .mapJavaObjectToClass(DocumentType.class, documentInfo.get("value"));
-                if (isDocumentHiddenForCaseUserRole(documentType, caseUserRole)) {
-                    iterator.remove();
-                }
-            } catch (JsonProcessingException jpe) {
-                GenericServiceUtil.logException(
-                    "Exception occurred while processing documents (JSON PARSE PROBLEM)", caseId,
-                    jpe.getMessage(), "filterClaimantDocuments", "DocumentUtil");
-            }
-        }
+    /*
+     * Only the two type fields of the document are read, straight from the case data map, rather than converting the
+     * whole document to a DocumentType for each document of each case.
+     */
+    private static boolean isDocumentHidden(Map<String, Object> documentInfo, Set<String> hiddenDocumentTypes) {
+        return documentInfo.get(DOCUMENT_VALUE) instanceof Map<?, ?> documentType
+            && (isHiddenDocumentType(documentType.get(TYPE_OF_DOCUMENT), hiddenDocumentTypes)
+                || isHiddenDocumentType(documentType.get(DOCUMENT_TYPE), hiddenDocumentTypes));
     }
 
-    private static boolean isDocumentHiddenForCaseUserRole(DocumentType documentType, String caseUserRole) {
-        return isHiddenDocumentTypeForCaseUserRole(documentType.getTypeOfDocument(), caseUserRole)
-            || isHiddenDocumentTypeForCaseUserRole(documentType.getDocumentType(), caseUserRole);
+    private static boolean isDocumentHidden(JsonNode documentInfo, Set<String> hiddenDocumentTypes) {
+        JsonNode documentType = documentInfo.path(DOCUMENT_VALUE);
+        return documentType.isObject()
+            && (isHiddenDocumentType(documentType.path(TYPE_OF_DOCUMENT).asText(null), hiddenDocumentTypes)
+                || isHiddenDocumentType(documentType.path(DOCUMENT_TYPE).asText(null), hiddenDocumentTypes));
     }
 
-    private static boolean isHiddenDocumentTypeForCaseUserRole(String documentType, String caseUserRole) {
-        if (StringUtils.isNotBlank(documentType)) {
-            String lowerCaseDocumentType = documentType.toLowerCase(Locale.UK).trim();
-            List<String> mergedList = getMergedListByCaseUserRole(caseUserRole);
-            return mergedList.stream()
-                .map(type -> type.toLowerCase(Locale.UK))
-                .anyMatch(type -> type.equals(lowerCaseDocumentType));
-        }
-        return false;
+    private static boolean isHiddenDocumentType(Object documentType, Set<String> hiddenDocumentTypes) {
+        return documentType != null && hiddenDocumentTypes.contains(normalise(documentType.toString()));
     }
 
-    private static List<String> getMergedListByCaseUserRole(String caseUserRole) {
-        if (ManageCaseRoleConstants.CASE_USER_ROLE_CREATOR.equals(caseUserRole)) {
-            return Stream.of(
-                    HIDDEN_DOCUMENT_TYPES_FOR_CLAIMANT,
-                    RESPONDENT_APPLICATION_DOC_TYPE,
-                    CLAIMANT_APPLICATION_DOC_TYPE
-                )
-                .flatMap(List::stream)
-                .distinct()
-                .toList();
-        }
-        if (ManageCaseRoleConstants.CASE_USER_ROLE_DEFENDANT.equals(caseUserRole)) {
-            return Stream.of(
-                    HIDDEN_DOCUMENT_TYPES_FOR_RESPONDENT,
-                    RESPONDENT_APPLICATION_DOC_TYPE,
-                    CLAIMANT_APPLICATION_DOC_TYPE
-                )
-                .flatMap(List::stream)
-                .distinct()
-                .toList();
-        }
-        // If case role not [DEFENDANT] or [CREATOR]
-        return Stream.of(
-                List.of(StringUtils.EMPTY)
-            )
+    @SafeVarargs
+    private static Set<String> normalisedDocumentTypes(List<String>... documentTypes) {
+        return Stream.of(documentTypes)
             .flatMap(List::stream)
-            .distinct()
-            .toList();
+            .map(DocumentUtil::normalise)
+            .collect(Collectors.toUnmodifiableSet());
     }
 
+    private static String normalise(String documentType) {
+        return documentType.toLowerCase(Locale.UK).trim();
+    }
 }
@@ -1,12 +1,12 @@
 package uk.gov.hmcts.reform.et.syaapi.service.utils;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import uk.gov.hmcts.ecm.common.service.pdf.PdfDecodedMultipartFile;
 import uk.gov.hmcts.et.common.model.ccd.CaseData;
+import uk.gov.hmcts.reform.et.syaapi.helper.EmployeeObjectMapper;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 import uk.gov.service.notify.NotificationClient;
 import uk.gov.service.notify.NotificationClientException;
@@ -23,8 +23,6 @@ import static uk.gov.hmcts.reform.et.syaapi.constants.EtSyaConstants.WELSH_LANGU
 @Slf4j
 public final class GenericServiceUtil {
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-
     private GenericServiceUtil() {
         // Utility classes should not have a public or default constructor.
     }
@@ -101,8 +99,7 @@ public final class GenericServiceUtil {
      * @param rawCollection source collection
      * @param <T> Type of return list
      * @return List of given clazz type objects
-     * @throws JsonProcessingException exception may occur while converting object to
-     *                                 json string in mapJavaObjectToClass method
+     * @throws JsonProcessingException exception may occur while converting an element to the target class
      */
     public static <T> List<T> castList(Class<? extends T> clazz, Collection<?> rawCollection)
         throws JsonProcessingException {
@@ -114,16 +111,23 @@ public final class GenericServiceUtil {
     }
 
     /**
-     * Converts any object to target class.
+     * Converts any object to target class. The object is converted through Jackson's token buffer, without being
+     * written to and parsed back from a json string.
      * @param clazz Target class
      * @param object source object
      * @param <T> Type of return object
      * @return object of given class type
-     * @throws JsonProcessingException exception may occur while converting object to json string
+     * @throws JsonProcessingException exception may occur while converting object to the target class
      */
     public static <T> T mapJavaObjectToClass(Class<? extends T> clazz, Object object)
         throws JsonProcessingException {
-        return OBJECT_MAPPER.readValue(OBJECT_MAPPER.writeValueAsString(object),
-                                       OBJECT_MAPPER.getTypeFactory().constructType(clazz));
+        try {
+            return EmployeeObjectMapper.getObjectMapper().convertValue(object, clazz);
+        } catch (IllegalArgumentException e) {
+            if (e.getCause() instanceof JsonProcessingException jpe) {
+                throw jpe;
+            }
+            throw e;
+        }
     }
 }
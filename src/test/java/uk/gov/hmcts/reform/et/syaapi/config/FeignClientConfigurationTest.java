@@ -0,0 +1,42 @@
+package uk.gov.hmcts.reform.et.syaapi.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeignClientConfigurationTest {
+
+    @Test
+    void feignHttpClientMetricsPublishesPoolGauges() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(200);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        new FeignClientConfiguration().feignHttpClientMetrics(
+            new StaticListableBeanFactory(Map.of("connectionManager", connectionManager))
+                .getBeanProvider(HttpClientConnectionManager.class)
+        ).bindTo(meterRegistry);
+
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                       .tag("httpclient", FeignClientConfiguration.FEIGN_HTTP_CLIENT_NAME)
+                       .gauge().value()).isEqualTo(200);
+        connectionManager.shutdown();
+    }
+
+    @Test
+    void feignHttpClientMetricsIgnoresMissingPool() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        new FeignClientConfiguration().feignHttpClientMetrics(
+            new StaticListableBeanFactory().getBeanProvider(HttpClientConnectionManager.class)
+        ).bindTo(meterRegistry);
+
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+}
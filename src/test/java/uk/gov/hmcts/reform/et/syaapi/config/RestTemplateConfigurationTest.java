@@ -1,14 +1,62 @@
 package uk.gov.hmcts.reform.et.syaapi.config;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 class RestTemplateConfigurationTest {
 
+    private SimpleMeterRegistry meterRegistry;
+    private RestTemplateConfiguration restTemplateConfiguration;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        restTemplateConfiguration = new RestTemplateConfiguration(meterRegistry, Duration.ofSeconds(5),
+                                                                  Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        restTemplateConfiguration.closeHttpClients();
+    }
+
     @Test
-    void createRestTemplateGeneratesNewRestTemplate() {
-        assertThat(new RestTemplateConfiguration().getRestTemplate())
-            .isNotNull();
+    void createRestTemplateUsesPooledHttpClient() {
+        RestTemplate restTemplate = restTemplateConfiguration.acasRestTemplate(10, Duration.ofSeconds(5),
+                                                                               Duration.ofSeconds(30));
+
+        assertThat(restTemplate.getRequestFactory()).isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+    }
+
+    @Test
+    void caseDocumentRestTemplateStreamsRequestBodies() throws IOException {
+        RestTemplate restTemplate = restTemplateConfiguration.caseDocumentRestTemplate(20, Duration.ofSeconds(5),
+                                                                                       Duration.ofMinutes(2));
+
+        assertThat(restTemplate.getRequestFactory().createRequest(URI.create("http://localhost"), HttpMethod.POST))
+            .isInstanceOf(StreamingHttpOutputMessage.class);
+    }
+
+    @Test
+    void createRestTemplatePublishesGaugesForEachPool() {
+        restTemplateConfiguration.ccdRestTemplate(50, Duration.ofSeconds(5), Duration.ofSeconds(30));
+        restTemplateConfiguration.caseDocumentRestTemplate(20, Duration.ofSeconds(5), Duration.ofMinutes(2));
+
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max").tag("httpclient", "ccd")
+                       .gauge().value()).isEqualTo(50);
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                       .tag("httpclient", "case-document-am").gauge().value()).isEqualTo(20);
     }
 }
@@ -0,0 +1,58 @@
+package uk.gov.hmcts.reform.et.syaapi.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(OutputCaptureExtension.class)
+@SuppressWarnings({"PMD.DoNotUseThreads"})
+class VirtualThreadConfigurationTest {
+
+    private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+    private static final String RUN_ON_JAVA_21 = "Runs on Java 21 with ./gradlew virtualThreadTest";
+
+    private final VirtualThreadConfiguration configuration = new VirtualThreadConfiguration();
+
+    @Test
+    void customizerKeepsTomcatExecutorWithoutVirtualThreads(CapturedOutput output) {
+        assumeFalse(onJava21());
+        ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+
+        configuration.virtualThreadProtocolHandlerCustomizer().customize(protocolHandler);
+
+        verify(protocolHandler, never()).setExecutor(any());
+        assertThat(output).contains("Virtual threads are enabled but not supported on Java");
+    }
+
+    @Test
+    void customizerGivesTomcatVirtualThreadExecutor() {
+        assumeTrue(onJava21(), RUN_ON_JAVA_21);
+        ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+        ArgumentCaptor<Executor> executor = ArgumentCaptor.forClass(Executor.class);
+
+        configuration.virtualThreadProtocolHandlerCustomizer().customize(protocolHandler);
+        verify(protocolHandler).setExecutor(executor.capture());
+        configuration.shutdown();
+
+        assertThat(executor.getValue()).isInstanceOf(ExecutorService.class);
+        assertThat(((ExecutorService) executor.getValue()).isShutdown()).isTrue();
+    }
+
+    private static boolean onJava21() {
+        return Runtime.version().feature() >= VIRTUAL_THREADS_JAVA_VERSION;
+    }
+}
@@ -0,0 +1,101 @@
+package uk.gov.hmcts.reform.et.syaapi.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@SuppressWarnings({"PMD.DoNotUseThreads"})
+class VirtualThreadExecutorsTest {
+
+    private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+    private static final String RUN_ON_JAVA_21 = "Runs on Java 21 with ./gradlew virtualThreadTest";
+
+    @Test
+    void isSupportedFromJava21() {
+        assertThat(VirtualThreadExecutors.isSupported())
+            .isEqualTo(onJava21());
+    }
+
+    @Test
+    void newExecutorRunsTasksOnNamedVirtualThreads() throws Exception {
+        assumeTrue(onJava21(), RUN_ON_JAVA_21);
+        ExecutorService executor = VirtualThreadExecutors.newExecutor("test-");
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+            assertThat(thread.getName()).startsWith("test-");
+            assertThat(Thread.class.getMethod("isVirtual").invoke(thread)).isEqualTo(true);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void newExecutorFailsWithoutVirtualThreads() {
+        assumeFalse(onJava21());
+
+        assertThrows(IllegalStateException.class, () -> VirtualThreadExecutors.newExecutor("test-"));
+    }
+
+    @Test
+    void newTaskExecutorFallsBackToNamedPoolWhenVirtualThreadsAreDisabled() throws Exception {
+        Executor executor = VirtualThreadExecutors.newTaskExecutor("pool-test-", 1, 0, false);
+        try {
+            CompletableFuture<Thread> thread = CompletableFuture.supplyAsync(Thread::currentThread, executor);
+
+            assertThat(executor).isInstanceOf(ThreadPoolTaskExecutor.class);
+            assertThat(thread.get(5, TimeUnit.SECONDS).getName()).startsWith("pool-test-");
+        } finally {
+            VirtualThreadExecutors.shutdown(executor);
+        }
+    }
+
+    @Test
+    void newTaskExecutorRunsTaskOnCallerWhenPoolIsFull() throws Exception {
+        Executor executor = VirtualThreadExecutors.newTaskExecutor("pool-test-", 1, 0, false);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> awaitQuietly(release));
+
+            Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, executor).get(5, TimeUnit.SECONDS);
+
+            assertThat(thread).isSameAs(Thread.currentThread());
+        } finally {
+            release.countDown();
+            VirtualThreadExecutors.shutdown(executor);
+        }
+    }
+
+    @Test
+    void shutdownStopsPoolAndLeavesOtherExecutorsAsTheyAre() {
+        ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor) VirtualThreadExecutors.newTaskExecutor(
+            "pool-test-", 1, 0, false);
+
+        VirtualThreadExecutors.shutdown(executor);
+        VirtualThreadExecutors.shutdown(Runnable::run);
+
+        assertThat(executor.getThreadPoolExecutor().isShutdown()).isTrue();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean onJava21() {
+        return Runtime.version().feature() >= VIRTUAL_THREADS_JAVA_VERSION;
+    }
+}
@@ -0,0 +1,115 @@
+package uk.gov.hmcts.reform.et.syaapi.config.interceptors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import uk.gov.hmcts.reform.et.syaapi.exception.UploadAdmissionException;
+import uk.gov.hmcts.reform.et.syaapi.service.UploadAdmissionService;
+import uk.gov.hmcts.reform.et.syaapi.service.VerifyTokenService;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.et.syaapi.service.utils.TestConstants.TEST_SERVICE_AUTH_TOKEN;
+
+@ExtendWith(MockitoExtension.class)
+class UploadAdmissionFilterTest {
+
+    private static final String UPLOAD_URL = "/documents/upload/ET_EnglandWales";
+    private static final long MAX_UPLOAD_BYTES = 300L * 1024 * 1024;
+
+    @Mock
+    private UploadAdmissionService uploadAdmissionService;
+    @Mock
+    private VerifyTokenService verifyTokenService;
+    private UploadAdmissionFilter filter;
+    private MockHttpServletResponse response;
+    private MockFilterChain filterChain;
+
+    @BeforeEach
+    void setUp() {
+        filter = new UploadAdmissionFilter(uploadAdmissionService, verifyTokenService, new ObjectMapper(),
+                                           MAX_UPLOAD_BYTES);
+        response = new MockHttpServletResponse();
+        filterChain = new MockFilterChain();
+    }
+
+    @Test
+    void filterAdmitsUploadAndReleasesItAfterRequest() throws Exception {
+        when(verifyTokenService.verifyTokenSignature(TEST_SERVICE_AUTH_TOKEN)).thenReturn(true);
+        UploadAdmissionService.Admission admission = mock(UploadAdmissionService.Admission.class);
+        when(uploadAdmissionService.admit(2048)).thenReturn(admission);
+        MockHttpServletRequest request = uploadRequest();
+        request.setContent(new byte[2048]);
+
+        filter.doFilter(request, response, filterChain);
+
+        assertThat(filterChain.getRequest()).isSameAs(request);
+        verify(admission).close();
+    }
+
+    @Test
+    void filterAdmitsUploadWithoutLengthAsLargestUpload() throws Exception {
+        when(verifyTokenService.verifyTokenSignature(TEST_SERVICE_AUTH_TOKEN)).thenReturn(true);
+        when(uploadAdmissionService.admit(MAX_UPLOAD_BYTES)).thenReturn(() -> { });
+
+        filter.doFilter(uploadRequest(), response, filterChain);
+
+        assertThat(filterChain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void filterRejectsUploadWithRetryAfter() throws Exception {
+        when(verifyTokenService.verifyTokenSignature(TEST_SERVICE_AUTH_TOKEN)).thenReturn(true);
+        when(uploadAdmissionService.admit(anyLong()))
+            .thenThrow(new UploadAdmissionException(2048, Duration.ofSeconds(30)));
+        MockHttpServletRequest request = uploadRequest();
+        request.setContent(new byte[2048]);
+
+        filter.doFilter(request, response, filterChain);
+
+        assertThat(filterChain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        assertThat(response.getContentAsString()).contains("\"code\":503");
+    }
+
+    @Test
+    void filterRejectsUploadWithInvalidTokenBeforeAdmittingIt() throws Exception {
+        MockHttpServletRequest request = uploadRequest();
+        request.setContent(new byte[2048]);
+
+        filter.doFilter(request, response, filterChain);
+
+        assertThat(filterChain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getContentAsString()).contains("\"code\":401");
+        verifyNoInteractions(uploadAdmissionService);
+    }
+
+    @Test
+    void filterIgnoresRequestsOtherThanPost() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", UPLOAD_URL), response, filterChain);
+
+        assertThat(filterChain.getRequest()).isNotNull();
+        verifyNoInteractions(uploadAdmissionService);
+    }
+
+    private static MockHttpServletRequest uploadRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", UPLOAD_URL);
+        request.addHeader(HttpHeaders.AUTHORIZATION, TEST_SERVICE_AUTH_TOKEN);
+        return request;
+    }
+}
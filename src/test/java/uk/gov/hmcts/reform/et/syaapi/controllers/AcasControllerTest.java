@@ -3,13 +3,11 @@ package uk.gov.hmcts.reform.et.syaapi.controllers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
@@ -20,20 +18,24 @@ import uk.gov.hmcts.reform.et.syaapi.SyaApiApplication;
 import uk.gov.hmcts.reform.et.syaapi.constants.EtSyaConstants;
 import uk.gov.hmcts.reform.et.syaapi.models.CaseDocumentAcasResponse;
 import uk.gov.hmcts.reform.et.syaapi.service.AcasCaseService;
+import uk.gov.hmcts.reform.et.syaapi.service.AdminUserService;
 import uk.gov.hmcts.reform.et.syaapi.service.CaseDocumentService;
 import uk.gov.hmcts.reform.et.syaapi.service.VerifyTokenService;
-import uk.gov.hmcts.reform.idam.client.IdamClient;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import javax.servlet.http.HttpServletResponse;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
@@ -48,6 +50,7 @@ class AcasControllerTest {
     private static final String GET_CASE_DATA_URL = "/getCaseData";
     private static final String GET_ACAS_DOCUMENTS_URL = "/getAcasDocuments";
     private static final String DOWNLOAD_ACAS_DOCUMENTS_URL = "/downloadAcasDocuments";
+    private static final byte[] DOCUMENT_CONTENT = "test document content".getBytes();
 
     @Autowired
     private WebApplicationContext webApplicationContext;
@@ -62,14 +65,14 @@ class AcasControllerTest {
     private CaseDocumentService caseDocumentService;
 
     @MockBean
-    private IdamClient idamClient;
+    private AdminUserService adminUserService;
 
     private MockMvc mockMvc;
 
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
-        when(acasCaseService.getCaseData(anyString(), any())).thenReturn(new ArrayList<>());
+        when(acasCaseService.getCaseData(anyString(), any(), any())).thenReturn(new ArrayList<>());
     }
 
     @Test
@@ -125,7 +128,7 @@ class AcasControllerTest {
             .caseTypeId(EtSyaConstants.SCOTLAND_CASE_TYPE)
             .id(123_456_789L)
             .build();
-        when(acasCaseService.getCaseData(AUTH_TOKEN, caseIds)).thenReturn(List.of(caseDetails));
+        when(acasCaseService.getCaseData(AUTH_TOKEN, caseIds, List.of())).thenReturn(List.of(caseDetails));
         when(verifyTokenService.verifyTokenSignature(AUTH_TOKEN)).thenReturn(true);
         mockMvc.perform(get(GET_CASE_DATA_URL)
                             .header(HttpHeaders.AUTHORIZATION, AUTH_TOKEN)
@@ -188,12 +191,14 @@ class AcasControllerTest {
     @Test
     void downloadAcasDocumentsDocumentsFound() throws Exception {
         when(verifyTokenService.verifyTokenSignature(AUTH_TOKEN)).thenReturn(true);
-        when(idamClient.getAccessToken(anyString(), anyString())).thenReturn(AUTH_TOKEN);
-        when(caseDocumentService.downloadDocument(anyString(), any())).thenReturn(getDocumentBinaryContent());
+        when(adminUserService.getAdminUserToken()).thenReturn(AUTH_TOKEN);
+        doAnswer(AcasControllerTest::writeDocumentContent).when(caseDocumentService)
+            .streamDocument(anyString(), any(), any(), any());
         mockMvc.perform(get(DOWNLOAD_ACAS_DOCUMENTS_URL)
                             .header(HttpHeaders.AUTHORIZATION, AUTH_TOKEN)
                             .param("documentId", UUID.randomUUID().toString()))
-            .andExpect(status().isOk());
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(DOCUMENT_CONTENT));
     }
 
     @Test
@@ -213,13 +218,10 @@ class AcasControllerTest {
             .andExpect(status().isForbidden());
     }
 
-    private ResponseEntity<ByteArrayResource> getDocumentBinaryContent() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-Type", "application/json; charset=utf-8");
-        return new ResponseEntity<>(
-            new ByteArrayResource("test document content".getBytes()),
-            headers,
-            HttpStatus.OK
-        );
+    private static Object writeDocumentContent(InvocationOnMock invocation) throws IOException {
+        HttpServletResponse response = invocation.getArgument(3);
+        response.setContentType("application/json; charset=utf-8");
+        response.getOutputStream().write(DOCUMENT_CONTENT);
+        return null;
     }
 }
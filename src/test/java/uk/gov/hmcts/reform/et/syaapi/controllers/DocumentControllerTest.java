@@ -1,10 +1,10 @@
 package uk.gov.hmcts.reform.et.syaapi.controllers;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -16,10 +16,17 @@ import uk.gov.hmcts.reform.et.syaapi.service.CaseDocumentService;
 import uk.gov.hmcts.reform.et.syaapi.service.VerifyTokenService;
 import uk.gov.hmcts.reform.et.syaapi.service.utils.ResourceLoader;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.UUID;
+import javax.servlet.http.HttpServletResponse;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -35,6 +42,7 @@ class DocumentControllerTest {
 
     private static final UUID DOCUMENT_ID = UUID.fromString("0d94b4e4-4659-47ad-a640-c63517c76706");
     private static final String NOT_FOUND_MESSAGE = "Document not found";
+    private static final byte[] DOCUMENT_CONTENT = "test document content".getBytes();
 
     @Autowired
     private MockMvc mockMvc;
@@ -48,21 +56,35 @@ class DocumentControllerTest {
     @Test
     void documentBinaryContentSuccess() throws Exception {
         when(verifyTokenService.verifyTokenSignature(any())).thenReturn(true);
-        when(caseDocumentService.downloadDocument(TEST_SERVICE_AUTH_TOKEN, DOCUMENT_ID))
-            .thenReturn(getDocumentBinaryContent());
+        doAnswer(DocumentControllerTest::writeDocumentContent).when(caseDocumentService)
+            .streamDocument(eq(TEST_SERVICE_AUTH_TOKEN), eq(DOCUMENT_ID), any(), any());
 
         mockMvc.perform(get("/document/download/" + DOCUMENT_ID)
                             .contentType(MediaType.APPLICATION_JSON)
                             .header(HttpHeaders.AUTHORIZATION, TEST_SERVICE_AUTH_TOKEN))
             .andExpect(status().isOk())
-            .andExpect(content().bytes(getDocumentBinaryContent().getBody().getByteArray()));
+            .andExpect(content().bytes(DOCUMENT_CONTENT));
+    }
+
+    @Test
+    void documentBinaryContentForwardsRange() throws Exception {
+        when(verifyTokenService.verifyTokenSignature(any())).thenReturn(true);
+
+        mockMvc.perform(get("/document/download/" + DOCUMENT_ID)
+                            .header(HttpHeaders.AUTHORIZATION, TEST_SERVICE_AUTH_TOKEN)
+                            .header(HttpHeaders.RANGE, "bytes=5-"))
+            .andExpect(status().isOk());
+
+        verify(caseDocumentService).streamDocument(
+            eq(TEST_SERVICE_AUTH_TOKEN), eq(DOCUMENT_ID),
+            argThat(headers -> "bytes=5-".equals(headers.getFirst(HttpHeaders.RANGE))), any());
     }
 
     @Test
     void documentBinaryContentResourceNotFound() throws Exception {
         when(verifyTokenService.verifyTokenSignature(any())).thenReturn(true);
-        when(caseDocumentService.downloadDocument(TEST_SERVICE_AUTH_TOKEN, DOCUMENT_ID))
-            .thenThrow(new ResourceNotFoundException(NOT_FOUND_MESSAGE, null));
+        doThrow(new ResourceNotFoundException(NOT_FOUND_MESSAGE, null)).when(caseDocumentService)
+            .streamDocument(eq(TEST_SERVICE_AUTH_TOKEN), eq(DOCUMENT_ID), any(), any());
 
         mockMvc.perform(get("/document/download/" + DOCUMENT_ID)
                             .contentType(MediaType.APPLICATION_JSON)
@@ -99,14 +121,11 @@ class DocumentControllerTest {
             .andExpect(jsonPath("$.message").value("Document not found"));
     }
 
-    private ResponseEntity<ByteArrayResource> getDocumentBinaryContent() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-Type", "application/json; charset=utf-8");
-        return new ResponseEntity<>(
-            new ByteArrayResource("test document content".getBytes()),
-            headers,
-            HttpStatus.OK
-        );
+    private static Object writeDocumentContent(InvocationOnMock invocation) throws IOException {
+        HttpServletResponse response = invocation.getArgument(3);
+        response.setContentType("application/json; charset=utf-8");
+        response.getOutputStream().write(DOCUMENT_CONTENT);
+        return null;
     }
 
     private ResponseEntity<CaseDocument> getDocumentDetails() {
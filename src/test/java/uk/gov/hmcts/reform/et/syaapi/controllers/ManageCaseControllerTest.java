@@ -5,13 +5,16 @@ import feign.Request;
 import feign.RequestTemplate;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
 import uk.gov.hmcts.et.common.model.ccd.types.TseRespondType;
 import uk.gov.hmcts.et.common.model.ccd.types.citizenhub.ClaimantTse;
 import uk.gov.hmcts.et.common.model.ccd.types.citizenhub.HubLinksStatuses;
@@ -33,13 +36,19 @@ import uk.gov.hmcts.reform.et.syaapi.service.utils.ResourceLoader;
 import uk.gov.hmcts.reform.idam.client.IdamClient;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import javax.servlet.http.HttpServletResponse;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -65,6 +74,7 @@ class ManageCaseControllerTest {
 
     private static final String CASE_ID = "1646225213651590";
     private static final String USER_ID = "1234";
+    private static final Map<String, List<String>> USER_CASE_IDS = Map.of(SCOTLAND_CASE_TYPE, List.of(CASE_ID));
 
     private static final String UPDATE_CASE_SUBMITTED_API_URL = "/cases/update-case-submitted";
 
@@ -136,9 +146,10 @@ class ManageCaseControllerTest {
     void shouldGetCaseDetailsByUser() {
         when(verifyTokenService.verifyTokenSignature(any())).thenReturn(true);
         when(idamClient.getUserInfo(TEST_SERVICE_AUTH_TOKEN)).thenReturn(UserInfo.builder().uid(USER_ID).build());
-        when(manageCaseRoleService.getUserCasesByCaseUserRole(
-            TEST_SERVICE_AUTH_TOKEN, CASE_USER_ROLE_CREATOR
-        )).thenReturn(requestCaseDataList);
+        when(manageCaseRoleService.findUserCaseIdsByCaseUserRole(TEST_SERVICE_AUTH_TOKEN, CASE_USER_ROLE_CREATOR))
+            .thenReturn(USER_CASE_IDS);
+        doAnswer(invocation -> writeCases(invocation, requestCaseDataList)).when(manageCaseRoleService)
+            .writeUserCases(eq(TEST_SERVICE_AUTH_TOKEN), eq(USER_CASE_IDS), eq(CASE_USER_ROLE_CREATOR), any());
 
         // when
         mockMvc.perform(
@@ -160,9 +171,10 @@ class ManageCaseControllerTest {
     void shouldGetCaseDetailsByDefendantUser() {
         when(verifyTokenService.verifyTokenSignature(any())).thenReturn(true);
         when(idamClient.getUserInfo(TEST_SERVICE_AUTH_TOKEN)).thenReturn(UserInfo.builder().uid(USER_ID).build());
-        when(manageCaseRoleService.getUserCasesByCaseUserRole(
-            TEST_SERVICE_AUTH_TOKEN, CASE_USER_ROLE_DEFENDANT
-        )).thenReturn(requestCaseDataList);
+        when(manageCaseRoleService.findUserCaseIdsByCaseUserRole(TEST_SERVICE_AUTH_TOKEN, CASE_USER_ROLE_DEFENDANT))
+            .thenReturn(USER_CASE_IDS);
+        doAnswer(invocation -> writeCases(invocation, requestCaseDataList)).when(manageCaseRoleService)
+            .writeUserCases(eq(TEST_SERVICE_AUTH_TOKEN), eq(USER_CASE_IDS), eq(CASE_USER_ROLE_DEFENDANT), any());
 
         // when
         mockMvc.perform(
@@ -179,6 +191,25 @@ class ManageCaseControllerTest {
             .andExpect(jsonPath("[1].case_type_id").value(requestCaseDataList.get(1).getCaseTypeId()));
     }
 
+    @Test
+    @SneakyThrows
+    void shouldReturnCcdErrorStatusWhenUserCasesSearchFails() {
+        when(verifyTokenService.verifyTokenSignature(any())).thenReturn(true);
+        when(idamClient.getUserInfo(TEST_SERVICE_AUTH_TOKEN)).thenReturn(UserInfo.builder().uid(USER_ID).build());
+        when(manageCaseRoleService.findUserCaseIdsByCaseUserRole(TEST_SERVICE_AUTH_TOKEN, CASE_USER_ROLE_CREATOR))
+            .thenReturn(USER_CASE_IDS);
+        doThrow(new ResponseStatusException(HttpStatus.FORBIDDEN, "CCD case search failed"))
+            .when(manageCaseRoleService)
+            .writeUserCases(eq(TEST_SERVICE_AUTH_TOKEN), eq(USER_CASE_IDS), eq(CASE_USER_ROLE_CREATOR), any());
+
+        mockMvc.perform(
+                get("/cases/user-cases")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.AUTHORIZATION, TEST_SERVICE_AUTH_TOKEN))
+            .andExpect(status().isForbidden())
+            .andExpect(jsonPath("$.code").value(403));
+    }
+
     @Test
     @SneakyThrows
     void shouldReturnBadRequestForNonExistingItem() {
@@ -468,4 +499,12 @@ class ManageCaseControllerTest {
                             .content(ResourceLoader.toJson(caseRequest)))
             .andExpect(status().isOk());
     }
+
+    private static Object writeCases(InvocationOnMock invocation, List<CaseDetails> caseDetailsList)
+        throws IOException {
+        HttpServletResponse response = invocation.getArgument(3);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(ResourceLoader.toJson(caseDetailsList).getBytes(StandardCharsets.UTF_8));
+        return null;
+    }
 }
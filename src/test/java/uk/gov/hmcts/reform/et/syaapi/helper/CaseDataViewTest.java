@@ -0,0 +1,80 @@
+package uk.gov.hmcts.reform.et.syaapi.helper;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.et.common.model.ccd.items.DocumentTypeItem;
+import uk.gov.hmcts.et.common.model.ccd.types.citizenhub.HubLinksStatuses;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaseDataViewTest {
+
+    private static final String DOCUMENT_COLLECTION = "documentCollection";
+    private static final String RESPONDENT_COLLECTION = "respondentCollection";
+    private static final TypeReference<List<DocumentTypeItem>> DOCUMENT_COLLECTION_TYPE = new TypeReference<>() {};
+
+    private Map<String, Object> data;
+    private Map<String, Object> respondent;
+
+    @BeforeEach
+    void setUp() {
+        respondent = new LinkedHashMap<>();
+        respondent.put("id", "1");
+        respondent.put("value", Map.of("respondent_name", "Test Respondent"));
+        data = new LinkedHashMap<>();
+        data.put("ethosCaseReference", "6000001/2024");
+        data.put(DOCUMENT_COLLECTION, new ArrayList<>(List.of(
+            Map.of("id", "1", "value", Map.of("typeOfDocument", "ET1")))));
+        data.put(RESPONDENT_COLLECTION, List.of(respondent));
+    }
+
+    @Test
+    void getConvertsFieldOnFirstRead() {
+        CaseDataView caseDataView = new CaseDataView(data);
+
+        List<DocumentTypeItem> documents = caseDataView.get(DOCUMENT_COLLECTION, DOCUMENT_COLLECTION_TYPE);
+
+        assertThat(documents).hasSize(1);
+        assertThat(documents.get(0).getValue().getTypeOfDocument()).isEqualTo("ET1");
+        assertThat(caseDataView.get(DOCUMENT_COLLECTION, DOCUMENT_COLLECTION_TYPE)).isSameAs(documents);
+        assertThat(caseDataView.get("ethosCaseReference", String.class)).isEqualTo("6000001/2024");
+    }
+
+    @Test
+    void getDataWritesBackOnlyFieldsReadOrSet() {
+        CaseDataView caseDataView = new CaseDataView(data);
+        caseDataView.get(DOCUMENT_COLLECTION, DOCUMENT_COLLECTION_TYPE)
+            .add(DocumentTypeItem.builder().id("2").build());
+        HubLinksStatuses hubLinksStatuses = new HubLinksStatuses();
+        caseDataView.set("hubLinksStatuses", hubLinksStatuses);
+
+        Map<String, Object> result = caseDataView.getData();
+
+        assertThat(result).isSameAs(data);
+        assertThat(result.get(DOCUMENT_COLLECTION)).asList().hasSize(2);
+        assertThat(result).containsEntry("hubLinksStatuses", hubLinksStatuses);
+        assertThat(((List<?>) result.get(RESPONDENT_COLLECTION)).get(0)).isSameAs(respondent);
+    }
+
+    @Test
+    void getDataDoesNotAddFieldsMissingFromCase() {
+        CaseDataView caseDataView = new CaseDataView(data);
+
+        assertThat(caseDataView.get("sendNotificationCollection", new TypeReference<List<Object>>() {})).isNull();
+        assertThat(caseDataView.getData()).doesNotContainKey("sendNotificationCollection");
+    }
+
+    @Test
+    void sizeOfCountsItemsWithoutConvertingThem() {
+        CaseDataView caseDataView = new CaseDataView(data);
+
+        assertThat(caseDataView.sizeOf(RESPONDENT_COLLECTION)).isEqualTo(1);
+        assertThat(caseDataView.sizeOf("genericTseApplicationCollection")).isZero();
+    }
+}
@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.et.syaapi.helper;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,7 +36,7 @@ class CaseDetailsConverterTest {
 
     @Test
     void shouldGetCaseDetailsConverter() {
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
         CaseDetailsConverter caseDetailsConverter = new CaseDetailsConverter(objectMapper);
         caseDetailsConverter.et1ToCaseDataContent(startEventResponse, et1CaseData);
         assertThat(caseDetailsConverter.toCaseData(expectedDetails).getCaseSource())
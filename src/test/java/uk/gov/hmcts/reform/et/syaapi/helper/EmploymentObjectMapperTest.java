@@ -6,6 +6,7 @@ import org.mockito.Mock;
 import org.springframework.context.annotation.Import;
 import uk.gov.hmcts.et.common.model.ccd.CaseData;
 import uk.gov.hmcts.et.common.model.ccd.Et1CaseData;
+import uk.gov.hmcts.reform.et.syaapi.config.JacksonConfiguration;
 import uk.gov.hmcts.reform.et.syaapi.model.CaseTestData;
 
 import java.util.Map;
@@ -41,6 +42,22 @@ class EmploymentObjectMapperTest {
         assertThat(et1CaseData).isNull();
     }
 
+    @Test
+    void shouldShareSpringObjectMapper() {
+        assertThat(new JacksonConfiguration().objectMapper()).isSameAs(EmployeeObjectMapper.getObjectMapper());
+    }
+
+    @Test
+    void shouldLeaveEmptyValuesOutOfCaseDataMap() {
+        CaseData caseData = new CaseData();
+        caseData.setCaseNotes("");
+        caseData.setManagingOffice("Leeds");
+
+        Map<String, Object> caseDataMap = EmployeeObjectMapper.mapCaseDataToLinkedHashMap(caseData);
+
+        assertThat(caseDataMap).containsEntry("managingOffice", "Leeds").doesNotContainKey("caseNotes");
+    }
+
     @Test
     void shouldMapCaseRequestToCaseData() {
         Map<String, Object> requestCaseData = caseTestData.getCaseRequestCaseDataMap();
@@ -0,0 +1,106 @@
+package uk.gov.hmcts.reform.et.syaapi.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import uk.gov.hmcts.reform.ccd.client.model.CaseDetails;
+import uk.gov.hmcts.reform.ccd.client.model.SearchResult;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CaseSearchPagerTest {
+
+    private static final String QUERY = "{\"size\":10000,\"query\":{\"match_all\":{}},\"_source\":[\"reference\"]}";
+    private static final Instant NO_DEADLINE = Instant.MAX;
+
+    @Test
+    void streamRequestsPagesUntilPartialPage() {
+        List<String> pageQueries = new ArrayList<>();
+        List<SearchResult> pages = List.of(page(1, 2), page(3, 4), page(5, 5));
+        CaseSearchPager caseSearchPager = new CaseSearchPager(2);
+
+        List<Long> ids = caseSearchPager.stream(QUERY, pageQuery -> {
+            pageQueries.add(pageQuery);
+            return pages.get(pageQueries.size() - 1);
+        }, NO_DEADLINE).map(CaseDetails::getId).toList();
+
+        assertThat(ids).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(pageQueries).containsExactly(
+            "{\"size\":2,\"sort\":[{\"reference.keyword\":\"asc\"}],"
+                + "\"query\":{\"match_all\":{}},\"_source\":[\"reference\"]}",
+            "{\"size\":2,\"sort\":[{\"reference.keyword\":\"asc\"}],\"search_after\":[\"2\"],"
+                + "\"query\":{\"match_all\":{}},\"_source\":[\"reference\"]}",
+            "{\"size\":2,\"sort\":[{\"reference.keyword\":\"asc\"}],\"search_after\":[\"4\"],"
+                + "\"query\":{\"match_all\":{}},\"_source\":[\"reference\"]}"
+        );
+    }
+
+    @Test
+    void streamStopsOnEmptyPage() {
+        List<String> pageQueries = new ArrayList<>();
+        CaseSearchPager caseSearchPager = new CaseSearchPager(2);
+
+        List<CaseDetails> cases = caseSearchPager.stream(QUERY, pageQuery -> {
+            pageQueries.add(pageQuery);
+            return pageQueries.size() == 1 ? page(1, 2) : SearchResult.builder().build();
+        }, NO_DEADLINE).toList();
+
+        assertThat(cases).hasSize(2);
+        assertThat(pageQueries).hasSize(2);
+    }
+
+    @Test
+    void streamRequestsNoPageUntilConsumed() {
+        List<String> pageQueries = new ArrayList<>();
+        CaseSearchPager caseSearchPager = new CaseSearchPager(2);
+
+        List<Long> firstId = caseSearchPager.stream(QUERY, pageQuery -> {
+            pageQueries.add(pageQuery);
+            return page(1, 2);
+        }, NO_DEADLINE).limit(1).map(CaseDetails::getId).toList();
+
+        assertThat(firstId).containsExactly(1L);
+        assertThat(pageQueries).hasSize(1);
+    }
+
+    @Test
+    void streamRequestsNoPageAfterDeadline() {
+        List<String> pageQueries = new ArrayList<>();
+        CaseSearchPager caseSearchPager = new CaseSearchPager(2);
+        Stream<CaseDetails> cases = caseSearchPager.stream(QUERY, pageQuery -> {
+            pageQueries.add(pageQuery);
+            return page(1, 2);
+        }, Instant.now().minusSeconds(1));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, cases::toList);
+
+        assertThat(exception.getStatus()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(pageQueries).isEmpty();
+    }
+
+    @Test
+    void shouldRejectInvalidPageSize() {
+        assertThrows(IllegalArgumentException.class, () -> new CaseSearchPager(0));
+    }
+
+    @Test
+    void shouldRejectQueryWhichIsNotJsonObject() {
+        CaseSearchPager caseSearchPager = new CaseSearchPager(2);
+        assertThrows(IllegalArgumentException.class,
+                     () -> caseSearchPager.stream("[]", pageQuery -> SearchResult.builder().build(), NO_DEADLINE));
+    }
+
+    private static SearchResult page(long firstId, long lastId) {
+        List<CaseDetails> cases = LongStream.rangeClosed(firstId, lastId)
+            .mapToObj(id -> CaseDetails.builder().id(id).build())
+            .toList();
+        return SearchResult.builder().cases(cases).total(cases.size()).build();
+    }
+}
@@ -3,8 +3,12 @@ package uk.gov.hmcts.reform.et.syaapi.search;
 import org.junit.jupiter.api.Test;
 import uk.gov.hmcts.reform.et.syaapi.models.FindCaseForRoleModificationRequest;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static uk.gov.hmcts.reform.et.syaapi.service.utils.TestConstants.EXPECTED_QUERY_BY_ETHOS_CASE_REFERENCE;
+import static uk.gov.hmcts.reform.et.syaapi.service.utils.TestConstants.EXPECTED_QUERY_BY_ID;
 import static uk.gov.hmcts.reform.et.syaapi.service.utils.TestConstants.EXPECTED_QUERY_BY_ROLE_MODIFICATION_REQUEST;
 import static uk.gov.hmcts.reform.et.syaapi.service.utils.TestConstants.EXPECTED_QUERY_BY_SUBMISSION_REFERENCE;
 import static uk.gov.hmcts.reform.et.syaapi.service.utils.TestConstants.TEST_ETHOS_CASE_REFERENCE;
@@ -41,4 +45,47 @@ class ElasticSearchQueryBuilderTest {
         assertThat(ElasticSearchQueryBuilder.buildByEthosCaseReference(TEST_ETHOS_CASE_REFERENCE))
             .isEqualTo(EXPECTED_QUERY_BY_ETHOS_CASE_REFERENCE);
     }
+
+    @Test
+    void theBuildByCaseReferencesWithoutSourceFields() {
+        assertThat(ElasticSearchQueryBuilder.buildByCaseReferences(List.of("1", "2"), 10, List.of()))
+            .isEqualTo("{\"size\":10,\"query\":{\"bool\":{\"filter\":[{\"terms\":"
+                           + "{\"reference.keyword\":[\"1\",\"2\"],\"boost\":1.0}}],\"boost\":1.0}}}");
+    }
+
+    @Test
+    void theBuildByCaseReferencesWithSourceFields() {
+        assertThat(ElasticSearchQueryBuilder.buildByCaseReferences(
+            List.of("1\""), 1, List.of("data.documentCollection", "reference")))
+            .isEqualTo("{\"size\":1,\"query\":{\"bool\":{\"filter\":[{\"terms\":"
+                           + "{\"reference.keyword\":[\"1\\\"\"],\"boost\":1.0}}],\"boost\":1.0}},"
+                           + "\"_source\":[\"reference\",\"data.documentCollection\"]}");
+    }
+
+    @Test
+    void theBuildBySubmissionReferenceAndState() {
+        assertThat(ElasticSearchQueryBuilder.buildBySubmissionReferenceAndState("1234567890123456", "Accepted"))
+            .isEqualTo(EXPECTED_QUERY_BY_ID);
+    }
+
+    @Test
+    void theBuildBySubmissionReferenceEscapesValue() {
+        assertThat(ElasticSearchQueryBuilder.buildBySubmissionReference("1\"}},{\"match_all\":{"))
+            .isEqualTo("{\"size\":1,\"query\":{\"bool\":{\"must\":[{\"match\":{\"reference.keyword\":"
+                           + "{\"query\":\"1\\\"}},{\\\"match_all\\\":{\"}}}],\"boost\":1.0}}}");
+    }
+
+    @Test
+    void theBuildAllCaseReferences() {
+        assertThat(ElasticSearchQueryBuilder.buildAllCaseReferences())
+            .isEqualTo("{\"size\":10000,\"query\":{\"match_all\":{}},\"_source\":[\"reference\"]}");
+    }
+
+    @Test
+    void theBuildByLastModifiedFrom() {
+        assertThat(ElasticSearchQueryBuilder.buildByLastModifiedFrom(LocalDateTime.of(2022, 9, 1, 12, 34)))
+            .isEqualTo("{\"query\":{\"bool\":{\"filter\":[{\"range\":{\"last_modified\":"
+                           + "{\"gte\":\"2022-09-01T12:34\",\"boost\":1.0}}}],\"boost\":1.0}},"
+                           + "\"_source\":[\"reference\"]}");
+    }
 }
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.et.common.model.ccd.types.UploadedDocumentType;
 import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
@@ -14,35 +15,52 @@ import uk.gov.hmcts.reform.ccd.client.model.SearchResult;
 import uk.gov.hmcts.reform.et.syaapi.constants.EtSyaConstants;
 import uk.gov.hmcts.reform.et.syaapi.model.CaseTestData;
 import uk.gov.hmcts.reform.et.syaapi.models.CaseDocumentAcasResponse;
+import uk.gov.hmcts.reform.et.syaapi.search.CaseSearchPager;
 import uk.gov.hmcts.reform.et.syaapi.service.utils.data.TestDataProvider;
-import uk.gov.hmcts.reform.idam.client.IdamClient;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.when;
 import static uk.gov.hmcts.ecm.common.model.helper.Constants.MAX_ES_SIZE;
+import static uk.gov.hmcts.ecm.common.model.helper.DocumentConstants.ET1;
+import static uk.gov.hmcts.ecm.common.model.helper.DocumentConstants.ET1_VETTING;
 import static uk.gov.hmcts.reform.et.syaapi.service.utils.TestConstants.TEST_SERVICE_AUTH_TOKEN;
 
 @EqualsAndHashCode
 @ExtendWith(MockitoExtension.class)
 class AcasCaseServiceTest {
 
+    private static final int SEARCH_PAGE_SIZE = 100;
+
     @Mock
     private AuthTokenGenerator authTokenGenerator;
     @Mock
     private CoreCaseDataApi ccdApiClient;
     @Mock
-    private IdamClient idamClient;
+    private AdminUserService adminUserService;
     @Mock
     private CaseDocumentService caseDocumentService;
+    @Mock
+    private CaseDocumentDetailsService caseDocumentDetailsService;
+    @Spy
+    private CaseTypeFanOutService caseTypeFanOutService = new CaseTypeFanOutService(Runnable::run,
+                                                                                    Duration.ofSeconds(10));
+    @Spy
+    private CaseSearchPager caseSearchPager = new CaseSearchPager(SEARCH_PAGE_SIZE);
     @InjectMocks
     private AcasCaseService acasCaseService;
     private final CaseTestData testData;
@@ -117,29 +135,10 @@ class AcasCaseServiceTest {
     }
 
     private String generateCaseDataEsQueryWithDate(LocalDateTime requestDateTime) {
-        return """
-            {
-              "size": %d,
-              "query": {
-                "bool": {
-                  "filter": [
-                    {
-                      "range": {
-                        "last_modified": {
-                          "gte": "%s",
-                          "boost": 1.0
-                        }
-                      }
-                    }
-                  ],
-                  "boost": 1.0
-                }
-              },
-              "_source": [
-                "reference"
-              ]
-            }
-            """.formatted(MAX_ES_SIZE, requestDateTime.toString());
+        return "{\"size\":%d,\"sort\":[{\"reference.keyword\":\"asc\"}],\"query\":{\"bool\":{\"filter\":[{\"range\":"
+            .formatted(SEARCH_PAGE_SIZE)
+            + "{\"last_modified\":{\"gte\":\"%s\",\"boost\":1.0}}}],\"boost\":1.0}},\"_source\":[\"reference\"]}"
+            .formatted(requestDateTime.toString());
     }
 
     @Test
@@ -200,29 +199,24 @@ class AcasCaseServiceTest {
     }
 
     private String generateCaseDataEsQuery(List<String> caseIds) {
-        return """
-            {
-              "size": %d,
-              "query": {
-                "bool": {
-                  "filter": [
-                    {
-                      "terms": {
-                        "reference.keyword": %s,
-                        "boost": 1.0
-                      }
-                    }
-                  ],
-                  "boost": 1.0
-                }
-              }
-            }
-            """.formatted(MAX_ES_SIZE, caseIds);
+        return "{\"size\":%d,\"query\":{\"bool\":{\"filter\":[{\"terms\":{\"reference.keyword\":[\"%s\"],"
+            .formatted(MAX_ES_SIZE, String.join("\",\"", caseIds))
+            + "\"boost\":1.0}}],\"boost\":1.0}}}";
+    }
+
+    private String generateAcasDocumentsEsQuery(String caseId) {
+        return "{\"size\":%d,\"query\":{\"bool\":{\"filter\":[{\"terms\":{\"reference.keyword\":[\"%s\"],"
+            .formatted(MAX_ES_SIZE, caseId)
+            + "\"boost\":1.0}}],\"boost\":1.0}},\"_source\":[\"reference\",\"data.documentCollection\","
+            + "\"data.claimantRequests.claim_description_document\",\"data.respondentCollection.id\","
+            + "\"data.respondentCollection.value.et3Form\","
+            + "\"data.respondentCollection.value.et3ResponseRespondentSupportDocument\","
+            + "\"data.respondentCollection.value.et3ResponseContestClaimDocument\"]}";
     }
 
     @Test
     void retrieveAcasDocuments() {
-        when(idamClient.getAccessToken(any(), any())).thenReturn(TEST_SERVICE_AUTH_TOKEN);
+        when(adminUserService.getAdminUserToken()).thenReturn(TEST_SERVICE_AUTH_TOKEN);
 
         String caseId = "1646225213651598";
         SearchResult englandWalesSearchResult = SearchResult.builder()
@@ -238,21 +232,62 @@ class AcasCaseServiceTest {
         when(ccdApiClient.searchCases(
             TEST_SERVICE_AUTH_TOKEN,
             TEST_SERVICE_AUTH_TOKEN,
-            EtSyaConstants.ENGLAND_CASE_TYPE, generateCaseDataEsQuery(Collections.singletonList(caseId))
+            EtSyaConstants.ENGLAND_CASE_TYPE, generateAcasDocumentsEsQuery(caseId)
         )).thenReturn(englandWalesSearchResult);
         when(ccdApiClient.searchCases(
             TEST_SERVICE_AUTH_TOKEN,
             TEST_SERVICE_AUTH_TOKEN,
-            EtSyaConstants.SCOTLAND_CASE_TYPE, generateCaseDataEsQuery(Collections.singletonList(caseId))
+            EtSyaConstants.SCOTLAND_CASE_TYPE, generateAcasDocumentsEsQuery(caseId)
         )).thenReturn(scotlandSearchResult);
         doCallRealMethod().when(caseDocumentService).createDocumentTypeItem(
             isA(String.class), isA(UploadedDocumentType.class));
 
         doCallRealMethod().when(caseDocumentService).getDocumentUuid(isA(String.class));
-        when(caseDocumentService.getDocumentDetails(any(), any()))
-            .thenReturn(TestDataProvider.getDocumentDetailsFromCdam());
+        when(caseDocumentDetailsService.getDocumentDetails(any(), anyCollection())).thenAnswer(invocation -> {
+            Collection<UUID> documentIds = invocation.getArgument(1);
+            return documentIds.stream().distinct().collect(Collectors.toMap(
+                Function.identity(), documentId -> TestDataProvider.getDocumentDetailsFromCdam().getBody()));
+        });
         List<CaseDocumentAcasResponse> documents = acasCaseService.retrieveAcasDocuments(caseId);
         assertNotNull(documents);
-        assertThat(documents).hasSize(5);
+        assertThat(documents).hasSize(5)
+            .allSatisfy(document -> assertThat(document.getModifiedOn()).isEqualTo("modifiedOn"));
+    }
+
+    @Test
+    void retrieveAcasDocumentsListsEachCaseDocumentOnce() {
+        String caseId = "1646225213651598";
+        String documentUrl = "http://dm-store/documents/" + UUID.randomUUID();
+        Map<String, Object> visibleDocument = Map.of("id", "1", "value", Map.of(
+            "typeOfDocument", ET1, "uploadedDocument", Map.of("document_url", documentUrl)));
+        Map<String, Object> hiddenDocument = Map.of("id", "2", "value", Map.of(
+            "typeOfDocument", ET1_VETTING,
+            "uploadedDocument", Map.of("document_url", "http://dm-store/documents/" + UUID.randomUUID())));
+        CaseDetails caseDetails = CaseDetails.builder()
+            .data(Map.of("documentCollection", List.of(visibleDocument, hiddenDocument, visibleDocument)))
+            .build();
+        when(adminUserService.getAdminUserToken()).thenReturn(TEST_SERVICE_AUTH_TOKEN);
+        when(authTokenGenerator.generate()).thenReturn(TEST_SERVICE_AUTH_TOKEN);
+        when(ccdApiClient.searchCases(
+            TEST_SERVICE_AUTH_TOKEN,
+            TEST_SERVICE_AUTH_TOKEN,
+            EtSyaConstants.ENGLAND_CASE_TYPE, generateAcasDocumentsEsQuery(caseId)
+        )).thenReturn(SearchResult.builder().total(1).cases(List.of(caseDetails)).build());
+        when(ccdApiClient.searchCases(
+            TEST_SERVICE_AUTH_TOKEN,
+            TEST_SERVICE_AUTH_TOKEN,
+            EtSyaConstants.SCOTLAND_CASE_TYPE, generateAcasDocumentsEsQuery(caseId)
+        )).thenReturn(SearchResult.builder().total(0).build());
+        doCallRealMethod().when(caseDocumentService).getDocumentUuid(isA(String.class));
+        when(caseDocumentDetailsService.getDocumentDetails(any(), anyCollection())).thenReturn(Map.of());
+
+        List<CaseDocumentAcasResponse> documents = acasCaseService.retrieveAcasDocuments(caseId);
+
+        assertThat(documents).singleElement()
+            .satisfies(document -> {
+                assertThat(document.getDocumentId()).isEqualTo(documentUrl.substring(documentUrl.lastIndexOf('/') + 1));
+                assertThat(document.getDocumentType()).isEqualTo(ET1);
+                assertThat(document.getModifiedOn()).isEqualTo("No date found");
+            });
     }
 }
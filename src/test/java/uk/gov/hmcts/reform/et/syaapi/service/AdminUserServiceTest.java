@@ -0,0 +1,163 @@
+package uk.gov.hmcts.reform.et.syaapi.service;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.PlainJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import uk.gov.hmcts.reform.idam.client.IdamClient;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdminUserServiceTest {
+
+    private static final String USER_NAME = "caseworker@example.com";
+    private static final String PASSWORD = "password";
+    private static final String OPAQUE_TOKEN = "opaque-token";
+
+    @Mock
+    private IdamClient idamClient;
+
+    private MeterRegistry meterRegistry;
+    private TestClock clock;
+    private AdminUserService adminUserService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new TestClock(Instant.parse("2024-01-01T10:00:00Z"));
+        adminUserService = new AdminUserService(idamClient, meterRegistry, clock);
+        ReflectionTestUtils.setField(adminUserService, "apiCallUserName", USER_NAME);
+        ReflectionTestUtils.setField(adminUserService, "apiCallUserPassword", PASSWORD);
+        ReflectionTestUtils.setField(adminUserService, "refreshAhead", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(adminUserService, "defaultTimeToLive", Duration.ofMinutes(30));
+    }
+
+    @Test
+    void getAdminUserTokenAddsBearerPrefix() {
+        when(idamClient.getAccessToken(USER_NAME, PASSWORD)).thenReturn(OPAQUE_TOKEN);
+
+        assertThat(adminUserService.getAdminUserToken()).isEqualTo("Bearer " + OPAQUE_TOKEN);
+    }
+
+    @Test
+    void getAdminUserTokenReusesTokenUntilRefreshIsDue() {
+        String token = bearerJwtExpiringAt(clock.instant().plus(Duration.ofHours(1)));
+        when(idamClient.getAccessToken(USER_NAME, PASSWORD)).thenReturn(token);
+
+        assertThat(adminUserService.getAdminUserToken()).isEqualTo(token);
+        clock.advance(Duration.ofMinutes(54));
+        assertThat(adminUserService.getAdminUserToken()).isEqualTo(token);
+
+        verify(idamClient, times(1)).getAccessToken(USER_NAME, PASSWORD);
+        assertThat(meterRegistry.counter(AdminUserService.TOKEN_REQUESTS_METRIC, "source", "cache").count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void getAdminUserTokenRefreshesTokenBeforeExpiry() {
+        String firstToken = bearerJwtExpiringAt(clock.instant().plus(Duration.ofHours(1)));
+        String secondToken = bearerJwtExpiringAt(clock.instant().plus(Duration.ofHours(2)));
+        when(idamClient.getAccessToken(USER_NAME, PASSWORD)).thenReturn(firstToken, secondToken);
+
+        adminUserService.getAdminUserToken();
+        clock.advance(Duration.ofMinutes(56));
+
+        assertThat(adminUserService.getAdminUserToken()).isEqualTo(secondToken);
+        assertThat(meterRegistry.counter(AdminUserService.TOKEN_REFRESHES_METRIC, "outcome", "success").count())
+            .isEqualTo(2.0);
+    }
+
+    @Test
+    void getAdminUserTokenKeepsValidTokenWhenRefreshFails() {
+        String token = bearerJwtExpiringAt(clock.instant().plus(Duration.ofHours(1)));
+        when(idamClient.getAccessToken(USER_NAME, PASSWORD))
+            .thenReturn(token)
+            .thenThrow(new IllegalStateException("IDAM unavailable"));
+
+        adminUserService.getAdminUserToken();
+        clock.advance(Duration.ofMinutes(56));
+
+        assertThat(adminUserService.getAdminUserToken()).isEqualTo(token);
+        assertThat(meterRegistry.counter(AdminUserService.TOKEN_REFRESHES_METRIC, "outcome", "failure").count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void getAdminUserTokenThrowsWhenRefreshFailsAfterExpiry() {
+        String token = bearerJwtExpiringAt(clock.instant().plus(Duration.ofHours(1)));
+        when(idamClient.getAccessToken(USER_NAME, PASSWORD))
+            .thenReturn(token)
+            .thenThrow(new IllegalStateException("IDAM unavailable"));
+
+        adminUserService.getAdminUserToken();
+        clock.advance(Duration.ofMinutes(61));
+
+        assertThrows(IllegalStateException.class, () -> adminUserService.getAdminUserToken());
+    }
+
+    @Test
+    void getAdminUserTokenLogsInOnceForConcurrentCallers() {
+        String token = bearerJwtExpiringAt(clock.instant().plus(Duration.ofHours(1)));
+        when(idamClient.getAccessToken(USER_NAME, PASSWORD)).thenReturn(token);
+
+        List<CompletableFuture<String>> callers = IntStream.range(0, 8)
+            .mapToObj(i -> CompletableFuture.supplyAsync(adminUserService::getAdminUserToken))
+            .toList();
+
+        callers.forEach(caller -> assertThat(caller.join()).isEqualTo(token));
+        verify(idamClient, times(1)).getAccessToken(USER_NAME, PASSWORD);
+    }
+
+    private static String bearerJwtExpiringAt(Instant expiry) {
+        return "Bearer " + new PlainJWT(
+            new JWTClaimsSet.Builder().subject(USER_NAME).expirationTime(Date.from(expiry)).build()).serialize();
+    }
+
+    private static final class TestClock extends Clock {
+        private Instant instant;
+
+        TestClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package uk.gov.hmcts.reform.et.syaapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import uk.gov.hmcts.reform.et.syaapi.config.interceptors.ResourceNotFoundException;
+import uk.gov.hmcts.reform.et.syaapi.models.CaseDocument;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.et.syaapi.service.utils.TestConstants.TEST_SERVICE_AUTH_TOKEN;
+
+@ExtendWith(MockitoExtension.class)
+class CaseDocumentDetailsServiceTest {
+
+    private static final UUID FIRST_DOCUMENT_ID = UUID.randomUUID();
+    private static final UUID SECOND_DOCUMENT_ID = UUID.randomUUID();
+    private static final long MAXIMUM_SIZE = 100;
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(10);
+    private static final Duration MODIFIED_ON_TIME_TO_LIVE = Duration.ofSeconds(30);
+
+    @Mock
+    private CaseDocumentService caseDocumentService;
+    private CaseDocumentDetailsService caseDocumentDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        caseDocumentDetailsService = newService(MODIFIED_ON_TIME_TO_LIVE);
+    }
+
+    private CaseDocumentDetailsService newService(Duration modifiedOnTimeToLive) {
+        return new CaseDocumentDetailsService(caseDocumentService, new SimpleMeterRegistry(), MAXIMUM_SIZE,
+                                              TIME_TO_LIVE, modifiedOnTimeToLive, Runnable::run, 4);
+    }
+
+    @Test
+    void getDocumentDetailsLooksUpEachDocumentOncePerRequest() {
+        CaseDocument first = CaseDocument.builder().modifiedOn("2024-01-01").build();
+        CaseDocument second = CaseDocument.builder().modifiedOn("2024-02-01").build();
+        when(caseDocumentService.getDocumentDetails(TEST_SERVICE_AUTH_TOKEN, FIRST_DOCUMENT_ID))
+            .thenReturn(ResponseEntity.ok(first));
+        when(caseDocumentService.getDocumentDetails(TEST_SERVICE_AUTH_TOKEN, SECOND_DOCUMENT_ID))
+            .thenReturn(ResponseEntity.ok(second));
+
+        Map<UUID, CaseDocument> details = caseDocumentDetailsService.getDocumentDetails(
+            TEST_SERVICE_AUTH_TOKEN, List.of(FIRST_DOCUMENT_ID, SECOND_DOCUMENT_ID, FIRST_DOCUMENT_ID));
+
+        assertThat(details).containsExactly(Map.entry(FIRST_DOCUMENT_ID, first),
+                                            Map.entry(SECOND_DOCUMENT_ID, second));
+        verify(caseDocumentService, times(1)).getDocumentDetails(TEST_SERVICE_AUTH_TOKEN, FIRST_DOCUMENT_ID);
+        verify(caseDocumentService, times(1)).getDocumentDetails(TEST_SERVICE_AUTH_TOKEN, SECOND_DOCUMENT_ID);
+    }
+
+    @Test
+    void getDocumentDetailsServesRecentDetailsFromCache() {
+        CaseDocument first = CaseDocument.builder().modifiedOn("2024-01-01").build();
+        when(caseDocumentService.getDocumentDetails(TEST_SERVICE_AUTH_TOKEN, FIRST_DOCUMENT_ID))
+            .thenReturn(ResponseEntity.ok(first));
+        List<UUID> documentIds = List.of(FIRST_DOCUMENT_ID);
+
+        caseDocumentDetailsService.getDocumentDetails(TEST_SERVICE_AUTH_TOKEN, documentIds);
+        Map<UUID, CaseDocument> details = caseDocumentDetailsService.getDocumentDetails(TEST_SERVICE_AUTH_TOKEN,
+                                                                                        documentIds);
+
+        assertThat(details).containsExactly(Map.entry(FIRST_DOCUMENT_ID, first));
+        verify(caseDocumentService, times(1)).getDocumentDetails(TEST_SERVICE_AUTH_TOKEN, FIRST_DOCUMENT_ID);
+    }
+
+    @Test
+    void getDocumentDetailsLooksUpModifiedOnAgainOnceExpired() {
+        caseDocumentDetailsService = newService(Duration.ZERO);
+        when(caseDocumentService.getDocumentDetails(TEST_SERVICE_AUTH_TOKEN, FIRST_DOCUMENT_ID))
+            .thenReturn(ResponseEntity.ok(CaseDocument.builder().modifiedOn("2024-01-01").build()))
+            .thenReturn(ResponseEntity.ok(CaseDocument.builder().modifiedOn("2024-03-01").build()));
+        List<UUID> documentIds = List.of(FIRST_DOCUMENT_ID);
+
+        caseDocumentDetailsService.getDocumentDetails(TEST_SERVICE_AUTH_TOKEN, documentIds);
+        Map<UUID, CaseDocument> details = caseDocumentDetailsService.getDocumentDetails(TEST_SERVICE_AUTH_TOKEN,
+                                                                                        documentIds);
+
+        assertThat(details.get(FIRST_DOCUMENT_ID).getModifiedOn()).isEqualTo("2024-03-01");
+        verify(caseDocumentService, times(2)).getDocumentDetails(TEST_SERVICE_AUTH_TOKEN, FIRST_DOCUMENT_ID);
+    }
+
+    @Test
+    void getDocumentDetailsReturnsOnlyDetailsThatDoNotChange() {
+        when(caseDocumentService.getDocumentDetails(TEST_SERVICE_AUTH_TOKEN, FIRST_DOCUMENT_ID))
+            .thenReturn(ResponseEntity.ok(CaseDocument.builder()
+                                              .originalDocumentName("ET1.pdf")
+                                              .mimeType("application/pdf")
+                                              .size("1024")
+                                              .createdOn("2024-01-01")
+                                              .modifiedOn("2024-02-01")
+                                              .classification("PUBLIC")
+                                              .lastModifiedBy("caseworker")
+                                              .ttl("2025-01-01")
+                                              .metadata(Map.of("caseId", "1646225213651590"))
+                                              .build()));
+
+        CaseDocument details = caseDocumentDetailsService.getDocumentDetails(
+            TEST_SERVICE_AUTH_TOKEN, List.of(FIRST_DOCUMENT_ID)).get(FIRST_DOCUMENT_ID);
+
+        assertThat(details).isEqualTo(CaseDocument.builder()
+                                          .originalDocumentName("ET1.pdf")
+                                          .mimeType("application/pdf")
+                                          .size("1024")
+                                          .createdOn("2024-01-01")
+                                          .modifiedOn("2024-02-01")
+                                          .build());
+    }
+
+    @Test
+    void getDocumentDetailsSkipsMissingDetails() {
+        when(caseDocumentService.getDocumentDetails(TEST_SERVICE_AUTH_TOKEN, FIRST_DOCUMENT_ID))
+            .thenReturn(ResponseEntity.ok(null));
+
+        assertThat(caseDocumentDetailsService.getDocumentDetails(TEST_SERVICE_AUTH_TOKEN, List.of(FIRST_DOCUMENT_ID)))
+            .isEmpty();
+        assertThat(caseDocumentDetailsService.getDocumentDetails(TEST_SERVICE_AUTH_TOKEN, List.of(FIRST_DOCUMENT_ID)))
+            .isEmpty();
+        verify(caseDocumentService, times(2)).getDocumentDetails(TEST_SERVICE_AUTH_TOKEN, FIRST_DOCUMENT_ID);
+    }
+
+    @Test
+    void getDocumentDetailsRethrowsResourceNotFound() {
+        when(caseDocumentService.getDocumentDetails(TEST_SERVICE_AUTH_TOKEN, FIRST_DOCUMENT_ID))
+            .thenThrow(new ResourceNotFoundException("Document not found", null));
+        List<UUID> documentIds = List.of(FIRST_DOCUMENT_ID);
+
+        assertThrows(ResourceNotFoundException.class,
+                     () -> caseDocumentDetailsService.getDocumentDetails(TEST_SERVICE_AUTH_TOKEN, documentIds));
+    }
+}
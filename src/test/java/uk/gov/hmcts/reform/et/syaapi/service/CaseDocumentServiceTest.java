@@ -3,17 +3,22 @@ package uk.gov.hmcts.reform.et.syaapi.service;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.client.ExpectedCount;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import uk.gov.hmcts.ecm.common.service.pdf.PdfDecodedMultipartFile;
@@ -22,6 +27,7 @@ import uk.gov.hmcts.et.common.model.ccd.items.DocumentTypeItem;
 import uk.gov.hmcts.et.common.model.ccd.types.DocumentType;
 import uk.gov.hmcts.et.common.model.ccd.types.UploadedDocumentType;
 import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.et.syaapi.config.VirtualThreadExecutors;
 import uk.gov.hmcts.reform.et.syaapi.config.interceptors.ResourceNotFoundException;
 import uk.gov.hmcts.reform.et.syaapi.model.CaseTestData;
 import uk.gov.hmcts.reform.et.syaapi.models.CaseDocument;
@@ -36,11 +42,18 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
@@ -148,7 +161,8 @@ class CaseDocumentServiceTest {
         AuthTokenGenerator authTokenGenerator = () -> SERVICE_AUTH;
         caseDocumentService = new CaseDocumentService(restTemplate,
                                                       authTokenGenerator,
-                                                      DOCUMENT_SERVICE_API_URL, 3
+                                                      DOCUMENT_SERVICE_API_URL, 3,
+                                                      Runnable::run, 4
         );
         mockServer = MockRestServiceServer.createServer(restTemplate);
     }
@@ -223,14 +237,15 @@ class CaseDocumentServiceTest {
             "Hello, World!".getBytes()
         ));
 
-        doThrow(ioException).when(mockMultipartFileSpy).getBytes();
+        doThrow(ioException).when(mockMultipartFileSpy).getInputStream();
 
         CaseDocumentException documentException = assertThrows(
             CaseDocumentException.class, () -> caseDocumentService.uploadDocument(
                 MOCK_TOKEN, CASE_TYPE, mockMultipartFileSpy));
 
         assertThat(documentException.getCause())
-            .isEqualTo(ioException);
+            .isInstanceOf(ResourceAccessException.class)
+            .hasCause(ioException);
     }
 
     @Test
@@ -400,6 +415,85 @@ class CaseDocumentServiceTest {
             .isEqualTo(String.format(RESOURCE_NOT_FOUND, DOCUMENT_ID, "404 Not Found: [no body]"));
     }
 
+    @Test
+    void streamDocumentSuccess() throws IOException {
+        HttpHeaders documentHeaders = new HttpHeaders();
+        documentHeaders.setContentType(MediaType.APPLICATION_PDF);
+        documentHeaders.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        mockServer.expect(ExpectedCount.once(), requestTo(DOCUMENT_API_URL_WITH_SLASH + DOCUMENT_ID + "/binary"))
+            .andExpect(method(HttpMethod.GET))
+            .andExpect(header(HttpHeaders.AUTHORIZATION, MOCK_TOKEN))
+            .andExpect(headerDoesNotExist(HttpHeaders.RANGE))
+            .andRespond(withStatus(HttpStatus.OK)
+                            .headers(documentHeaders)
+                            .body("test document content"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        caseDocumentService.streamDocument(MOCK_TOKEN, DOCUMENT_ID, new HttpHeaders(), response);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_PDF_VALUE);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getContentAsString()).isEqualTo("test document content");
+    }
+
+    @Test
+    void streamDocumentForwardsRange() throws IOException {
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=5-");
+        requestHeaders.set(HttpHeaders.IF_RANGE, "\"etag\"");
+        requestHeaders.set(HttpHeaders.COOKIE, "session=1");
+        HttpHeaders documentHeaders = new HttpHeaders();
+        documentHeaders.set(HttpHeaders.CONTENT_RANGE, "bytes 5-20/21");
+        mockServer.expect(ExpectedCount.once(), requestTo(DOCUMENT_API_URL_WITH_SLASH + DOCUMENT_ID + "/binary"))
+            .andExpect(header(HttpHeaders.RANGE, "bytes=5-"))
+            .andExpect(header(HttpHeaders.IF_RANGE, "\"etag\""))
+            .andExpect(headerDoesNotExist(HttpHeaders.COOKIE))
+            .andRespond(withStatus(HttpStatus.PARTIAL_CONTENT)
+                            .headers(documentHeaders)
+                            .body("document content"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        caseDocumentService.streamDocument(MOCK_TOKEN, DOCUMENT_ID, requestHeaders, response);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 5-20/21");
+        assertThat(response.getContentAsString()).isEqualTo("document content");
+    }
+
+    @Test
+    void streamDocumentRangeNotSatisfiable() {
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=100-");
+        HttpHeaders documentHeaders = new HttpHeaders();
+        documentHeaders.set(HttpHeaders.CONTENT_RANGE, "bytes */21");
+        documentHeaders.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        documentHeaders.setContentType(MediaType.APPLICATION_JSON);
+        documentHeaders.setContentLength(54);
+        mockServer.expect(ExpectedCount.once(), requestTo(DOCUMENT_API_URL_WITH_SLASH + DOCUMENT_ID + "/binary"))
+            .andRespond(withStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(documentHeaders));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        caseDocumentService.streamDocument(MOCK_TOKEN, DOCUMENT_ID, requestHeaders, response);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */21");
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeaderNames()).doesNotContain(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void streamDocumentResourceNotFound() {
+        mockServer.expect(ExpectedCount.once(), requestTo(DOCUMENT_API_URL_WITH_SLASH + DOCUMENT_ID + "/binary"))
+            .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpHeaders requestHeaders = new HttpHeaders();
+
+        assertThrows(ResourceNotFoundException.class, () -> caseDocumentService.streamDocument(
+            MOCK_TOKEN, DOCUMENT_ID, requestHeaders, response));
+    }
+
     @Test
     void documentDetailsSuccess() {
         CaseDocument mockDocumentDetailsResponse = CaseDocument.builder()
@@ -463,6 +557,94 @@ class CaseDocumentServiceTest {
         );
     }
 
+    @Test
+    void shouldUploadAllDocumentsAndReportFailedFiles() {
+        mockServer.expect(ExpectedCount.once(), requestTo(DOCUMENT_API_URL))
+            .andExpect(method(HttpMethod.POST))
+            .andRespond(withStatus(HttpStatus.OK)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(MOCK_RESPONSE_WITH_DOCUMENT));
+        mockServer.expect(ExpectedCount.times(4), requestTo(DOCUMENT_API_URL))
+            .andExpect(method(HttpMethod.POST))
+            .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        CaseDocumentUploadException exception = assertThrows(
+            CaseDocumentUploadException.class,
+            () -> caseDocumentService.uploadAllDocuments(MOCK_TOKEN, CASE_TYPE, MOCK_PDF_DECODED_MULTIPART_FILE_LIST,
+                                                         List.of(MOCK_PDF_DECODED_MULTIPART_FILE), new CaseData()));
+
+        assertThat(exception.getUploadedDocuments()).hasSize(1);
+        assertThat(exception.getFailedFileNames())
+            .containsExactly(MOCK_PDF_DECODED_MULTIPART_FILE.getOriginalFilename());
+        assertThat(exception.getSuppressed()).hasSize(1);
+        mockServer.verify();
+    }
+
+    @Test
+    void shouldUploadAllDocumentsWithinConcurrencyAndKeepFileOrder() throws Exception {
+        int uploadConcurrency = 2;
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        CountDownLatch concurrentUploadsStarted = new CountDownLatch(uploadConcurrency);
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add((request, body, execution) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            concurrentUploadsStarted.countDown();
+            try {
+                concurrentUploadsStarted.await(5, TimeUnit.SECONDS);
+                TimeUnit.MILLISECONDS.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            MockClientHttpResponse response = new MockClientHttpResponse(MOCK_RESPONSE_WITH_DOCUMENT.getBytes(),
+                                                                         HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response;
+        });
+        Executor uploadExecutor = VirtualThreadExecutors.newTaskExecutor("upload-test-", 6, 0, false);
+        List<PdfDecodedMultipartFile> acasCertificates = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            acasCertificates.add(new PdfDecodedMultipartFile(MOCK_FILE_BODY.getBytes(), "Certificate " + i + ".pdf",
+                                                             "application/pdf", "Certificate " + i));
+        }
+        try {
+            CaseDocumentService service = new CaseDocumentService(restTemplate, () -> SERVICE_AUTH,
+                                                                  DOCUMENT_SERVICE_API_URL, 3, uploadExecutor,
+                                                                  uploadConcurrency);
+
+            List<DocumentTypeItem> documents = service.uploadAllDocuments(MOCK_TOKEN, CASE_TYPE, null,
+                                                                          acasCertificates, new CaseData());
+
+            assertThat(documents).extracting(document -> document.getValue().getShortDescription())
+                .containsExactly("Certificate 0", "Certificate 1", "Certificate 2", "Certificate 3",
+                                 "Certificate 4", "Certificate 5");
+            assertThat(maxInFlight.get()).isEqualTo(uploadConcurrency);
+        } finally {
+            VirtualThreadExecutors.shutdown(uploadExecutor);
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldReportFilesAsFailedWhenUploadsCannotStart() {
+        Executor rejectingExecutor = task -> {
+            throw new RejectedExecutionException();
+        };
+        CaseDocumentService service = new CaseDocumentService(new RestTemplate(), () -> SERVICE_AUTH,
+                                                              DOCUMENT_SERVICE_API_URL, 3, rejectingExecutor, 1);
+        List<PdfDecodedMultipartFile> acasCertificates = List.of(MOCK_PDF_DECODED_MULTIPART_FILE,
+                                                                 MOCK_PDF_DECODED_MULTIPART_FILE);
+
+        CaseDocumentUploadException exception = assertThrows(
+            CaseDocumentUploadException.class,
+            () -> service.uploadAllDocuments(MOCK_TOKEN, CASE_TYPE, null, acasCertificates, new CaseData()));
+
+        assertThat(exception.getUploadedDocuments()).isEmpty();
+        assertThat(exception.getFailedFileNames()).hasSize(2);
+    }
+
     @Test
     void shouldCreateDocumentTypeItem() {
         UploadedDocumentType uploadedDocumentType = new UploadedDocumentType();
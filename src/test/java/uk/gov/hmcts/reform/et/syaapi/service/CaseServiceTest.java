@@ -1,5 +1,7 @@
 package uk.gov.hmcts.reform.et.syaapi.service;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.EqualsAndHashCode;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,6 +30,7 @@ import uk.gov.hmcts.reform.ccd.client.model.CaseDetails;
 import uk.gov.hmcts.reform.ccd.client.model.Event;
 import uk.gov.hmcts.reform.ccd.client.model.StartEventResponse;
 import uk.gov.hmcts.reform.et.syaapi.constants.JurisdictionCodesConstants;
+import uk.gov.hmcts.reform.et.syaapi.helper.CaseDetailsConverter;
 import uk.gov.hmcts.reform.et.syaapi.helper.JurisdictionCodesMapper;
 import uk.gov.hmcts.reform.et.syaapi.model.CaseTestData;
 import uk.gov.hmcts.reform.et.syaapi.models.CaseRequest;
@@ -38,6 +41,7 @@ import uk.gov.hmcts.reform.idam.client.IdamClient;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 import uk.gov.service.notify.SendEmailResponse;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -89,6 +93,8 @@ class CaseServiceTest {
     @Mock
     private IdamClient idamClient;
     @Mock
+    private UserIdentityService userIdentityService;
+    @Mock
     private JurisdictionCodesMapper jurisdictionCodesMapper;
     @Mock
     private PdfUploadService pdfUploadService;
@@ -108,6 +114,12 @@ class CaseServiceTest {
     private ManageCaseRoleService manageCaseRoleService;
     @Spy
     private NotificationsProperties notificationsProperties;
+    @Spy
+    private CaseTypeFanOutService caseTypeFanOutService = new CaseTypeFanOutService(Runnable::run,
+                                                                                    Duration.ofSeconds(10));
+    @Spy
+    private CaseDetailsConverter caseDetailsConverter = new CaseDetailsConverter(
+        new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_EMPTY));
     @InjectMocks
     private CaseService caseService;
     private SendEmailResponse sendEmailResponse;
@@ -131,6 +143,9 @@ class CaseServiceTest {
 
     @BeforeEach
     void setUp(TestInfo testInfo) {
+        when(userIdentityService.getUserInfo(any()))
+            .thenAnswer(invocation -> idamClient.getUserInfo(invocation.getArgument(0)));
+        when(userIdentityService.getServiceAuthorisation()).thenAnswer(invocation -> authTokenGenerator.generate());
         if (!testInfo.getDisplayName().startsWith("submitCase")) {
             return;
         }
@@ -401,6 +416,25 @@ class CaseServiceTest {
             .sendDocUploadErrorEmail(any(), any(), any(), any());
     }
 
+    @Test
+    @SneakyThrows
+    void submitCaseShouldKeepUploadedDocumentsAndSendErrorEmail() {
+        when(caseDocumentService.uploadAllDocuments(any(), any(), any(), any(), any()))
+            .thenThrow(new CaseDocumentUploadException(List.of(createDocumentTypeItem()), List.of("acas.pdf"),
+                                                       List.of(new CaseDocumentException("Failed to upload"))));
+        when(notificationService.sendDocUploadErrorEmail(any(), any(), any(), any()))
+            .thenReturn(sendEmailResponse);
+
+        CaseDetails caseDetails = caseService.submitCase(
+            TEST_SERVICE_AUTH_TOKEN,
+            caseTestData.getCaseRequest()
+        );
+
+        assertEquals(1, ((List<?>) caseDetails.getData().get("documentCollection")).size());
+        verify(notificationService, times(1))
+            .sendDocUploadErrorEmail(any(), any(), any(), any());
+    }
+
     @SneakyThrows
     @Test
     void submitCaseShouldSetEt1OnlineSubmission() {
@@ -0,0 +1,129 @@
+package uk.gov.hmcts.reform.et.syaapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SuppressWarnings({"PMD.DoNotUseThreads"})
+class CaseTypeFanOutServiceTest {
+
+    private static final String ENGLAND_CASE_TYPE = "ET_EnglandWales";
+    private static final String SCOTLAND_CASE_TYPE = "ET_Scotland";
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void searchEachReturnsResultsInCaseTypeOrder() {
+        CountDownLatch scotlandDone = new CountDownLatch(1);
+        CaseTypeFanOutService fanOutService = new CaseTypeFanOutService(executor, Duration.ofSeconds(10));
+
+        List<String> results = fanOutService.searchEach(List.of(ENGLAND_CASE_TYPE, SCOTLAND_CASE_TYPE), caseType -> {
+            if (ENGLAND_CASE_TYPE.equals(caseType)) {
+                await(scotlandDone);
+            } else {
+                scotlandDone.countDown();
+            }
+            return caseType;
+        });
+
+        assertThat(results).containsExactly(ENGLAND_CASE_TYPE, SCOTLAND_CASE_TYPE);
+    }
+
+    @Test
+    void searchAllMergesResultsAndSkipsMissingOnes() {
+        CaseTypeFanOutService fanOutService = new CaseTypeFanOutService(executor, Duration.ofSeconds(10));
+
+        List<String> results = fanOutService.searchAll(
+            List.of(ENGLAND_CASE_TYPE, SCOTLAND_CASE_TYPE),
+            caseType -> ENGLAND_CASE_TYPE.equals(caseType) ? List.of("1", "2") : null);
+
+        assertThat(results).containsExactly("1", "2");
+    }
+
+    @Test
+    void searchEachRethrowsSearchFailure() {
+        CaseTypeFanOutService fanOutService = new CaseTypeFanOutService(executor, Duration.ofSeconds(10));
+        List<String> caseTypes = List.of(ENGLAND_CASE_TYPE, SCOTLAND_CASE_TYPE);
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> fanOutService.searchEach(caseTypes, caseType -> {
+                throw new IllegalArgumentException(caseType);
+            }));
+
+        assertThat(exception.getMessage()).isEqualTo(ENGLAND_CASE_TYPE);
+    }
+
+    @Test
+    void searchEachTimesOutWhenSearchIsTooSlow() {
+        CountDownLatch neverReleased = new CountDownLatch(1);
+        CaseTypeFanOutService fanOutService = new CaseTypeFanOutService(executor, Duration.ofMillis(100));
+        List<String> caseTypes = List.of(ENGLAND_CASE_TYPE);
+
+        ResponseStatusException exception = assertThrows(
+            ResponseStatusException.class,
+            () -> fanOutService.searchEach(caseTypes, caseType -> await(neverReleased)));
+
+        assertThat(exception.getStatus()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    @Test
+    void searchEachWaitsUntilCallerDeadline() {
+        CountDownLatch neverReleased = new CountDownLatch(1);
+        CaseTypeFanOutService fanOutService = new CaseTypeFanOutService(executor, Duration.ofSeconds(10));
+        List<String> caseTypes = List.of(ENGLAND_CASE_TYPE);
+        Instant deadline = Instant.now().plusMillis(100);
+
+        ResponseStatusException exception = assertThrows(
+            ResponseStatusException.class,
+            () -> fanOutService.searchEach(caseTypes, caseType -> await(neverReleased), deadline));
+
+        assertThat(exception.getStatus()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(Instant.now()).isBefore(deadline.plusSeconds(5));
+    }
+
+    @Test
+    void searchAllSkipsSearchesWhenCallerDeadlineHasPassed() {
+        CaseTypeFanOutService fanOutService = new CaseTypeFanOutService(Runnable::run, Duration.ofSeconds(10));
+        List<String> caseTypes = List.of(ENGLAND_CASE_TYPE, SCOTLAND_CASE_TYPE);
+        List<String> searchedCaseTypes = new ArrayList<>();
+        Instant deadline = Instant.now().minusSeconds(1);
+
+        ResponseStatusException exception = assertThrows(
+            ResponseStatusException.class,
+            () -> fanOutService.searchAll(caseTypes, caseType -> {
+                searchedCaseTypes.add(caseType);
+                return List.of(caseType);
+            }, deadline));
+
+        assertThat(exception.getStatus()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(searchedCaseTypes).isEmpty();
+    }
+
+    private static String await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
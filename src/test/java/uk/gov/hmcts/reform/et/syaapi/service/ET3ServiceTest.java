@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.et.syaapi.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.EqualsAndHashCode;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.et.common.model.ccd.CaseData;
@@ -14,21 +16,24 @@ import uk.gov.hmcts.et.common.model.ccd.Et3Request;
 import uk.gov.hmcts.et.common.model.ccd.types.RespondentSumType;
 import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
 import uk.gov.hmcts.reform.ccd.client.CoreCaseDataApi;
+import uk.gov.hmcts.reform.ccd.client.model.CaseDataContent;
 import uk.gov.hmcts.reform.ccd.client.model.CaseDetails;
 import uk.gov.hmcts.reform.ccd.client.model.SearchResult;
 import uk.gov.hmcts.reform.ccd.client.model.StartEventResponse;
 import uk.gov.hmcts.reform.et.syaapi.exception.ManageCaseRoleException;
+import uk.gov.hmcts.reform.et.syaapi.helper.CaseDetailsConverter;
 import uk.gov.hmcts.reform.et.syaapi.helper.EmployeeObjectMapper;
 import uk.gov.hmcts.reform.et.syaapi.model.CaseTestData;
 import uk.gov.hmcts.reform.et.syaapi.service.pdf.ET3FormService;
 import uk.gov.hmcts.reform.et.syaapi.service.utils.TestConstants;
-import uk.gov.hmcts.reform.idam.client.IdamClient;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_EMPTY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -58,7 +63,7 @@ class ET3ServiceTest {
     @Mock
     CaseService caseService;
     @Mock
-    IdamClient idamClient;
+    UserIdentityService userIdentityService;
     @Mock
     NotificationService notificationService;
     @Mock
@@ -71,10 +76,13 @@ class ET3ServiceTest {
         et3Service = new ET3Service(adminUserService,
                                     authTokenGenerator,
                                     ccdApi,
-                                    idamClient,
+                                    userIdentityService,
                                     caseService,
                                     et3FormService,
-                                    notificationService);
+                                    notificationService,
+                                    new CaseTypeFanOutService(Runnable::run, Duration.ofSeconds(10)),
+                                    new CaseDetailsConverter(new ObjectMapper()
+                                                                 .setSerializationInclusion(NON_EMPTY)));
     }
 
     @ParameterizedTest
@@ -143,7 +151,7 @@ class ET3ServiceTest {
         allCaseDetails.addAll(englandWalesCaseDetailsList);
         when(authTokenGenerator.generate()).thenReturn(TestConstants.TEST_SERVICE_AUTH_TOKEN);
         UserInfo userinfo = new CaseTestData().getUserInfo();
-        when(idamClient.getUserInfo(TestConstants.TEST_SERVICE_AUTH_TOKEN)).thenReturn(userinfo);
+        when(userIdentityService.getUserInfo(TestConstants.TEST_SERVICE_AUTH_TOKEN)).thenReturn(userinfo);
         when(ccdApi.searchForCitizen(
             TestConstants.TEST_SERVICE_AUTH_TOKEN,
             TestConstants.TEST_SERVICE_AUTH_TOKEN,
@@ -159,7 +167,7 @@ class ET3ServiceTest {
             TestConstants.TEST_CASE_TYPE_ID_SCOTLAND,
             new HashMap<>())).thenReturn(scotlandCaseDetailsList);
         assertThat(et3Service.getAllUserCasesForET3(TestConstants.TEST_SERVICE_AUTH_TOKEN)).isEqualTo(allCaseDetails);
-        when(idamClient.getUserInfo(TestConstants.TEST_SERVICE_AUTH_TOKEN)).thenReturn(null);
+        when(userIdentityService.getUserInfo(TestConstants.TEST_SERVICE_AUTH_TOKEN)).thenReturn(null);
         ManageCaseRoleException exception =
             assertThrows(ManageCaseRoleException.class,
                          () -> et3Service.getAllUserCasesForET3(TestConstants.TEST_SERVICE_AUTH_TOKEN));
@@ -194,6 +202,14 @@ class ET3ServiceTest {
             .convertCaseDataMapToCaseDataObject(
                 expectedCaseDetails.getData()).getRespondentCollection().get(0).getValue();
         assertThat(actualRespondent).isEqualTo(expectedRespondent);
+        ArgumentCaptor<CaseDataContent> contentCaptor = ArgumentCaptor.forClass(CaseDataContent.class);
+        verify(caseService, times(1)).submitUpdate(eq(TestConstants.TEST_SERVICE_AUTH_TOKEN),
+                                                   anyString(),
+                                                   contentCaptor.capture(),
+                                                   anyString());
+        CaseData submittedCaseData = (CaseData) contentCaptor.getValue().getData();
+        assertThat(submittedCaseData.getRespondentCollection().get(0).getValue())
+            .isEqualTo(et3Request.getRespondent().getValue());
     }
 
     @Test
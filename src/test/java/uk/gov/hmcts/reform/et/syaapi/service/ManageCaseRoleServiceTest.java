@@ -1,5 +1,10 @@
 package uk.gov.hmcts.reform.et.syaapi.service;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.EqualsAndHashCode;
 import lombok.SneakyThrows;
 import org.apache.commons.collections4.CollectionUtils;
@@ -15,11 +20,21 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.server.ResponseStatusException;
 import uk.gov.hmcts.ecm.common.model.ccd.CaseAssignedUserRolesResponse;
 import uk.gov.hmcts.ecm.common.model.ccd.CaseAssignmentUserRole;
 import uk.gov.hmcts.ecm.common.model.ccd.CaseAssignmentUserRolesRequest;
@@ -39,13 +54,19 @@ import uk.gov.hmcts.reform.et.syaapi.models.CaseRequest;
 import uk.gov.hmcts.reform.et.syaapi.models.FindCaseForRoleModificationRequest;
 import uk.gov.hmcts.reform.et.syaapi.search.ElasticSearchQueryBuilder;
 import uk.gov.hmcts.reform.et.syaapi.service.utils.ManageCaseRoleServiceUtil;
+import uk.gov.hmcts.reform.et.syaapi.service.utils.ResourceUtil;
 import uk.gov.hmcts.reform.et.syaapi.service.utils.TestConstants;
 import uk.gov.hmcts.reform.idam.client.IdamClient;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -76,7 +97,13 @@ class ManageCaseRoleServiceTest {
     @Mock
     ET3Service et3Service;
     @Mock
-    CaseService caseService;
+    RequestIdentityContext requestIdentityContext;
+    @Mock
+    VerifyTokenService verifyTokenService;
+
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json()
+        .serializationInclusion(JsonInclude.Include.NON_EMPTY)
+        .build();
 
     private ManageCaseRoleService manageCaseRoleService;
     private UserInfo userInfo;
@@ -97,6 +124,7 @@ class ManageCaseRoleServiceTest {
             + "Invalid Data is For CaseId: ";
     private static final String MODIFICATION_TYPE_ASSIGNMENT = "Assignment";
     private static final String MODIFICATION_TYPE_REVOKE = "Revoke";
+    private static final long USER_INFO_CACHE_MAXIMUM_SIZE = 100;
     private static final String CASE_ID = "1646225213651590";
     private static final String USER_ID = "1234564789";
     private static final String CASE_ROLE_DEFENDANT = "[DEFENDANT]";
@@ -111,6 +139,7 @@ class ManageCaseRoleServiceTest {
     private static final String TEST_SERVICE_AUTH_TOKEN = "Bearer TestServiceAuth";
     private static final String USER_CASE_ROLE_DEFENDANT = "[DEFENDANT]";
     private static final String SCOTLAND_CASE_TYPE = "ET_Scotland";
+    private static final String ENGLAND_CASE_TYPE = "ET_EnglandWales";
     private static final String AAC_URL_PARAMETER_NAME = "aacUrl";
     private static final String AAC_URL_PARAMETER_TEST_VALUE = "https://test.url.com";
     private static final String CCD_API_URL_PARAMETER_NAME = "ccdApiUrl";
@@ -123,7 +152,10 @@ class ManageCaseRoleServiceTest {
     void setup() {
         caseTestData = new CaseTestData();
         manageCaseRoleService = new ManageCaseRoleService(
-            adminUserService, restTemplate, authTokenGenerator, ccdApi, idamClient, et3Service, caseService);
+            adminUserService, restTemplate, authTokenGenerator, ccdApi,
+            new UserIdentityService(idamClient, authTokenGenerator, verifyTokenService, requestIdentityContext,
+                                    USER_INFO_CACHE_MAXIMUM_SIZE, Duration.ZERO, new SimpleMeterRegistry()),
+            et3Service, new CaseTypeFanOutService(Runnable::run, Duration.ofSeconds(10)), OBJECT_MAPPER);
         userInfo = new CaseTestData().getUserInfo();
         caseAssignmentUserRole1 = CaseAssignmentUserRole.builder()
             .userId(DUMMY_USER_ID)
@@ -319,6 +351,10 @@ class ManageCaseRoleServiceTest {
                                                                  .id(Long.parseLong(CASE_SUBMISSION_REFERENCE))
                                                                  .state(TestConstants.TEST_CASE_STATE_ACCEPTED)
                                                                  .build())).total(1).build());
+        when(ccdApi.searchCases(TEST_SERVICE_AUTH_TOKEN,
+                                TEST_SERVICE_AUTH_TOKEN,
+                                SCOTLAND_CASE_TYPE,
+                                elasticSearchQuery)).thenReturn(SearchResult.builder().build());
         assertThat(manageCaseRoleService.findCaseForRoleModification(findCaseForRoleModificationRequest,
                                                                      TEST_SERVICE_AUTH_TOKEN)).isNotNull();
         assertThat(manageCaseRoleService.findCaseForRoleModification(findCaseForRoleModificationRequest,
@@ -618,36 +654,124 @@ class ManageCaseRoleServiceTest {
 
     @Test
     @SneakyThrows
-    void shouldGetAllUserCases() {
+    void shouldFindUserCaseIdsByCaseUserRole() {
         ReflectionTestUtils.setField(manageCaseRoleService,
                                      CCD_API_URL_PARAMETER_NAME,
                                      CCD_API_URL_PARAMETER_TEST_VALUE);
         when(authTokenGenerator.generate()).thenReturn(TEST_SERVICE_AUTH_TOKEN);
-        List<CaseDetails> allCaseDetails = caseTestData.getSearchResultRequestCaseDataListScotland().getCases();
-        allCaseDetails.addAll(caseTestData.getSearchResultRequestCaseDataListEngland().getCases());
-        when(caseService.getAllUserCases(TEST_SERVICE_AUTH_TOKEN)).thenReturn(allCaseDetails);
+        String query = ElasticSearchQueryBuilder.buildAllCaseReferences();
+        when(ccdApi.searchCases(TEST_SERVICE_AUTH_TOKEN, TEST_SERVICE_AUTH_TOKEN, SCOTLAND_CASE_TYPE, query))
+            .thenReturn(caseTestData.getSearchResultRequestCaseDataListScotland());
+        when(ccdApi.searchCases(TEST_SERVICE_AUTH_TOKEN, TEST_SERVICE_AUTH_TOKEN, ENGLAND_CASE_TYPE, query))
+            .thenReturn(caseTestData.getSearchResultRequestCaseDataListEngland());
         when(idamClient.getUserInfo(ArgumentMatchers.anyString())).thenReturn(userInfo);
-        List<CaseDetails> expectedCaseDetails = caseTestData.getExpectedCaseDataListCombined();
+        List<String> expectedCaseIds = caseTestData.getExpectedCaseDataListCombined().stream()
+            .map(caseDetails -> caseDetails.getId().toString())
+            .toList();
 
         when(restTemplate.postForObject(ArgumentMatchers.eq(CCD_API_URL_PARAMETER_TEST_VALUE
                                                                 + CASE_USER_ROLE_CCD_API_POST_METHOD_NAME),
                                         ArgumentMatchers.any(HttpEntity.class),
                                         ArgumentMatchers.eq(CaseAssignedUserRolesResponse.class)))
             .thenReturn(expectedCaseAssignedUserRolesResponseCreator);
-        List<CaseDetails> caseDetailsForCreator =
-            manageCaseRoleService.getUserCasesByCaseUserRole(TEST_SERVICE_AUTH_TOKEN, CASE_USER_ROLE_CREATOR);
-        assertThat(caseDetailsForCreator)
-            .hasSize(expectedCaseDetails.size()).hasSameElementsAs(expectedCaseDetails);
+        Map<String, List<String>> caseIdsForCreator =
+            manageCaseRoleService.findUserCaseIdsByCaseUserRole(TEST_SERVICE_AUTH_TOKEN, CASE_USER_ROLE_CREATOR);
+        assertThat(caseIdsForCreator).containsOnlyKeys(SCOTLAND_CASE_TYPE, ENGLAND_CASE_TYPE);
+        assertThat(caseIdsForCreator.values().stream().flatMap(List::stream)).hasSameElementsAs(expectedCaseIds);
 
         when(restTemplate.postForObject(ArgumentMatchers.eq(CCD_API_URL_PARAMETER_TEST_VALUE
                                                                 + CASE_USER_ROLE_CCD_API_POST_METHOD_NAME),
                                         ArgumentMatchers.any(HttpEntity.class),
                                         ArgumentMatchers.eq(CaseAssignedUserRolesResponse.class)))
             .thenReturn(expectedCaseAssignedUserRolesResponseDefendant);
-        List<CaseDetails> caseDetailsForDefendant =
-            manageCaseRoleService.getUserCasesByCaseUserRole(TEST_SERVICE_AUTH_TOKEN, CASE_USER_ROLE_DEFENDANT);
-        assertThat(caseDetailsForDefendant)
-            .hasSize(expectedCaseDetails.size()).hasSameElementsAs(expectedCaseDetails);
+        Map<String, List<String>> caseIdsForDefendant =
+            manageCaseRoleService.findUserCaseIdsByCaseUserRole(TEST_SERVICE_AUTH_TOKEN, CASE_USER_ROLE_DEFENDANT);
+        assertThat(caseIdsForDefendant.values().stream().flatMap(List::stream)).hasSameElementsAs(expectedCaseIds);
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldWriteUserCasesAsReturnedByCcdWithoutHiddenDocuments() {
+        ReflectionTestUtils.setField(manageCaseRoleService,
+                                     CCD_API_URL_PARAMETER_NAME,
+                                     CCD_API_URL_PARAMETER_TEST_VALUE);
+        when(authTokenGenerator.generate()).thenReturn(TEST_SERVICE_AUTH_TOKEN);
+        byte[] scotlandCases = ResourceUtil.resourceAsBytes("responses/ccdSearchCasesScotland.json");
+        byte[] englandCases = ResourceUtil.resourceAsBytes("responses/ccdSearchCasesEngland.json");
+        List<String> queries = new ArrayList<>();
+        when(restTemplate.execute(ArgumentMatchers.eq(CCD_API_URL_PARAMETER_TEST_VALUE
+                                                          + ManageCaseRoleConstants.CCD_API_SEARCH_CASES_METHOD_NAME),
+                                  ArgumentMatchers.eq(HttpMethod.POST),
+                                  ArgumentMatchers.any(RequestCallback.class),
+                                  ArgumentMatchers.<ResponseExtractor<Object>>any(),
+                                  ArgumentMatchers.anyString()))
+            .thenAnswer(invocation -> {
+                MockClientHttpRequest request = new MockClientHttpRequest();
+                invocation.<RequestCallback>getArgument(2).doWithRequest(request);
+                queries.add(request.getBodyAsString());
+                return invocation.<ResponseExtractor<?>>getArgument(3).extractData(
+                    new MockClientHttpResponse(SCOTLAND_CASE_TYPE.equals(invocation.getArgument(4))
+                                                   ? scotlandCases
+                                                   : englandCases, HttpStatus.OK));
+            });
+        Map<String, List<String>> caseIds = new LinkedHashMap<>();
+        caseIds.put(SCOTLAND_CASE_TYPE, List.of("1646225213651533", "1646225213651590"));
+        caseIds.put(ENGLAND_CASE_TYPE, List.of("1646225213651512"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        manageCaseRoleService.writeUserCases(TEST_SERVICE_AUTH_TOKEN, caseIds, CASE_USER_ROLE_CREATOR, response);
+
+        assertThat(queries).containsExactly(
+            ElasticSearchQueryBuilder.buildByCaseReferences(caseIds.get(SCOTLAND_CASE_TYPE), 2, List.of()),
+            ElasticSearchQueryBuilder.buildByCaseReferences(caseIds.get(ENGLAND_CASE_TYPE), 1, List.of()));
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(OBJECT_MAPPER.readTree(response.getContentAsByteArray()))
+            .isEqualTo(casesWithoutDocuments(Set.of("ET1 Vetting", "Other"),
+                                             OBJECT_MAPPER.readTree(scotlandCases),
+                                             OBJECT_MAPPER.readTree(englandCases)));
+    }
+
+    @Test
+    void shouldAnswerWithCcdStatusWhenUserCasesSearchFails() {
+        ReflectionTestUtils.setField(manageCaseRoleService,
+                                     CCD_API_URL_PARAMETER_NAME,
+                                     CCD_API_URL_PARAMETER_TEST_VALUE);
+        when(authTokenGenerator.generate()).thenReturn(TEST_SERVICE_AUTH_TOKEN);
+        when(restTemplate.execute(ArgumentMatchers.anyString(),
+                                  ArgumentMatchers.eq(HttpMethod.POST),
+                                  ArgumentMatchers.any(RequestCallback.class),
+                                  ArgumentMatchers.<ResponseExtractor<Object>>any(),
+                                  ArgumentMatchers.anyString()))
+            .thenThrow(HttpClientErrorException.create(HttpStatus.FORBIDDEN, "Forbidden", HttpHeaders.EMPTY,
+                                                       "Access denied".getBytes(StandardCharsets.UTF_8),
+                                                       StandardCharsets.UTF_8));
+        Map<String, List<String>> caseIds = Map.of(SCOTLAND_CASE_TYPE, List.of("1646225213651533"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseStatusException exception = assertThrows(
+            ResponseStatusException.class,
+            () -> manageCaseRoleService.writeUserCases(TEST_SERVICE_AUTH_TOKEN, caseIds, CASE_USER_ROLE_CREATOR,
+                                                       response));
+
+        assertThat(exception.getStatus()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(exception.getMessage()).doesNotContain("Access denied");
     }
 
+    private static ArrayNode casesWithoutDocuments(Set<String> documentTypes, JsonNode... searchResults) {
+        ArrayNode cases = OBJECT_MAPPER.createArrayNode();
+        for (JsonNode searchResult : searchResults) {
+            for (JsonNode caseJson : searchResult.get("cases")) {
+                JsonNode copy = caseJson.deepCopy();
+                if (copy.path("case_data").path("documentCollection") instanceof ArrayNode documents) {
+                    for (int i = documents.size() - 1; i >= 0; i--) {
+                        if (documentTypes.contains(documents.get(i).path("value").path("typeOfDocument").asText())) {
+                            documents.remove(i);
+                        }
+                    }
+                }
+                cases.add(copy);
+            }
+        }
+        return cases;
+    }
 }
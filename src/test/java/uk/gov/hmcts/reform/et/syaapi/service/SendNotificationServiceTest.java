@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.et.syaapi.service;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,13 +23,13 @@ import uk.gov.hmcts.reform.et.syaapi.model.TestData;
 import uk.gov.hmcts.reform.et.syaapi.models.SendNotificationAddResponseRequest;
 import uk.gov.hmcts.reform.et.syaapi.models.SendNotificationStateUpdateRequest;
 import uk.gov.hmcts.reform.et.syaapi.service.utils.ResourceLoader;
-import uk.gov.hmcts.reform.idam.client.IdamClient;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -71,20 +72,20 @@ class SendNotificationServiceTest {
     @Mock
     private FeatureToggleService featureToggleService;
     @Mock
-    IdamClient idamClient;
+    UserIdentityService userIdentityService;
 
     private SendNotificationService sendNotificationService;
 
     @BeforeEach
     void beforeEach() {
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
         sendNotificationService = new SendNotificationService(
             caseService,
             caseDocumentService,
             new CaseDetailsConverter(objectMapper),
             notificationService,
             featureToggleService,
-            idamClient
+            userIdentityService
         );
         testData = new TestData();
     }
@@ -133,11 +134,11 @@ class SendNotificationServiceTest {
         verify(caseService, times(1)).submitUpdate(
             eq(MOCK_TOKEN), eq("11"), contentCaptor.capture(), eq(CASE_ID));
 
-        CaseData data = (CaseData) contentCaptor.getValue().getData();
+        List<SendNotificationTypeItem> actualItems = getSendNotificationCollection(contentCaptor.getValue());
 
         for (int i = 0; i < items.size(); i++) {
             SendNotificationTypeItem expectedItem = items.get(i);
-            SendNotificationTypeItem actualItem = data.getSendNotificationCollection().get(i);
+            SendNotificationTypeItem actualItem = actualItems.get(i);
 
             assertEquals(expectedItem.getId(), actualItem.getId());
             assertEquals(
@@ -177,8 +178,7 @@ class SendNotificationServiceTest {
         verify(caseService, times(1)).submitUpdate(
             eq(MOCK_TOKEN), eq("11"), contentCaptor.capture(), eq(CASE_ID));
 
-        CaseData data = (CaseData) contentCaptor.getValue().getData();
-        assertEquals(items, data.getSendNotificationCollection());
+        assertEquals(items, getSendNotificationCollection(contentCaptor.getValue()));
     }
 
     @Test
@@ -208,8 +208,7 @@ class SendNotificationServiceTest {
         verify(caseService, times(1)).submitUpdate(
             eq(MOCK_TOKEN), eq("11"), contentCaptor.capture(), eq(CASE_ID));
 
-        CaseData data = (CaseData) contentCaptor.getValue().getData();
-        assertEquals(items, data.getSendNotificationCollection());
+        assertEquals(items, getSendNotificationCollection(contentCaptor.getValue()));
     }
 
     @Test
@@ -238,13 +237,12 @@ class SendNotificationServiceTest {
         verify(caseService, times(1)).submitUpdate(
             eq(MOCK_TOKEN), eq("11"), contentCaptor.capture(), eq(CASE_ID));
 
-        CaseData data = (CaseData) contentCaptor.getValue().getData();
-        assertEquals(items, data.getSendNotificationCollection());
+        assertEquals(items, getSendNotificationCollection(contentCaptor.getValue()));
     }
 
     @Test
     void shouldUpdateAddResponseSendNotification() {
-        when(idamClient.getUserInfo(TEST_SERVICE_AUTH_TOKEN)).thenReturn(
+        when(userIdentityService.getUserInfo(TEST_SERVICE_AUTH_TOKEN)).thenReturn(
             UserInfo.builder()
                 .name(AUTHOR)
                 .build());
@@ -448,6 +446,12 @@ class SendNotificationServiceTest {
         );
     }
 
+    @SuppressWarnings("unchecked")
+    private static List<SendNotificationTypeItem> getSendNotificationCollection(CaseDataContent content) {
+        return (List<SendNotificationTypeItem>) ((Map<String, Object>) content.getData())
+            .get("sendNotificationCollection");
+    }
+
     @SuppressWarnings("unchecked")
     private static void removeResponses(StartEventResponse startEventResponse1) {
         Object notifications = startEventResponse1.getCaseDetails().getData().get("sendNotificationCollection");
@@ -0,0 +1,89 @@
+package uk.gov.hmcts.reform.et.syaapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import uk.gov.hmcts.reform.et.syaapi.exception.UploadAdmissionException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UploadAdmissionServiceTest {
+
+    private static final long MEGABYTE = DataSize.ofMegabytes(1).toBytes();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void admitLetsSmallUploadsBypassTheBudget() {
+        UploadAdmissionService service = newService(Duration.ZERO);
+        UploadAdmissionService.Admission large = service.admit(100 * MEGABYTE);
+
+        UploadAdmissionService.Admission small = service.admit(MEGABYTE);
+
+        assertThat(gauge("upload.admission.in.flight")).isEqualTo(101 * MEGABYTE);
+        small.close();
+        large.close();
+        assertThat(gauge("upload.admission.in.flight")).isZero();
+    }
+
+    @Test
+    void admitRejectsLargeUploadOverBudget() {
+        UploadAdmissionService service = newService(Duration.ZERO);
+        service.admit(60 * MEGABYTE);
+
+        UploadAdmissionException exception = assertThrows(UploadAdmissionException.class,
+                                                          () -> service.admit(60 * MEGABYTE));
+
+        assertThat(exception.getRetryAfter()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(meterRegistry.get("upload.admission.rejected").counter().count()).isEqualTo(1);
+        assertThat(gauge("upload.admission.queued")).isZero();
+    }
+
+    @Test
+    void admitAdmitsUploadLargerThanBudgetWhenIdle() {
+        UploadAdmissionService service = newService(Duration.ZERO);
+
+        service.admit(200 * MEGABYTE);
+
+        assertThat(gauge("upload.admission.in.flight")).isEqualTo(200 * MEGABYTE);
+    }
+
+    @Test
+    void admitQueuesLargeUploadUntilBudgetIsReleased() throws Exception {
+        UploadAdmissionService service = newService(Duration.ofSeconds(10));
+        UploadAdmissionService.Admission first = service.admit(60 * MEGABYTE);
+
+        CompletableFuture<UploadAdmissionService.Admission> second =
+            CompletableFuture.supplyAsync(() -> service.admit(60 * MEGABYTE));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gauge("upload.admission.queued") == 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertThat(gauge("upload.admission.queued")).isEqualTo(60 * MEGABYTE);
+        first.close();
+
+        assertThat(second.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(gauge("upload.admission.queued")).isZero();
+        assertThat(gauge("upload.admission.in.flight")).isEqualTo(60 * MEGABYTE);
+    }
+
+    private UploadAdmissionService newService(Duration maxWait) {
+        return new UploadAdmissionService(meterRegistry, DataSize.ofMegabytes(100), DataSize.ofMegabytes(5),
+                                          maxWait, Duration.ofSeconds(30));
+    }
+
+    private long gauge(String name) {
+        return (long) meterRegistry.get(name).gauge().value();
+    }
+}
@@ -0,0 +1,163 @@
+package uk.gov.hmcts.reform.et.syaapi.service;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.et.syaapi.model.CaseTestData;
+import uk.gov.hmcts.reform.idam.client.IdamClient;
+import uk.gov.hmcts.reform.idam.client.models.UserInfo;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdentityServiceTest {
+
+    private static final String CALLER_AUTHORISATION = "Bearer caller";
+    private static final String ADMIN_AUTHORISATION = "Bearer admin";
+    private static final String SERVICE_AUTHORISATION = "Bearer service";
+
+    @Mock
+    private IdamClient idamClient;
+    @Mock
+    private AuthTokenGenerator authTokenGenerator;
+    @Mock
+    private VerifyTokenService verifyTokenService;
+
+    private UserIdentityService userIdentityService;
+    private UserInfo userInfo;
+
+    @BeforeEach
+    void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(AUTHORIZATION, CALLER_AUTHORISATION);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        userIdentityService = new UserIdentityService(idamClient, authTokenGenerator, verifyTokenService,
+                                                      new RequestIdentityContext(request), 100,
+                                                      Duration.ofMinutes(5), new SimpleMeterRegistry());
+        userInfo = new CaseTestData().getUserInfo();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getUserInfoCallsIdamOncePerRequest() {
+        when(idamClient.getUserInfo(CALLER_AUTHORISATION)).thenReturn(userInfo);
+
+        assertThat(userIdentityService.getUserInfo(CALLER_AUTHORISATION)).isEqualTo(userInfo);
+        assertThat(userIdentityService.getUserInfo(CALLER_AUTHORISATION)).isEqualTo(userInfo);
+
+        verify(idamClient, times(1)).getUserInfo(CALLER_AUTHORISATION);
+    }
+
+    @Test
+    void getUserInfoCachesIdamResponseForOtherAuthorisation() {
+        when(idamClient.getUserInfo(ADMIN_AUTHORISATION)).thenReturn(userInfo);
+
+        userIdentityService.getUserInfo(ADMIN_AUTHORISATION);
+        userIdentityService.getUserInfo(ADMIN_AUTHORISATION);
+
+        verify(idamClient, times(1)).getUserInfo(ADMIN_AUTHORISATION);
+    }
+
+    @Test
+    void getUserInfoCachesIdamResponseOutsideRequest() {
+        RequestContextHolder.resetRequestAttributes();
+        when(idamClient.getUserInfo(CALLER_AUTHORISATION)).thenReturn(userInfo);
+
+        userIdentityService.getUserInfo(CALLER_AUTHORISATION);
+        userIdentityService.getUserInfo(CALLER_AUTHORISATION);
+
+        verify(idamClient, times(1)).getUserInfo(CALLER_AUTHORISATION);
+    }
+
+    @Test
+    void getUserInfoBuildsUserInfoFromVerifiedClaims() {
+        when(verifyTokenService.getVerifiedClaims(CALLER_AUTHORISATION)).thenReturn(Optional.of(
+            new JWTClaimsSet.Builder()
+                .subject("citizen@example.com")
+                .expirationTime(Date.from(Instant.now().plus(Duration.ofHours(1))))
+                .claim("uid", "1234")
+                .claim("given_name", "Mary")
+                .claim("family_name", "Smith")
+                .claim("roles", List.of("citizen"))
+                .build()));
+
+        UserInfo actual = userIdentityService.getUserInfo(CALLER_AUTHORISATION);
+
+        assertThat(actual.getSub()).isEqualTo("citizen@example.com");
+        assertThat(actual.getUid()).isEqualTo("1234");
+        assertThat(actual.getName()).isEqualTo("Mary Smith");
+        assertThat(actual.getGivenName()).isEqualTo("Mary");
+        assertThat(actual.getFamilyName()).isEqualTo("Smith");
+        assertThat(actual.getRoles()).containsExactly("citizen");
+        verify(idamClient, never()).getUserInfo(CALLER_AUTHORISATION);
+    }
+
+    @Test
+    void getUserInfoCallsIdamWhenClaimsAreIncomplete() {
+        when(verifyTokenService.getVerifiedClaims(CALLER_AUTHORISATION)).thenReturn(Optional.of(
+            new JWTClaimsSet.Builder().subject("citizen@example.com").claim("uid", "1234").build()));
+        when(idamClient.getUserInfo(CALLER_AUTHORISATION)).thenReturn(userInfo);
+
+        assertThat(userIdentityService.getUserInfo(CALLER_AUTHORISATION)).isEqualTo(userInfo);
+    }
+
+    @Test
+    void getUserInfoCallsIdamWhenTokenHasExpired() {
+        when(verifyTokenService.getVerifiedClaims(CALLER_AUTHORISATION)).thenReturn(Optional.of(
+            completeClaims().expirationTime(Date.from(Instant.now().minus(Duration.ofMinutes(1)))).build()));
+        when(idamClient.getUserInfo(CALLER_AUTHORISATION)).thenReturn(userInfo);
+
+        assertThat(userIdentityService.getUserInfo(CALLER_AUTHORISATION)).isEqualTo(userInfo);
+    }
+
+    @Test
+    void getUserInfoCallsIdamWhenTokenHasNoExpiry() {
+        when(verifyTokenService.getVerifiedClaims(CALLER_AUTHORISATION)).thenReturn(Optional.of(
+            completeClaims().build()));
+        when(idamClient.getUserInfo(CALLER_AUTHORISATION)).thenReturn(userInfo);
+
+        assertThat(userIdentityService.getUserInfo(CALLER_AUTHORISATION)).isEqualTo(userInfo);
+    }
+
+    @Test
+    void getServiceAuthorisationGeneratesOncePerRequest() {
+        when(authTokenGenerator.generate()).thenReturn(SERVICE_AUTHORISATION);
+
+        assertThat(userIdentityService.getServiceAuthorisation()).isEqualTo(SERVICE_AUTHORISATION);
+        assertThat(userIdentityService.getServiceAuthorisation()).isEqualTo(SERVICE_AUTHORISATION);
+
+        verify(authTokenGenerator, times(1)).generate();
+    }
+
+    private static JWTClaimsSet.Builder completeClaims() {
+        return new JWTClaimsSet.Builder()
+            .subject("citizen@example.com")
+            .claim("uid", "1234")
+            .claim("given_name", "Mary")
+            .claim("family_name", "Smith");
+    }
+}
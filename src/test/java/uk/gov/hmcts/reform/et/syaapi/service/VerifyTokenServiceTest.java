@@ -1,26 +1,51 @@
 package uk.gov.hmcts.reform.et.syaapi.service;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
 
+import java.net.URL;
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
-@ExtendWith(MockitoExtension.class)
 class VerifyTokenServiceTest {
 
+    private static final String KEY_ID = "23456789";
+    private static final long CACHE_MAXIMUM_SIZE = 100;
+    private static final Duration CACHE_MAXIMUM_TIME_TO_LIVE = Duration.ofHours(8);
 
-    @InjectMocks
     private VerifyTokenService verifyTokenService;
+    private MeterRegistry meterRegistry;
 
     @BeforeEach
+    @SneakyThrows
     public void setUp() {
-        verifyTokenService = new VerifyTokenService();
-        ReflectionTestUtils.setField(verifyTokenService, "idamJwkUrl", "http://localhost:5555/o/jwks");
+        meterRegistry = new SimpleMeterRegistry();
+        verifyTokenService = new VerifyTokenService(
+            JWKSourceBuilder.create(new URL("http://localhost:5555/o/jwks")).build(),
+            CACHE_MAXIMUM_SIZE, CACHE_MAXIMUM_TIME_TO_LIVE, meterRegistry);
     }
 
     @Test
@@ -35,4 +60,85 @@ class VerifyTokenServiceTest {
                 + "FK52R1CXVCHIa-aPmW7vCkucLxKMr8ktyd5NFnAgNo-XqXMmnAmYp-MYf_-6SHaPLsDsHqO18F68-VA2Rj2WG3S58u6XwvRYJ3"
                 + "28R9yqHZVo_fojRY9pRhFzlVr1Yy9FYOg"));
     }
+
+    @Test
+    @SneakyThrows
+    void verifyTokenSignatureWithKeyFromKeySource() {
+        RSAKey rsaKey = new RSAKeyGenerator(2048).keyID(KEY_ID).generate();
+        verifyTokenService = new VerifyTokenService(new ImmutableJWKSet<>(new JWKSet(rsaKey.toPublicJWK())),
+                                                    CACHE_MAXIMUM_SIZE, CACHE_MAXIMUM_TIME_TO_LIVE, meterRegistry);
+
+        assertTrue(verifyTokenService.verifyTokenSignature("Bearer " + signToken(rsaKey, KEY_ID, oneHourFromNow())));
+    }
+
+    @Test
+    @SneakyThrows
+    void verifyTokenSignatureWithUnknownKeyId() {
+        RSAKey rsaKey = new RSAKeyGenerator(2048).keyID(KEY_ID).generate();
+        verifyTokenService = new VerifyTokenService(new ImmutableJWKSet<>(new JWKSet(rsaKey.toPublicJWK())),
+                                                    CACHE_MAXIMUM_SIZE, CACHE_MAXIMUM_TIME_TO_LIVE, meterRegistry);
+
+        assertFalse(verifyTokenService.verifyTokenSignature("Bearer " + signToken(rsaKey, "unknown",
+                                                                                  oneHourFromNow())));
+    }
+
+    @Test
+    @SneakyThrows
+    void verifyTokenSignatureServesRepeatedTokenFromCache() {
+        RSAKey rsaKey = new RSAKeyGenerator(2048).keyID(KEY_ID).generate();
+        ImmutableJWKSet<SecurityContext> jwkSource = spy(new ImmutableJWKSet<>(new JWKSet(rsaKey.toPublicJWK())));
+        verifyTokenService = new VerifyTokenService(jwkSource, CACHE_MAXIMUM_SIZE, CACHE_MAXIMUM_TIME_TO_LIVE,
+                                                    meterRegistry);
+        String token = signToken(rsaKey, KEY_ID, oneHourFromNow());
+
+        assertTrue(verifyTokenService.verifyTokenSignature("Bearer " + token));
+        assertTrue(verifyTokenService.verifyTokenSignature(token));
+
+        verify(jwkSource, times(1)).get(any(), any());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @SneakyThrows
+    void verifyTokenSignatureDoesNotCacheExpiredToken() {
+        RSAKey rsaKey = new RSAKeyGenerator(2048).keyID(KEY_ID).generate();
+        ImmutableJWKSet<SecurityContext> jwkSource = spy(new ImmutableJWKSet<>(new JWKSet(rsaKey.toPublicJWK())));
+        verifyTokenService = new VerifyTokenService(jwkSource, CACHE_MAXIMUM_SIZE, CACHE_MAXIMUM_TIME_TO_LIVE,
+                                                    meterRegistry);
+        String token = signToken(rsaKey, KEY_ID, new Date(System.currentTimeMillis() - 60_000));
+
+        assertTrue(verifyTokenService.verifyTokenSignature(token));
+        assertTrue(verifyTokenService.verifyTokenSignature(token));
+
+        verify(jwkSource, times(2)).get(any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void getVerifiedClaimsReturnsClaimsOfVerifiedToken() {
+        RSAKey rsaKey = new RSAKeyGenerator(2048).keyID(KEY_ID).generate();
+        verifyTokenService = new VerifyTokenService(new ImmutableJWKSet<>(new JWKSet(rsaKey.toPublicJWK())),
+                                                    CACHE_MAXIMUM_SIZE, CACHE_MAXIMUM_TIME_TO_LIVE, meterRegistry);
+
+        JWTClaimsSet claims = verifyTokenService.getVerifiedClaims(
+            "Bearer " + signToken(rsaKey, KEY_ID, oneHourFromNow())).orElseThrow();
+
+        assertEquals("test@example.com", claims.getSubject());
+        assertNotNull(meterRegistry.find("cache.size").tag("cache", VerifyTokenService.VERIFIED_TOKEN_CACHE_NAME)
+                          .gauge());
+    }
+
+    private static Date oneHourFromNow() {
+        return new Date(System.currentTimeMillis() + Duration.ofHours(1).toMillis());
+    }
+
+    @SneakyThrows
+    private static String signToken(RSAKey rsaKey, String keyId, Date expirationTime) {
+        SignedJWT signedJwt = new SignedJWT(
+            new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(keyId).build(),
+            new JWTClaimsSet.Builder().subject("test@example.com").expirationTime(expirationTime).build()
+        );
+        signedJwt.sign(new RSASSASigner(rsaKey));
+        return signedJwt.serialize();
+    }
 }
@@ -18,7 +18,7 @@ import uk.gov.hmcts.et.common.model.ccd.CaseData;
 import uk.gov.hmcts.et.common.model.ccd.items.RespondentSumTypeItem;
 import uk.gov.hmcts.reform.et.syaapi.model.CaseTestData;
 import uk.gov.hmcts.reform.et.syaapi.service.CaseDocumentService;
-import uk.gov.hmcts.reform.idam.client.IdamClient;
+import uk.gov.hmcts.reform.et.syaapi.service.UserIdentityService;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 
 import java.util.stream.Stream;
@@ -50,12 +50,12 @@ class ET3FormServiceTest {
     @Mock
     private CaseDocumentService caseDocumentService;
     @Mock
-    private IdamClient idamClient;
+    private UserIdentityService userIdentityService;
 
     @BeforeEach
     @SneakyThrows
     void beforeEach() {
-        et3FormService = new ET3FormService(pdfService, caseDocumentService, idamClient);
+        et3FormService = new ET3FormService(pdfService, caseDocumentService, userIdentityService);
         caseTestData = new CaseTestData();
     }
 
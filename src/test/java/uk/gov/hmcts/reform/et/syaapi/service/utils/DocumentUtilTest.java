@@ -1,13 +1,24 @@
 package uk.gov.hmcts.reform.et.syaapi.service.utils;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import uk.gov.hmcts.ecm.common.model.helper.DocumentConstants;
 import uk.gov.hmcts.reform.ccd.client.model.CaseDetails;
+import uk.gov.hmcts.reform.et.syaapi.helper.EmployeeObjectMapper;
 import uk.gov.hmcts.reform.et.syaapi.model.TestData;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
@@ -43,4 +54,61 @@ class DocumentUtilTest {
                 .get(DOCUMENT_COLLECTION)).isNotNull().hasSize(2)
         );
     }
+
+    @ParameterizedTest
+    @ValueSource(strings = {CASE_USER_ROLE_CREATOR, CASE_USER_ROLE_DEFENDANT, "[OTHER]"})
+    void theFilterDocumentsIgnoresCaseAndSurroundingSpaces(String caseRole) {
+        List<Map<String, Object>> documentCollection = new ArrayList<>(List.of(
+            document(" " + DocumentConstants.ET1_VETTING.toUpperCase(Locale.UK) + " ", null),
+            document(null, DocumentConstants.COT3.toLowerCase(Locale.UK)),
+            document(DocumentConstants.ET1, DocumentConstants.ET1)
+        ));
+        Map<String, Object> caseData = new HashMap<>();
+        caseData.put(DOCUMENT_COLLECTION, documentCollection);
+        CaseDetails caseDetails = CaseDetails.builder().data(caseData).build();
+
+        DocumentUtil.filterCasesDocumentsByCaseUserRole(List.of(caseDetails), caseRole);
+
+        assertThat(documentCollection).hasSize("[OTHER]".equals(caseRole) ? 3 : 1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void copyCaseDropsHiddenDocumentsAndKeepsOtherFields() throws IOException {
+        Map<String, Object> caseData = new LinkedHashMap<>();
+        caseData.put("ethosCaseReference", "6000001/2024");
+        caseData.put(DOCUMENT_COLLECTION, List.of(document(DocumentConstants.ET1_VETTING, null),
+                                                  document(DocumentConstants.ET1, DocumentConstants.ET1)));
+        Map<String, Object> caseDetails = new LinkedHashMap<>();
+        caseDetails.put("id", 1_646_225_213_651_590L);
+        caseDetails.put("case_data", caseData);
+        caseDetails.put("state", "Submitted");
+        ObjectMapper objectMapper = EmployeeObjectMapper.getObjectMapper();
+        TokenBuffer copy = new TokenBuffer(objectMapper, false);
+
+        String caseId;
+        try (JsonParser parser = objectMapper.createParser(objectMapper.writeValueAsBytes(caseDetails))) {
+            parser.nextToken();
+            caseId = DocumentUtil.copyCaseFilteringDocumentsByCaseUserRole(parser, copy, CASE_USER_ROLE_CREATOR);
+        }
+
+        Map<String, Object> copied = objectMapper.readValue(copy.asParser(), Map.class);
+        Map<String, Object> copiedCaseData = (Map<String, Object>) copied.get("case_data");
+        assertAll(
+            () -> assertThat(caseId).isEqualTo("1646225213651590"),
+            () -> assertThat(copied).containsEntry("state", "Submitted"),
+            () -> assertThat(copiedCaseData).containsEntry("ethosCaseReference", "6000001/2024"),
+            () -> assertThat((List<Map<String, Object>>) copiedCaseData.get(DOCUMENT_COLLECTION))
+                .singleElement()
+                .extracting(document -> ((Map<String, Object>) document.get("value")).get("typeOfDocument"))
+                .isEqualTo(DocumentConstants.ET1)
+        );
+    }
+
+    private static Map<String, Object> document(String typeOfDocument, String documentType) {
+        Map<String, Object> value = new HashMap<>();
+        value.put("typeOfDocument", typeOfDocument);
+        value.put("documentType", documentType);
+        return new LinkedHashMap<>(Map.of("id", "1", "value", value));
+    }
 }
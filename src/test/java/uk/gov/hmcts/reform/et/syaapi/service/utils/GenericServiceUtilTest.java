@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.et.syaapi.service.utils;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -16,6 +17,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static uk.gov.hmcts.reform.et.syaapi.service.utils.TestConstants.DOCUMENT_OWNER;
 import static uk.gov.hmcts.reform.et.syaapi.service.utils.TestConstants.NOT_EMPTY_ET1_DOCUMENT_TYPE;
 import static uk.gov.hmcts.reform.et.syaapi.service.utils.TestConstants.NOT_EMPTY_ET1_DOCUMENT_TYPE_RAW_HASHMAP;
@@ -106,6 +108,13 @@ class GenericServiceUtilTest {
 
     }
 
+    @Test
+    void theMapJavaObjectToClassThrowsJsonProcessingException() {
+        Map<String, Object> invalidDocumentType = Map.of("typeOfDocument", Map.of("value", TYPE_OF_DOCUMENT_ET1));
+        assertThrows(JsonProcessingException.class,
+                     () -> GenericServiceUtil.mapJavaObjectToClass(DocumentType.class, invalidDocumentType));
+    }
+
     @SneakyThrows
     @Test
     void castList() {
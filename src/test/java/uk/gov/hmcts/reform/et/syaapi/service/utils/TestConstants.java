@@ -116,14 +116,16 @@ public final class TestConstants {
     public static final String TEST_MODIFICATION_TYPE_REVOKE = "Revoke";
     public static final String TEST_JURISDICTION_ID_EMPLOYMENT = "EMPLOYMENT";
     public static final String TEST_ETHOS_CASE_REFERENCE = "6000032/2024";
-    public static final String EXPECTED_QUERY_BY_ETHOS_CASE_REFERENCE = "{\"size\":1,\"query\":{\"bool\":{\"must\":"
-        + "[{\"match\":{\"data.ethosCaseReference.keyword\":{\"query\":\"6000032/2024\"}}}],\"boost\":1.0}}}";
-    public static final String EXPECTED_QUERY_BY_ID = "{\"size\":1,\"query\":{\"bool\":{\"must\":[{\"match\":"
-        + "{\"reference.keyword\":{\"query\":\"1234567890123456\"}}},{\"match\":{\"state.keyword\":{\"query\""
-                                                      + ":\"Accepted\"}}}],\"boost\":1.0}}}";
+    public static final String EXPECTED_QUERY_BY_ETHOS_CASE_REFERENCE = "{\"size\":1,\"terminate_after\":1,"
+        + "\"query\":{\"bool\":{\"filter\":[{\"term\":"
+        + "{\"data.ethosCaseReference.keyword\":{\"value\":\"6000032/2024\"}}}],\"boost\":1.0}}}";
+    public static final String EXPECTED_QUERY_BY_ID = "{\"size\":1,\"terminate_after\":1,"
+        + "\"query\":{\"bool\":{\"filter\":[{\"term\":{\"reference.keyword\":{\"value\":\"1234567890123456\"}}},"
+        + "{\"term\":{\"state.keyword\":{\"value\":\"Accepted\"}}}],\"boost\":1.0}}}";
     public static final String EXPECTED_QUERY_BY_ROLE_MODIFICATION_REQUEST =
-        "{\"size\":1,\"query\":{\"bool\":{\"must\":[{\"match\":{\"reference.keyword\":{\"query\":"
-            + "\"case_submission_reference\"}}}],\"filter\":[{\"bool\":{\"should\":[{\"bool\":{\"filter\":[{\"term\":"
+        "{\"size\":1,\"terminate_after\":1,\"query\":{\"bool\":{\"filter\":"
+            + "[{\"term\":{\"reference.keyword\":{\"value\":\"case_submission_reference\"}}},"
+            + "{\"bool\":{\"should\":[{\"bool\":{\"filter\":[{\"term\":"
             + "{\"data.respondentCollection.value.respondentOrganisation.keyword\":{\"value\":\"respondent_name\",\""
             + "case_insensitive\":true}}}],\"boost\":1.0}},{\"bool\":{\"filter\":[{\"term\":"
             + "{\"data.respondentCollection.value.respondent_name.keyword\":{\"value\":\"respondent_name\","